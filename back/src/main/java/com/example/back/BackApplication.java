@@ -1,12 +1,26 @@
 package com.example.back;
 
+import com.example.back.cache.AuthorCardProperties;
+import com.example.back.cache.TargetCacheProperties;
+import com.example.back.cache.ViewerStateProperties;
+import com.example.back.captcha.CaptchaProperties;
+import com.example.back.config.SecondLevelCacheProperties;
+import com.example.back.context.CurrentUserProperties;
+import com.example.back.counter.ViewCounterProperties;
+import com.example.back.feed.FeedProperties;
+import com.example.back.stats.UserStatsProperties;
 import com.example.back.storage.FileStorageProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties(FileStorageProperties.class)
+@EnableScheduling
+@EnableConfigurationProperties({FileStorageProperties.class, ViewCounterProperties.class, FeedProperties.class,
+		UserStatsProperties.class, ViewerStateProperties.class, TargetCacheProperties.class,
+		AuthorCardProperties.class, SecondLevelCacheProperties.class, CaptchaProperties.class,
+		CurrentUserProperties.class})
 public class BackApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,16 @@
+package com.example.back.cache;
+
+/**
+ * 列表中展示的作者信息
+ *
+ * @param nickname 昵称，用户已注销时为 null
+ * @param avatar   头像地址
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record AuthorCard(Long id, String nickname, String avatar) {
+
+    static AuthorCard missing(Long id) {
+        return new AuthorCard(id, null, null);
+    }
+}
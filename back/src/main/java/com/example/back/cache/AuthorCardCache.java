@@ -0,0 +1,82 @@
+package com.example.back.cache;
+
+import com.example.back.repository.UserRepository;
+import com.example.back.storage.FileStorageService;
+import com.example.back.storage.ImageVariant;
+import com.example.back.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 作者卡片缓存
+ * <p>
+ * 列表中的作者只需要（昵称, 头像），列表查询不再关联 users 表，只取外键 id，
+ * 再按整页的作者 id 从缓存批量取卡片，未命中的合并为一条 {@code id in (...)} 查询。
+ * 已注销的用户同样缓存为只带 id 的卡片，避免反复查询。
+ * 站内上传的头像使用 {@link ImageVariant#AVATAR_MEDIUM} 缩略图地址。
+ * 修改昵称、头像后在事务提交后失效对应条目。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Component
+public class AuthorCardCache {
+
+    private final UserRepository userRepository;
+    private final FileStorageService fileStorageService;
+    private final Cache<Long, AuthorCard> cache;
+
+    public AuthorCardCache(UserRepository userRepository,
+                           FileStorageService fileStorageService,
+                           AuthorCardProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.fileStorageService = fileStorageService;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "author_card");
+    }
+
+    public AuthorCards load(Collection<Long> userIds) {
+        Set<Long> ids = new HashSet<>();
+        userIds.stream().filter(Objects::nonNull).forEach(ids::add);
+        if (ids.isEmpty()) {
+            return AuthorCards.EMPTY;
+        }
+        return new AuthorCards(cache.getAll(ids, this::loadAll));
+    }
+
+    /**
+     * 按一页内容的作者外键批量取卡片，idGetter 只应读取关联代理的 id，不触发加载
+     */
+    public <T> AuthorCards load(Collection<T> sources, Function<T, Long> idGetter) {
+        return load(sources.stream().map(idGetter).toList());
+    }
+
+    /**
+     * 用户昵称或头像变化，在当前事务提交后失效
+     */
+    public void evict(Long userId) {
+        TransactionHooks.afterCommit(() -> cache.invalidate(userId));
+    }
+
+    private Map<Long, AuthorCard> loadAll(Set<? extends Long> userIds) {
+        Map<Long, AuthorCard> cards = new HashMap<>();
+        for (Object[] row : userRepository.findAuthorCards(userIds)) {
+            Long id = (Long) row[0];
+            String avatar = fileStorageService.variantUrl((String) row[2], ImageVariant.AVATAR_MEDIUM);
+            cards.put(id, new AuthorCard(id, (String) row[1], avatar));
+        }
+        userIds.forEach(id -> cards.putIfAbsent(id, AuthorCard.missing(id)));
+        return cards;
+    }
+}
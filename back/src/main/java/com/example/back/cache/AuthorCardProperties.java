@@ -0,0 +1,24 @@
+package com.example.back.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 作者卡片（昵称、头像）缓存配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.author-card")
+public class AuthorCardProperties {
+
+    /**
+     * 条目有效期；本实例内修改昵称、头像提交后立即失效，该时间决定其他实例上的最长延迟
+     */
+    private Duration ttl = Duration.ofMinutes(30);
+
+    /**
+     * 最多缓存的用户数
+     */
+    private long maximumSize = 100000;
+}
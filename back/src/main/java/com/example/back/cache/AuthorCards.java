@@ -0,0 +1,32 @@
+package com.example.back.cache;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 一页内容涉及的作者卡片
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+public class AuthorCards {
+
+    public static final AuthorCards EMPTY = new AuthorCards(Collections.emptyMap());
+
+    private final Map<Long, AuthorCard> cards;
+
+    AuthorCards(Map<Long, AuthorCard> cards) {
+        this.cards = cards;
+    }
+
+    /**
+     * 读取作者卡片，不在本页范围内或用户不存在时只带 id
+     */
+    public AuthorCard get(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        AuthorCard card = cards.get(userId);
+        return card != null ? card : AuthorCard.missing(userId);
+    }
+}
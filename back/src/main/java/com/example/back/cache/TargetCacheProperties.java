@@ -0,0 +1,24 @@
+package com.example.back.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 点赞、收藏、评论目标（作者与状态）缓存配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.target-cache")
+public class TargetCacheProperties {
+
+    /**
+     * 条目有效期；内容修改、删除提交后立即失效，不受该时间影响
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * 最多缓存的目标数
+     */
+    private long maximumSize = 50000;
+}
@@ -0,0 +1,175 @@
+package com.example.back.cache;
+
+import com.example.back.common.Constants;
+import com.example.back.exception.NotFoundException;
+import com.example.back.exception.ValidationException;
+import com.example.back.repository.AnswerRepository;
+import com.example.back.repository.ArticleRepository;
+import com.example.back.repository.QuestionRepository;
+import com.example.back.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 互动目标解析
+ * <p>
+ * 点赞、收藏、评论、关注只需要知道目标是否存在、作者是谁、是否对当前用户可见，
+ * 这里只查询（作者, 状态）两列并缓存，不加载正文与关联；计数通过按 id 的增量更新完成。
+ * 内容修改状态或删除后，调用方在事务提交后失效对应条目。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Component
+public class TargetResolver {
+
+    private final ArticleRepository articleRepository;
+    private final AnswerRepository answerRepository;
+    private final QuestionRepository questionRepository;
+    private final Cache<Key, Target> cache;
+
+    public TargetResolver(ArticleRepository articleRepository,
+                          AnswerRepository answerRepository,
+                          QuestionRepository questionRepository,
+                          TargetCacheProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.articleRepository = articleRepository;
+        this.answerRepository = answerRepository;
+        this.questionRepository = questionRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "interaction_target");
+    }
+
+    /**
+     * 读取目标，不存在（含已删除）时抛出 {@link NotFoundException}
+     */
+    public Target require(String type, Long id) {
+        if (id == null) {
+            throw new ValidationException("目标ID不能为空");
+        }
+        Target target = cache.get(new Key(type, id), this::load);
+        if (target == null) {
+            throw new NotFoundException(notFoundMessage(type));
+        }
+        return target;
+    }
+
+    /**
+     * 读取目标并校验对该用户可见，不可见时与不存在同样处理，避免暴露草稿、私密内容
+     */
+    public Target requireVisible(String type, Long id, Long userId) {
+        Target target = require(type, id);
+        if (!target.visibleTo(userId)) {
+            throw new NotFoundException(notFoundMessage(type));
+        }
+        return target;
+    }
+
+    /**
+     * 按增量更新目标计数，结果不小于 0；目标没有该计数时忽略
+     */
+    public void applyDelta(String type, Long id, Counter counter, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        switch (type) {
+            case Constants.TYPE_ARTICLE -> {
+                switch (counter) {
+                    case LIKE -> articleRepository.addLikeCount(id, delta);
+                    case COMMENT -> articleRepository.addCommentCount(id, delta);
+                    case FAVORITE -> articleRepository.addFavoriteCount(id, delta);
+                    default -> {
+                    }
+                }
+            }
+            case Constants.TYPE_ANSWER -> {
+                switch (counter) {
+                    case LIKE -> answerRepository.addLikeCount(id, delta);
+                    case COMMENT -> answerRepository.addCommentCount(id, delta);
+                    default -> {
+                    }
+                }
+            }
+            case Constants.TYPE_QUESTION -> {
+                if (counter == Counter.FOLLOW) {
+                    questionRepository.addFollowCount(id, delta);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 读取当前点赞数，目标没有点赞计数时返回 null
+     */
+    public Integer likeCount(String type, Long id) {
+        return switch (type) {
+            case Constants.TYPE_ARTICLE -> articleRepository.findLikeCount(id);
+            case Constants.TYPE_ANSWER -> answerRepository.findLikeCount(id);
+            default -> null;
+        };
+    }
+
+    /**
+     * 目标状态变化或删除，在当前事务提交后失效
+     */
+    public void evict(String type, Long id) {
+        Key key = new Key(type, id);
+        TransactionHooks.afterCommit(() -> cache.invalidate(key));
+    }
+
+    private Target load(Key key) {
+        List<Object[]> rows = switch (key.type()) {
+            case Constants.TYPE_ARTICLE -> articleRepository.findOwnerAndStatus(key.id());
+            case Constants.TYPE_ANSWER -> answerRepository.findOwnerAndStatus(key.id());
+            case Constants.TYPE_QUESTION -> questionRepository.findOwnerAndStatus(key.id());
+            default -> throw new ValidationException("暂不支持该目标类型");
+        };
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return new Target(key.type(), key.id(), (Long) row[0], (Integer) row[1]);
+    }
+
+    private String notFoundMessage(String type) {
+        return switch (type) {
+            case Constants.TYPE_ARTICLE -> "文章不存在";
+            case Constants.TYPE_ANSWER -> "回答不存在";
+            case Constants.TYPE_QUESTION -> "问题不存在";
+            default -> "目标不存在";
+        };
+    }
+
+    public enum Counter {
+        LIKE, COMMENT, FAVORITE, FOLLOW
+    }
+
+    /**
+     * @param ownerId 作者ID
+     * @param status  内容状态，见 {@link Constants#STATUS_PUBLISHED} 等
+     */
+    public record Target(String type, Long id, Long ownerId, Integer status) {
+
+        /**
+         * 已发布的内容所有人可见，其余状态仅作者可见
+         */
+        public boolean visibleTo(Long userId) {
+            return Objects.equals(status, Constants.STATUS_PUBLISHED) || Objects.equals(ownerId, userId);
+        }
+    }
+
+    private record Key(String type, Long id) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.back.cache;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 当前用户对一页内容的点赞、收藏、关注状态
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+public class ViewerState {
+
+    /**
+     * 未登录访问，所有状态均为 false
+     */
+    public static final ViewerState ANONYMOUS = new ViewerState(Collections.emptySet());
+
+    private final Set<ViewerStateResolver.Membership> memberships;
+
+    ViewerState(Set<ViewerStateResolver.Membership> memberships) {
+        this.memberships = memberships;
+    }
+
+    public boolean liked(String targetType, Long targetId) {
+        return has(ViewerStateResolver.Relation.LIKE, targetType, targetId);
+    }
+
+    public boolean favorited(String targetType, Long targetId) {
+        return has(ViewerStateResolver.Relation.FAVORITE, targetType, targetId);
+    }
+
+    /**
+     * 是否关注了问题（targetType = question）或用户（targetType = user）
+     */
+    public boolean followed(String targetType, Long targetId) {
+        return has(ViewerStateResolver.Relation.FOLLOW, targetType, targetId);
+    }
+
+    private boolean has(ViewerStateResolver.Relation relation, String targetType, Long targetId) {
+        return memberships.contains(new ViewerStateResolver.Membership(relation, targetType, targetId));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.back.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 当前用户点赞/收藏/关注状态缓存配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.viewer-state")
+public class ViewerStateProperties {
+
+    /**
+     * 状态有效期；本人的点赞、收藏、关注操作提交后立即失效，不受该时间影响
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * 最多缓存的（用户, 关系, 目标）条目数
+     */
+    private long maximumSize = 200000;
+}
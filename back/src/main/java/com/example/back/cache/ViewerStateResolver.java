@@ -0,0 +1,140 @@
+package com.example.back.cache;
+
+import com.example.back.common.Constants;
+import com.example.back.context.AuthContextHolder;
+import com.example.back.context.AuthUser;
+import com.example.back.repository.FavoriteRepository;
+import com.example.back.repository.FollowRepository;
+import com.example.back.repository.LikeRepository;
+import com.example.back.repository.QuestionFollowRepository;
+import com.example.back.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 列表页的当前用户状态解析
+ * <p>
+ * 一页内容按（关系, 目标类型）分组，每组一条 {@code target_id in (...)} 查询得到点赞、收藏、
+ * 关注状态；结果按（用户, 关系, 目标）缓存一小段时间，本人操作提交后失效对应条目。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Component
+public class ViewerStateResolver {
+
+    private final LikeRepository likeRepository;
+    private final FavoriteRepository favoriteRepository;
+    private final QuestionFollowRepository questionFollowRepository;
+    private final FollowRepository followRepository;
+    private final Cache<Key, Boolean> cache;
+
+    public ViewerStateResolver(LikeRepository likeRepository,
+                               FavoriteRepository favoriteRepository,
+                               QuestionFollowRepository questionFollowRepository,
+                               FollowRepository followRepository,
+                               ViewerStateProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.likeRepository = likeRepository;
+        this.favoriteRepository = favoriteRepository;
+        this.questionFollowRepository = questionFollowRepository;
+        this.followRepository = followRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "viewer_state");
+    }
+
+    public ViewerState resolve(String targetType, Collection<Long> targetIds) {
+        return resolve(Map.of(targetType, targetIds));
+    }
+
+    /**
+     * 解析当前登录用户的状态：文章、回答查点赞与收藏，问题、用户查关注
+     *
+     * @param targetIds 目标类型到本页目标ID
+     */
+    public ViewerState resolve(Map<String, ? extends Collection<Long>> targetIds) {
+        Long userId = AuthContextHolder.getCurrentUser().map(AuthUser::getId).orElse(null);
+        if (userId == null) {
+            return ViewerState.ANONYMOUS;
+        }
+        Set<Key> keys = new HashSet<>();
+        targetIds.forEach((targetType, ids) -> {
+            for (Relation relation : relationsOf(targetType)) {
+                ids.stream()
+                        .filter(Objects::nonNull)
+                        .forEach(id -> keys.add(new Key(userId, new Membership(relation, targetType, id))));
+            }
+        });
+        if (keys.isEmpty()) {
+            return ViewerState.ANONYMOUS;
+        }
+        Set<Membership> memberships = cache.getAll(keys, this::load).entrySet().stream()
+                .filter(Map.Entry::getValue)
+                .map(entry -> entry.getKey().membership())
+                .collect(Collectors.toSet());
+        return new ViewerState(memberships);
+    }
+
+    /**
+     * 本人点赞、收藏、关注状态变化，在当前事务提交后失效
+     */
+    public void evict(Long userId, Relation relation, String targetType, Long targetId) {
+        Key key = new Key(userId, new Membership(relation, targetType, targetId));
+        TransactionHooks.afterCommit(() -> cache.invalidate(key));
+    }
+
+    private Map<Key, Boolean> load(Set<? extends Key> keys) {
+        Map<Key, Boolean> result = new HashMap<>();
+        Map<Long, Map<Relation, Map<String, List<Long>>>> groups = new HashMap<>();
+        for (Key key : keys) {
+            Membership membership = key.membership();
+            groups.computeIfAbsent(key.userId(), userId -> new EnumMap<>(Relation.class))
+                    .computeIfAbsent(membership.relation(), relation -> new HashMap<>())
+                    .computeIfAbsent(membership.targetType(), targetType -> new ArrayList<>())
+                    .add(membership.targetId());
+        }
+        groups.forEach((userId, byRelation) -> byRelation.forEach((relation, byType) -> byType.forEach((targetType, ids) -> {
+            Set<Long> matched = new HashSet<>(query(userId, relation, targetType, ids));
+            ids.forEach(id -> result.put(new Key(userId, new Membership(relation, targetType, id)), matched.contains(id)));
+        })));
+        return result;
+    }
+
+    private List<Long> query(Long userId, Relation relation, String targetType, List<Long> ids) {
+        return switch (relation) {
+            case LIKE -> likeRepository.findTargetIds(userId, targetType, ids);
+            case FAVORITE -> favoriteRepository.findTargetIds(userId, targetType, ids);
+            case FOLLOW -> Constants.TYPE_USER.equals(targetType)
+                    ? followRepository.findFollowingIds(userId, ids)
+                    : questionFollowRepository.findQuestionIds(userId, ids);
+        };
+    }
+
+    private List<Relation> relationsOf(String targetType) {
+        return switch (targetType) {
+            case Constants.TYPE_ARTICLE, Constants.TYPE_ANSWER -> List.of(Relation.LIKE, Relation.FAVORITE);
+            case Constants.TYPE_QUESTION, Constants.TYPE_USER -> List.of(Relation.FOLLOW);
+            default -> List.of();
+        };
+    }
+
+    public enum Relation {
+        LIKE, FAVORITE, FOLLOW
+    }
+
+    record Membership(Relation relation, String targetType, Long targetId) {
+    }
+
+    private record Key(Long userId, Membership membership) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.back.captcha;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 预先渲染的验证码池
+ * <p>
+ * 绘图与 PNG 编码由后台守护线程完成，请求线程从无锁队列中取出一个即可返回；
+ * 池中数量低于一半时唤醒后台线程补满。池被取空时（突发流量）在请求线程上现场渲染，记为未命中。
+ * 每个验证码只发放一次，未发放前不计入有效期。
+ * 指标：captcha_pool_depth（池中数量）、captcha_render（单次渲染耗时）、captcha_pool_misses（现场渲染次数）。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class CaptchaPool {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int capacity;
+    private final Queue<CaptchaImage> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Timer renderTimer;
+    private final Counter misses;
+
+    private volatile Thread filler;
+    private volatile boolean running;
+
+    public CaptchaPool(CaptchaProperties properties, MeterRegistry meterRegistry) {
+        this.capacity = Math.max(1, properties.getPoolSize());
+        this.renderTimer = Timer.builder("captcha_render").register(meterRegistry);
+        this.misses = Counter.builder("captcha_pool_misses").register(meterRegistry);
+        Gauge.builder("captcha_pool_depth", depth, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (filler != null) {
+            return;
+        }
+        running = true;
+        Thread worker = new Thread(this::fill, "captcha-renderer");
+        worker.setDaemon(true);
+        worker.start();
+        filler = worker;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (filler != null) {
+            filler.interrupt();
+            filler = null;
+        }
+    }
+
+    /**
+     * 取出一个验证码，池为空时现场渲染
+     */
+    public CaptchaImage take() {
+        CaptchaImage captcha = pool.poll();
+        if (captcha == null) {
+            misses.increment();
+            wakeFiller();
+            return render();
+        }
+        if (depth.decrementAndGet() < capacity / 2) {
+            wakeFiller();
+        }
+        return captcha;
+    }
+
+    private void fill() {
+        while (running) {
+            try {
+                while (running && depth.get() < capacity) {
+                    pool.offer(render());
+                    depth.incrementAndGet();
+                }
+            } catch (RuntimeException ex) {
+                log.warn("预渲染验证码失败", ex);
+            }
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    private CaptchaImage render() {
+        return renderTimer.record(CaptchaImage::render);
+    }
+
+    private void wakeFiller() {
+        Thread worker = filler;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.back.captcha;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 图形验证码配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.captcha")
+public class CaptchaProperties {
+
+    /**
+     * 验证码有效期
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * 同时有效的验证码上限，超过后按淘汰策略移除，防止刷接口时内存无限增长
+     */
+    private long maximumSize = 100000;
+
+    /**
+     * 预先渲染的验证码数量
+     */
+    private int poolSize = 200;
+
+    /**
+     * 验证码模式：store 答案保存在本机内存；token 答案以签名令牌下发，任意节点均可验证
+     */
+    private Mode mode = Mode.STORE;
+
+    /**
+     * token 模式的签名密钥，未配置时由 jwt.secret 派生，多节点须保持一致
+     */
+    private String secret;
+
+    /**
+     * token 模式下防重放过滤器在一个有效期内预计容纳的验证次数，超出后误判率上升
+     */
+    private int replayExpectedInsertions = 100000;
+
+    public enum Mode {
+        STORE, TOKEN
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.back.captcha;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * 无状态验证码令牌（token 模式）
+ * <p>
+ * 令牌即提交时的 captchaKey，内容为 随机数(16) | 过期时间(8) | 答案摘要(16) | 签名(16)，Base64URL 编码：
+ * 答案摘要是以随机数加盐、用密钥计算的 HMAC，不暴露答案也无法离线穷举；签名覆盖前三段，防止篡改过期时间。
+ * 任意持有相同密钥的节点都能独立验证，不需要共享存储。
+ * 每个令牌只能验证一次，由本节点的 {@link ReplayFilter} 记录已使用的随机数。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Component
+public class CaptchaTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int NONCE_LENGTH = 16;
+    private static final int DIGEST_LENGTH = 16;
+    private static final int PAYLOAD_LENGTH = NONCE_LENGTH + Long.BYTES + DIGEST_LENGTH;
+    private static final int TOKEN_LENGTH = PAYLOAD_LENGTH + DIGEST_LENGTH;
+    private static final byte DOMAIN_ANSWER = 'a';
+    private static final byte DOMAIN_SIGNATURE = 's';
+
+    private final SecureRandom random = new SecureRandom();
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final ReplayFilter replayFilter;
+
+    public CaptchaTokens(CaptchaProperties properties, @Value("${jwt.secret}") String jwtSecret) {
+        this.key = new SecretKeySpec(resolveSecret(properties.getSecret(), jwtSecret), ALGORITHM);
+        this.ttl = properties.getTtl();
+        this.replayFilter = new ReplayFilter(properties.getReplayExpectedInsertions(), ttl);
+    }
+
+    /**
+     * 为答案签发令牌
+     */
+    public String issue(String code) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        ByteBuffer token = ByteBuffer.allocate(TOKEN_LENGTH)
+                .put(nonce)
+                .putLong(expiresAt)
+                .put(answerDigest(nonce, expiresAt, code));
+        token.put(hmac(DOMAIN_SIGNATURE, Arrays.copyOf(token.array(), PAYLOAD_LENGTH)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.array());
+    }
+
+    /**
+     * 校验令牌与答案；签名有效且未过期的令牌无论答案对错都只能提交一次
+     */
+    public boolean verify(String token, String answer) {
+        byte[] bytes = decode(token);
+        if (bytes == null) {
+            return false;
+        }
+        byte[] payload = Arrays.copyOf(bytes, PAYLOAD_LENGTH);
+        byte[] signature = Arrays.copyOfRange(bytes, PAYLOAD_LENGTH, TOKEN_LENGTH);
+        if (!MessageDigest.isEqual(signature, hmac(DOMAIN_SIGNATURE, payload))) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        byte[] nonce = new byte[NONCE_LENGTH];
+        buffer.get(nonce);
+        long expiresAt = buffer.getLong();
+        byte[] digest = new byte[DIGEST_LENGTH];
+        buffer.get(digest);
+        if (System.currentTimeMillis() > expiresAt || !replayFilter.markUsed(nonce)) {
+            return false;
+        }
+        return MessageDigest.isEqual(digest, answerDigest(nonce, expiresAt, answer.trim()));
+    }
+
+    private byte[] answerDigest(byte[] nonce, long expiresAt, String answer) {
+        byte[] normalized = answer.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        return hmac(DOMAIN_ANSWER, ByteBuffer.allocate(NONCE_LENGTH + Long.BYTES + normalized.length)
+                .put(nonce)
+                .putLong(expiresAt)
+                .put(normalized)
+                .array());
+    }
+
+    private byte[] hmac(byte domain, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(domain);
+            return Arrays.copyOf(mac.doFinal(data), DIGEST_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("验证码签名失败", e);
+        }
+    }
+
+    private static byte[] decode(String token) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token);
+            return bytes.length == TOKEN_LENGTH ? bytes : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] resolveSecret(String secret, String jwtSecret) {
+        if (StringUtils.hasText(secret)) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        // 由 JWT 密钥派生独立用途的子密钥，多节点共享 jwt.secret 即可
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac.doFinal("corasta-captcha-token".getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("验证码密钥初始化失败", e);
+        }
+    }
+}
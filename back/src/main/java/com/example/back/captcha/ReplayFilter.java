@@ -0,0 +1,98 @@
+package com.example.back.captcha;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 验证码令牌防重放过滤器
+ * <p>
+ * 两代布隆过滤器轮换，每代覆盖一个有效期：查询同时检查当前代与上一代，写入只写当前代，
+ * 令牌过期后其随机数至多再保留一个有效期即随上一代丢弃，内存固定。
+ * 位数组按预计容量与 0.1% 误判率计算；误判只会让极少数首次提交被当作重放拒绝，不会放过重放。
+ * 检查与置位在同一把锁内完成，同一令牌的并发提交只有一个能通过；每次只涉及少量位运算，锁的开销可以忽略。
+ * 过滤器仅在本节点生效，跨节点的重放仍受令牌有效期限制。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+class ReplayFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final long periodNanos;
+    private final int bits;
+    private final int hashes;
+    private final LongSupplier nanoClock;
+
+    private Generation current;
+    private Generation previous;
+
+    ReplayFilter(int expectedInsertions, Duration period) {
+        this(expectedInsertions, period, System::nanoTime);
+    }
+
+    ReplayFilter(int expectedInsertions, Duration period, LongSupplier nanoClock) {
+        int n = Math.max(1, expectedInsertions);
+        this.bits = (int) Math.ceil(-n * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        this.periodNanos = period.toNanos();
+        this.nanoClock = nanoClock;
+        this.current = new Generation(bits, nanoClock.getAsLong());
+        this.previous = new Generation(bits, current.startedAt);
+    }
+
+    /**
+     * 记录一次使用，之前已记录过（或误判为记录过）时返回 false
+     *
+     * @param nonce 令牌中的随机数，至少 16 字节，直接作为哈希值使用
+     */
+    synchronized boolean markUsed(byte[] nonce) {
+        rotateIfDue();
+        ByteBuffer buffer = ByteBuffer.wrap(nonce);
+        long h1 = buffer.getLong();
+        long h2 = buffer.getLong() | 1;
+        boolean seenBefore = true;
+        boolean seenInOlder = true;
+        for (int i = 0; i < hashes; i++) {
+            int index = (int) Long.remainderUnsigned(h1 + i * h2, bits);
+            seenInOlder &= previous.get(index);
+            seenBefore &= current.set(index);
+        }
+        return !(seenBefore || seenInOlder);
+    }
+
+    private void rotateIfDue() {
+        long now = nanoClock.getAsLong();
+        if (now - current.startedAt < periodNanos) {
+            return;
+        }
+        // 停用超过两个周期时上一代也已过期，直接清空
+        previous = now - current.startedAt < 2 * periodNanos ? current : new Generation(bits, now);
+        current = new Generation(bits, now);
+    }
+
+    private static final class Generation {
+        private final long[] words;
+        private final long startedAt;
+
+        Generation(int bits, long startedAt) {
+            this.words = new long[(bits + 63) >>> 6];
+            this.startedAt = startedAt;
+        }
+
+        boolean get(int index) {
+            return (words[index >>> 6] & (1L << index)) != 0;
+        }
+
+        /**
+         * 置位并返回置位前是否已为 1
+         */
+        boolean set(int index) {
+            long mask = 1L << index;
+            boolean wasSet = (words[index >>> 6] & mask) != 0;
+            words[index >>> 6] |= mask;
+            return wasSet;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.back.category;
+
+import java.util.List;
+
+/**
+ * 分类树节点
+ *
+ * @param articleCount      直接归属该分类的已发布文章数
+ * @param totalArticleCount 该分类及全部子分类的已发布文章数
+ * @param children          子分类，按 sortOrder、id 排序
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record CategoryNode(Long id,
+                           String name,
+                           String description,
+                           String icon,
+                           Integer sortOrder,
+                           Long parentId,
+                           long articleCount,
+                           long totalArticleCount,
+                           List<CategoryNode> children) {
+}
@@ -0,0 +1,171 @@
+package com.example.back.category;
+
+import com.example.back.common.Constants;
+import com.example.back.entity.Category;
+import com.example.back.repository.ArticleRepository;
+import com.example.back.repository.CategoryRepository;
+import com.example.back.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 内存中的分类树
+ * <p>
+ * 分类数量少且很少变化，启动时整表加载为树，并用一条分组查询统计各分类的已发布文章数；
+ * 之后文章发布、修改、删除在事务提交后按增量调整计数，分类导航不再执行聚合查询。
+ * 定时整体重建一次，纠正增量计数可能的偏差并载入新增或调整的分类。
+ * 按分类筛选文章时通过 {@link #subtreeIds} 展开为该分类及全部子分类的 id 集合。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryTree {
+
+    private final CategoryRepository categoryRepository;
+    private final ArticleRepository articleRepository;
+
+    private final Map<Long, AtomicLong> articleCounts = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.category-tree.refresh-interval:10m}", initialDelayString = "${app.category-tree.refresh-interval:10m}")
+    public synchronized void refresh() {
+        Snapshot loaded = Snapshot.of(categoryRepository.findAll());
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : articleRepository.countByCategory(Constants.STATUS_PUBLISHED)) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        articleCounts.keySet().retainAll(counts.keySet());
+        counts.forEach((id, count) -> articleCounts.computeIfAbsent(id, key -> new AtomicLong()).set(count));
+        snapshot = loaded;
+        log.debug("分类树已加载，分类数: {}", loaded.nodes().size());
+    }
+
+    /**
+     * 顶级分类及其子树，带已发布文章数
+     */
+    public List<CategoryNode> roots() {
+        Snapshot current = snapshot();
+        return current.childrenOf(null).stream()
+                .map(category -> toNode(current, category))
+                .toList();
+    }
+
+    /**
+     * 该分类及全部子分类的 id；分类不存在时只包含自身，使筛选结果为空而不是忽略条件
+     */
+    public Set<Long> subtreeIds(Long categoryId) {
+        Snapshot current = snapshot();
+        if (!current.nodes().containsKey(categoryId)) {
+            return Set.of(categoryId);
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        Deque<Long> pending = new ArrayDeque<>(List.of(categoryId));
+        while (!pending.isEmpty()) {
+            Long id = pending.pop();
+            if (ids.add(id)) {
+                current.childrenOf(id).forEach(child -> pending.push(child.getId()));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 文章发布状态或分类变化，在当前事务提交后调整计数
+     *
+     * @param oldCategoryId 修改前的分类，新建时为 null
+     * @param wasPublished  修改前是否为已发布
+     * @param newCategoryId 修改后的分类，删除时为 null
+     * @param published     修改后是否为已发布，删除时为 false
+     */
+    public void articleChanged(Long oldCategoryId, boolean wasPublished, Long newCategoryId, boolean published) {
+        if (wasPublished == published && Objects.equals(oldCategoryId, newCategoryId)) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            if (wasPublished && oldCategoryId != null) {
+                adjust(oldCategoryId, -1);
+            }
+            if (published && newCategoryId != null) {
+                adjust(newCategoryId, 1);
+            }
+        });
+    }
+
+    private void adjust(Long categoryId, long delta) {
+        articleCounts.computeIfAbsent(categoryId, key -> new AtomicLong())
+                .accumulateAndGet(delta, (current, change) -> Math.max(0, current + change));
+    }
+
+    private CategoryNode toNode(Snapshot current, Category category) {
+        List<CategoryNode> children = current.childrenOf(category.getId()).stream()
+                .map(child -> toNode(current, child))
+                .toList();
+        long own = Optional.ofNullable(articleCounts.get(category.getId())).map(AtomicLong::get).orElse(0L);
+        long total = own + children.stream().mapToLong(CategoryNode::totalArticleCount).sum();
+        return new CategoryNode(
+                category.getId(),
+                category.getName(),
+                category.getDescription(),
+                category.getIcon(),
+                category.getSortOrder(),
+                current.parentIdOf(category),
+                own,
+                total,
+                children
+        );
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * 某一时刻的分类结构，加载后不再修改
+     */
+    private record Snapshot(Map<Long, Category> nodes, Map<Long, List<Category>> children) {
+
+        private static final Comparator<Category> ORDER = Comparator
+                .comparing((Category category) -> Optional.ofNullable(category.getSortOrder()).orElse(0))
+                .thenComparing(Category::getId);
+
+        static Snapshot of(List<Category> categories) {
+            Map<Long, Category> nodes = new HashMap<>();
+            categories.forEach(category -> nodes.put(category.getId(), category));
+            Map<Long, List<Category>> children = new HashMap<>();
+            for (Category category : categories) {
+                Long parentId = category.getParent() == null ? null : category.getParent().getId();
+                // 父分类已删除时挂到顶级，避免整棵子树不可见
+                Long key = parentId != null && nodes.containsKey(parentId) ? parentId : null;
+                children.computeIfAbsent(key, k -> new ArrayList<>()).add(category);
+            }
+            children.values().forEach(list -> list.sort(ORDER));
+            return new Snapshot(Map.copyOf(nodes), children);
+        }
+
+        List<Category> childrenOf(Long parentId) {
+            return children.getOrDefault(parentId, Collections.emptyList());
+        }
+
+        Long parentIdOf(Category category) {
+            Long parentId = category.getParent() == null ? null : category.getParent().getId();
+            return parentId != null && nodes.containsKey(parentId) ? parentId : null;
+        }
+    }
+}
@@ -63,6 +63,31 @@ public class Constants {
      */
     public static final int STATUS_PRIVATE = 2;
     
+    /**
+     * 目标类型：文章（点赞、收藏、评论、动态等按 targetType/contentType 区分目标时共用）
+     */
+    public static final String TYPE_ARTICLE = "article";
+    
+    /**
+     * 目标类型：回答
+     */
+    public static final String TYPE_ANSWER = "answer";
+    
+    /**
+     * 目标类型：问题
+     */
+    public static final String TYPE_QUESTION = "question";
+    
+    /**
+     * 目标类型：用户（关注）
+     */
+    public static final String TYPE_USER = "user";
+    
+    /**
+     * 评论最大嵌套深度（顶级评论为0）
+     */
+    public static final int COMMENT_MAX_DEPTH = 5;
+    
     /**
      * 用户状态：正常
      */
@@ -0,0 +1,69 @@
+package com.example.back.common;
+
+import com.example.back.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+/**
+ * 游标分页位置
+ * <p>
+ * 由排序键与主键组成，编码为 URL 安全的 Base64 字符串返回给客户端；下一页只读取
+ * 排在该位置之后的记录，深度翻页与首页开销相同。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    /**
+     * 排序键：时间类排序为毫秒时间戳，计数类排序为计数值
+     */
+    private final long key;
+
+    /**
+     * 排序键相同时的主键
+     */
+    private final long id;
+
+    public static PageCursor of(LocalDateTime time, Long id) {
+        return new PageCursor(time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), id);
+    }
+
+    public static PageCursor of(Number key, Long id) {
+        return new PageCursor(key == null ? 0L : key.longValue(), id);
+    }
+
+    public LocalDateTime keyAsTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(key), ZoneId.systemDefault());
+    }
+
+    public String encode() {
+        String raw = key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析客户端传回的游标，空值表示从第一页开始
+     */
+    public static PageCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new PageCursor(Long.parseLong(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new ValidationException("无效的分页游标");
+        }
+    }
+}
@@ -53,6 +53,11 @@ public class PageResult<T> {
          * 总页数
          */
         private Integer totalPages;
+
+        /**
+         * 下一页游标（游标分页时返回，没有更多数据时为 null）
+         */
+        private String nextCursor;
     }
     
     /**
@@ -60,7 +65,15 @@ public class PageResult<T> {
      */
     public static <T> PageResult<T> of(List<T> items, Integer page, Integer pageSize, Long total) {
         Integer totalPages = (int) Math.ceil((double) total / pageSize);
-        Pagination pagination = new Pagination(page, pageSize, total, totalPages);
+        Pagination pagination = new Pagination(page, pageSize, total, totalPages, null);
+        return new PageResult<>(items, pagination);
+    }
+
+    /**
+     * 创建游标分页结果（不统计总数）
+     */
+    public static <T> PageResult<T> ofCursor(List<T> items, Integer pageSize, String nextCursor) {
+        Pagination pagination = new Pagination(null, pageSize, null, null, nextCursor);
         return new PageResult<>(items, pagination);
     }
 }
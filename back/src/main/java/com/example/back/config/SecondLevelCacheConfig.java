@@ -0,0 +1,83 @@
+package com.example.back.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate 二级缓存配置
+ * <p>
+ * 分类、标签、用户隐私设置几乎在每次写入与可见性判断中读取，但很少变化，
+ * 这里以 Caffeine 作为 JCache 实现开启实体缓存与查询缓存，缓存区域见 {@link #REGIONS}。
+ * 实体采用 READ_WRITE 策略，经由 JPA 的修改在事务提交时同步更新缓存；
+ * 查询缓存按表的更新时间戳判断失效，相关表有写入后已缓存的查询结果不再使用。
+ * 各区域命中率以 Caffeine 缓存指标输出，指标名为 hibernate_ 加区域名。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String REGION_CATEGORY = "category";
+    public static final String REGION_TAG = "tag";
+    public static final String REGION_PRIVACY_SETTINGS = "user_privacy_settings";
+
+    private static final List<String> REGIONS = List.of(
+            REGION_CATEGORY,
+            REGION_TAG,
+            REGION_PRIVACY_SETTINGS,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties, MeterRegistry meterRegistry) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                    .setExpireAfterWrite(OptionalLong.of(properties.getTtl().toNanos()))
+                    .setMaximumSize(OptionalLong.of(properties.getMaximumSize()))
+                    .setNativeStatisticsEnabled(true);
+            monitor(getOrCreate(cacheManager, region, configuration), region, meterRegistry);
+        }
+        // 更新时间戳区域用于判断查询缓存是否过期，不能按容量或时间淘汰
+        getOrCreate(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+        };
+    }
+
+    private Cache<Object, Object> getOrCreate(CacheManager cacheManager, String region,
+                                              CaffeineConfiguration<Object, Object> configuration) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        return cache != null ? cache : cacheManager.createCache(region, configuration);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void monitor(Cache<Object, Object> cache, String region, MeterRegistry meterRegistry) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine =
+                cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+        CaffeineCacheMetrics.monitor(meterRegistry, caffeine, "hibernate_" + region.replace('-', '_'));
+    }
+}
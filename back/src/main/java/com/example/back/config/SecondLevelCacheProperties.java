@@ -0,0 +1,25 @@
+package com.example.back.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hibernate 二级缓存（分类、标签、隐私设置等参考数据）配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    /**
+     * 实体与查询结果的有效期；经由 JPA 的写入会在提交时更新或失效缓存，
+     * 该时间决定其他实例写入、直接改库时的最长延迟
+     */
+    private Duration ttl = Duration.ofMinutes(30);
+
+    /**
+     * 每个缓存区域最多缓存的条目数
+     */
+    private long maximumSize = 10000;
+}
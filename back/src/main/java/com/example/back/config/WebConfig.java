@@ -1,17 +1,12 @@
 package com.example.back.config;
 
 import com.example.back.security.AuthenticationInterceptor;
-import com.example.back.storage.FileStorageProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
 /**
  * Web配置类
  *
@@ -22,7 +17,6 @@ import java.nio.file.Paths;
 public class WebConfig implements WebMvcConfigurer {
     
     private final AuthenticationInterceptor authenticationInterceptor;
-    private final FileStorageProperties fileStorageProperties;
     
     /**
      * 配置跨域
@@ -42,13 +36,5 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addInterceptor(authenticationInterceptor)
                 .addPathPatterns("/api/**");
     }
-    
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        Path uploadPath = Paths.get(fileStorageProperties.getUploadDir()).toAbsolutePath().normalize();
-        String resourceLocation = uploadPath.toUri().toString();
-        registry.addResourceHandler("/files/**")
-                .addResourceLocations(resourceLocation.endsWith("/") ? resourceLocation : resourceLocation + "/");
-    }
 }
 
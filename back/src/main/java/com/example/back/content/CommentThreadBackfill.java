@@ -0,0 +1,54 @@
+package com.example.back.content;
+
+import com.example.back.common.Constants;
+import com.example.back.repository.CommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 评论楼层回填任务
+ * <p>
+ * 楼层加载依赖 comments.root_id，引入该列之前的历史回复为空，会从楼层中消失。
+ * 启动时沿父评论链逐层补齐 root_id 与 depth：每次更新父评论楼层已确定的一层回复，
+ * 每层一个事务，直到没有可更新的行；已回填的库只执行一次空更新。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class CommentThreadBackfill {
+
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public CommentThreadBackfill(CommentRepository commentRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int total = 0;
+            while (true) {
+                Integer rows = transactionTemplate.execute(status ->
+                        commentRepository.backfillThreadRoots(Constants.COMMENT_MAX_DEPTH));
+                if (rows == null || rows == 0) {
+                    break;
+                }
+                total += rows;
+            }
+            if (total > 0) {
+                log.info("评论楼层回填完成：{} 条回复", total);
+            }
+        } catch (RuntimeException ex) {
+            log.error("评论楼层回填失败，将在下次启动时继续", ex);
+        }
+    }
+}
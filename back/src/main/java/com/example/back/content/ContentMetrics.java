@@ -0,0 +1,84 @@
+package com.example.back.content;
+
+import com.example.back.util.CjkText;
+
+import java.util.regex.Pattern;
+
+/**
+ * 正文派生信息：摘录、字数与预计阅读时长
+ * <p>
+ * 在文章、问题、回答写入时由正文计算并落库，列表与摘要展示直接读取，不再读取全文。
+ * 字数按中日韩文字逐字、其他文字按连续字母数字计为一个词统计，阅读时长按每分钟 300 字估算。
+ *
+ * @param excerpt     去除 Markdown 标记后的前 {@link #EXCERPT_LENGTH} 个字符，正文为空时为 null
+ * @param wordCount   字数
+ * @param readingTime 预计阅读时长（分钟），有内容时至少 1 分钟
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record ContentMetrics(String excerpt, int wordCount, int readingTime) {
+
+    public static final int EXCERPT_LENGTH = 120;
+
+    private static final int WORDS_PER_MINUTE = 300;
+
+    private static final Pattern CODE_FENCE = Pattern.compile("(?m)^\\s*(```|~~~).*$");
+    private static final Pattern IMAGE = Pattern.compile("!\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern LINE_MARKER = Pattern.compile("(?m)^\\s*(#{1,6}|>+|[-*+]|\\d+\\.)\\s+");
+    private static final Pattern INLINE_MARKER = Pattern.compile("[*_~`]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public static ContentMetrics of(String content) {
+        String text = toPlainText(content);
+        if (text.isEmpty()) {
+            return new ContentMetrics(null, 0, 0);
+        }
+        int wordCount = countWords(text);
+        int readingTime = Math.max(1, (wordCount + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+        return new ContentMetrics(truncate(text), wordCount, readingTime);
+    }
+
+    private static String toPlainText(String content) {
+        if (content == null || content.isBlank()) {
+            return "";
+        }
+        String text = CODE_FENCE.matcher(content).replaceAll("");
+        text = IMAGE.matcher(text).replaceAll("$1");
+        text = LINK.matcher(text).replaceAll("$1");
+        text = HTML_TAG.matcher(text).replaceAll(" ");
+        text = LINE_MARKER.matcher(text).replaceAll("");
+        text = INLINE_MARKER.matcher(text).replaceAll("");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    private static int countWords(String text) {
+        int count = 0;
+        boolean inWord = false;
+        int offset = 0;
+        while (offset < text.length()) {
+            int codePoint = text.codePointAt(offset);
+            offset += Character.charCount(codePoint);
+            if (CjkText.isCjk(codePoint)) {
+                count++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (!inWord) {
+                    count++;
+                    inWord = true;
+                }
+            } else {
+                inWord = false;
+            }
+        }
+        return count;
+    }
+
+    private static String truncate(String text) {
+        if (text.codePointCount(0, text.length()) <= EXCERPT_LENGTH) {
+            return text;
+        }
+        return text.substring(0, text.offsetByCodePoints(0, EXCERPT_LENGTH)).trim() + "...";
+    }
+}
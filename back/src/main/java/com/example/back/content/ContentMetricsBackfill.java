@@ -0,0 +1,104 @@
+package com.example.back.content;
+
+import com.example.back.entity.Answer;
+import com.example.back.entity.Article;
+import com.example.back.entity.Question;
+import com.example.back.repository.AnswerRepository;
+import com.example.back.repository.ArticleRepository;
+import com.example.back.repository.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 内容派生信息回填任务
+ * <p>
+ * 新写入的文章、问题、回答在服务层即时计算 {@link ContentMetrics}；该任务在启动后于后台线程
+ * 为历史数据（word_count 为空）分批补齐，每批一个事务，直接按 id 更新，不改动 updated_at。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class ContentMetricsBackfill {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final ArticleRepository articleRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ContentMetricsBackfill(ArticleRepository articleRepository,
+                                  QuestionRepository questionRepository,
+                                  AnswerRepository answerRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.articleRepository = articleRepository;
+        this.questionRepository = questionRepository;
+        this.answerRepository = answerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        Thread worker = new Thread(this::backfill, "content-metrics-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void backfill() {
+        try {
+            int articles = backfill(lastId -> articleRepository.findByWordCountIsNullAndIdGreaterThanOrderByIdAsc(
+                            lastId, PageRequest.of(0, BATCH_SIZE)),
+                    Article::getId, Article::getContent, articleRepository::updateContentMetrics);
+            int questions = backfill(lastId -> questionRepository.findByWordCountIsNullAndIdGreaterThanOrderByIdAsc(
+                            lastId, PageRequest.of(0, BATCH_SIZE)),
+                    Question::getId, Question::getDescription, questionRepository::updateContentMetrics);
+            int answers = backfill(lastId -> answerRepository.findByWordCountIsNullAndIdGreaterThanOrderByIdAsc(
+                            lastId, PageRequest.of(0, BATCH_SIZE)),
+                    Answer::getId, Answer::getContent, answerRepository::updateContentMetrics);
+            if (articles + questions + answers > 0) {
+                log.info("内容摘录回填完成：文章 {}，问题 {}，回答 {}", articles, questions, answers);
+            }
+        } catch (RuntimeException ex) {
+            log.error("内容摘录回填失败，将在下次启动时继续", ex);
+        }
+    }
+
+    private <T> int backfill(Function<Long, List<T>> batchLoader,
+                             Function<T, Long> idGetter,
+                             Function<T, String> textGetter,
+                             MetricsWriter writer) {
+        long lastId = 0L;
+        int total = 0;
+        while (true) {
+            long from = lastId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<T> batch = batchLoader.apply(from);
+                for (T item : batch) {
+                    ContentMetrics metrics = ContentMetrics.of(textGetter.apply(item));
+                    writer.write(idGetter.apply(item), metrics.excerpt(), metrics.wordCount(), metrics.readingTime());
+                }
+                return batch.stream().map(idGetter).toList();
+            });
+            if (ids == null || ids.isEmpty()) {
+                return total;
+            }
+            total += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface MetricsWriter {
+        int write(Long id, String excerpt, Integer wordCount, Integer readingTime);
+    }
+}
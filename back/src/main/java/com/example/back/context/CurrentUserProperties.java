@@ -0,0 +1,24 @@
+package com.example.back.context;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 当前用户快照缓存配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.current-user")
+public class CurrentUserProperties {
+
+    /**
+     * 快照有效期；本实例内修改昵称、头像提交后立即失效，状态、角色等其他字段的变更最多延迟该时长可见
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * 最多缓存的用户数
+     */
+    private long maximumSize = 10000;
+}
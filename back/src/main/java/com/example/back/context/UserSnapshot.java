@@ -0,0 +1,22 @@
+package com.example.back.context;
+
+import com.example.back.common.Constants;
+
+import java.util.Objects;
+
+/**
+ * 当前登录用户快照
+ * <p>
+ * 写操作只需要用户 id 做外键、状态做校验，昵称与头像用于通知等展示，不必加载完整的用户实体。
+ *
+ * @param status 用户状态，见 {@link Constants#USER_STATUS_NORMAL}
+ * @param role   用户角色，见 {@link Constants#USER_ROLE_ADMIN}
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record UserSnapshot(Long id, Integer status, Integer role, String nickname, String avatar) {
+
+    public boolean isBanned() {
+        return Objects.equals(status, Constants.USER_STATUS_BANNED);
+    }
+}
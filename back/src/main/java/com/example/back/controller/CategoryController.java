@@ -0,0 +1,27 @@
+package com.example.back.controller;
+
+import com.example.back.common.Result;
+import com.example.back.dto.response.CategoryTreeResponse;
+import com.example.back.service.CategoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 分类控制器
+ */
+@RestController
+@RequestMapping("/api/v1/categories")
+@RequiredArgsConstructor
+public class CategoryController {
+
+    private final CategoryService categoryService;
+
+    @GetMapping
+    public Result<List<CategoryTreeResponse>> getCategoryTree() {
+        return Result.success(categoryService.getCategoryTree());
+    }
+}
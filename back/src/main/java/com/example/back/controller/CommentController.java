@@ -35,6 +35,13 @@ public class CommentController {
         return Result.success(commentService.getComments(request));
     }
 
+    @GetMapping("/{id}/replies")
+    public Result<PageResult<CommentListItemResponse>> replies(@PathVariable Long id,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer pageSize) {
+        return Result.success(commentService.getReplies(id, cursor, pageSize));
+    }
+
     @PutMapping("/{id}")
     public Result<CommentResponse> update(@PathVariable Long id,
                                           @Valid @RequestBody CommentUpdateRequest request) {
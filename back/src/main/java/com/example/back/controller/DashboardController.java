@@ -14,6 +14,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -47,8 +48,8 @@ public class DashboardController {
     }
 
     @GetMapping("/trends")
-    public Result<DashboardTrendResponse> trends() {
-        return Result.success(dashboardService.getTrends());
+    public Result<DashboardTrendResponse> trends(@RequestParam(defaultValue = "7") Integer days) {
+        return Result.success(dashboardService.getTrends(days));
     }
 }
 
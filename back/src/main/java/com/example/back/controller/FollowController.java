@@ -32,15 +32,17 @@ public class FollowController {
     @GetMapping("/{userId}/following")
     public Result<PageResult<FollowUserItemResponse>> following(@PathVariable Long userId,
                                                                 @RequestParam(defaultValue = "1") Integer page,
-                                                                @RequestParam(defaultValue = "20") Integer pageSize) {
-        return Result.success(followService.getFollowing(userId, page, pageSize));
+                                                                @RequestParam(defaultValue = "20") Integer pageSize,
+                                                                @RequestParam(required = false) String cursor) {
+        return Result.success(followService.getFollowing(userId, page, pageSize, cursor));
     }
 
     @GetMapping("/{userId}/followers")
     public Result<PageResult<FollowUserItemResponse>> followers(@PathVariable Long userId,
                                                                 @RequestParam(defaultValue = "1") Integer page,
-                                                                @RequestParam(defaultValue = "20") Integer pageSize) {
-        return Result.success(followService.getFollowers(userId, page, pageSize));
+                                                                @RequestParam(defaultValue = "20") Integer pageSize,
+                                                                @RequestParam(required = false) String cursor) {
+        return Result.success(followService.getFollowers(userId, page, pageSize, cursor));
     }
 }
 
@@ -0,0 +1,32 @@
+package com.example.back.controller;
+
+import com.example.back.common.Result;
+import com.example.back.dto.response.TagListResponse;
+import com.example.back.service.TagService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 标签控制器
+ */
+@RestController
+@RequestMapping("/api/v1/tags")
+@RequiredArgsConstructor
+public class TagController {
+
+    private final TagService tagService;
+
+    @GetMapping("/hot")
+    public Result<TagListResponse> hotTags(@RequestParam(required = false) Integer limit) {
+        return Result.success(tagService.getHotTags(limit));
+    }
+
+    @GetMapping("/suggestions")
+    public Result<TagListResponse> suggestions(@RequestParam(required = false) String keyword,
+                                               @RequestParam(required = false) Integer limit) {
+        return Result.success(tagService.suggestTags(keyword, limit));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.back.counter;
+
+import com.example.back.repository.AnswerRepository;
+import com.example.back.repository.ArticleRepository;
+import com.example.back.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 点赞数校正任务
+ * <p>
+ * 点赞与取消只按增量更新目标的 like_count，请求路径上不再 count 点赞表；
+ * 并发、手工改数等造成的偏差由该任务在低峰期按点赞表统一修正。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeCountReconciler {
+
+    private final ArticleRepository articleRepository;
+    private final AnswerRepository answerRepository;
+    private final CommentRepository commentRepository;
+
+    @Scheduled(cron = "${app.like-counter.reconcile-cron:0 0 4 * * *}")
+    @Transactional
+    public void reconcile() {
+        int articles = articleRepository.reconcileLikeCounts();
+        int answers = answerRepository.reconcileLikeCounts();
+        int comments = commentRepository.reconcileLikeCounts();
+        if (articles + answers + comments > 0) {
+            log.info("点赞数校正完成：文章 {}，回答 {}，评论 {}", articles, answers, comments);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.back.counter;
+
+import com.example.back.repository.ArticleRepository;
+import com.example.back.repository.QuestionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * 浏览量写缓冲
+ * <p>
+ * 详情页的浏览计数先累加在内存中（每个内容ID一个 LongAdder），由定时任务合并成批量
+ * {@code view_count = view_count + ?} 更新写回数据库，应用关闭时再刷一次。
+ * 缓冲ID数超过上限时只唤醒后台刷盘线程，请求线程（通常处于只读事务中）从不写库。
+ * 空闲的ID在刷盘时移出缓冲区并把计数器标记为停用：停用前累加的增量由刷盘取走，
+ * 之后累加的增量由累加方看到停用标记后转入新的计数器，两边用 sumThenReset 瓜分，不会丢失也不会重复。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    private final ArticleRepository articleRepository;
+    private final QuestionRepository questionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ViewCounterProperties properties;
+
+    private final ConcurrentHashMap<Long, ViewCounter> articleViews = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ViewCounter> questionViews = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean overflowFlushQueued = new AtomicBoolean();
+    private final ExecutorService overflowFlusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "view-counter-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter flushedCounter;
+    private volatile long lastFlushAt = System.currentTimeMillis();
+
+    public ViewCountBuffer(ArticleRepository articleRepository,
+                           QuestionRepository questionRepository,
+                           PlatformTransactionManager transactionManager,
+                           ViewCounterProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.articleRepository = articleRepository;
+        this.questionRepository = questionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 不加入调用方可能存在的（只读）事务
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+
+        Gauge.builder("view_counter.buffered_keys", this, ViewCountBuffer::bufferedKeys)
+                .description("待刷盘的内容ID数")
+                .register(meterRegistry);
+        Gauge.builder("view_counter.max_buffered_keys", properties, ViewCounterProperties::getMaxBufferedKeys)
+                .description("缓冲区内容ID上限")
+                .register(meterRegistry);
+        Gauge.builder("view_counter.flush_interval", properties, p -> p.getFlushInterval().toMillis() / 1000.0)
+                .description("刷盘间隔")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("view_counter.flush_lag", this, ViewCountBuffer::flushLagSeconds)
+                .description("缓冲区非空时距上次成功刷盘的时长")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("view_counter.flushed")
+                .description("已写回数据库的浏览次数")
+                .register(meterRegistry);
+    }
+
+    public void incrementArticle(Long articleId) {
+        increment(articleViews, articleId);
+    }
+
+    public void incrementQuestion(Long questionId) {
+        increment(questionViews, questionId);
+    }
+
+    /**
+     * 尚未写回数据库的文章浏览量，用于详情页展示
+     */
+    public long pendingArticle(Long articleId) {
+        ViewCounter counter = articleViews.get(articleId);
+        return counter == null ? 0 : counter.count.sum();
+    }
+
+    public long pendingQuestion(Long questionId) {
+        ViewCounter counter = questionViews.get(questionId);
+        return counter == null ? 0 : counter.count.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.view-counter.flush-interval:5s}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        overflowFlusher.shutdown();
+        flush();
+    }
+
+    /**
+     * 将缓冲的增量写回数据库，失败时把增量放回缓冲区等待下次重试
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> articleDeltas = drain(articleViews);
+            Map<Long, Long> questionDeltas = drain(questionViews);
+            if (articleDeltas.isEmpty() && questionDeltas.isEmpty()) {
+                lastFlushAt = System.currentTimeMillis();
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    write(articleDeltas, articleRepository::increaseViewCount);
+                    write(questionDeltas, questionRepository::increaseViewCount);
+                });
+                lastFlushAt = System.currentTimeMillis();
+                flushedCounter.increment(sum(articleDeltas) + sum(questionDeltas));
+            } catch (RuntimeException ex) {
+                log.warn("浏览量刷盘失败，将在下次重试: {}", ex.getMessage());
+                restore(articleViews, articleDeltas);
+                restore(questionViews, questionDeltas);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void increment(ConcurrentHashMap<Long, ViewCounter> buffer, Long id) {
+        add(buffer, id, 1);
+        if (buffer.size() > properties.getMaxBufferedKeys() && overflowFlushQueued.compareAndSet(false, true)) {
+            try {
+                overflowFlusher.execute(() -> {
+                    try {
+                        flush();
+                    } finally {
+                        overflowFlushQueued.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                // 应用关闭中，由关闭时的刷盘处理
+                overflowFlushQueued.set(false);
+            }
+        }
+    }
+
+    /**
+     * 累加增量；累加后发现计数器已被刷盘停用时，取回刷盘未取走的部分转入缓冲区中的新计数器
+     */
+    private void add(ConcurrentHashMap<Long, ViewCounter> buffer, Long id, long delta) {
+        while (delta > 0) {
+            ViewCounter counter = buffer.computeIfAbsent(id, key -> new ViewCounter());
+            counter.count.add(delta);
+            if (!counter.retired) {
+                // 停用标记之前的累加必然被刷盘停用后的 sumThenReset 取走
+                return;
+            }
+            delta = counter.count.sumThenReset();
+        }
+    }
+
+    private Map<Long, Long> drain(ConcurrentHashMap<Long, ViewCounter> buffer) {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, ViewCounter> entry : buffer.entrySet()) {
+            ViewCounter counter = entry.getValue();
+            long delta = counter.count.sumThenReset();
+            if (delta == 0 && buffer.remove(entry.getKey(), counter)) {
+                // 上个周期无新增的ID移出缓冲区，避免键无限增长；先停用再取走移出前后累加的增量
+                counter.retired = true;
+                delta = counter.count.sumThenReset();
+            }
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * 按增量分组，同一增量的ID合并为一条 IN 更新
+     */
+    private void write(Map<Long, Long> deltas, BiFunction<Collection<Long>, Integer, Integer> updater) {
+        Map<Long, List<Long>> idsByDelta = new HashMap<>();
+        deltas.forEach((id, delta) -> idsByDelta.computeIfAbsent(delta, key -> new ArrayList<>()).add(id));
+        idsByDelta.forEach((delta, ids) -> updater.apply(ids, (int) Math.min(delta, Integer.MAX_VALUE)));
+    }
+
+    private void restore(ConcurrentHashMap<Long, ViewCounter> buffer, Map<Long, Long> deltas) {
+        deltas.forEach((id, delta) -> add(buffer, id, delta));
+    }
+
+    private long sum(Map<Long, Long> deltas) {
+        return deltas.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private double bufferedKeys() {
+        return articleViews.size() + questionViews.size();
+    }
+
+    private double flushLagSeconds() {
+        if (articleViews.isEmpty() && questionViews.isEmpty()) {
+            return 0;
+        }
+        return (System.currentTimeMillis() - lastFlushAt) / 1000.0;
+    }
+
+    /**
+     * 单个内容ID的计数器，retired 表示已被刷盘移出缓冲区
+     */
+    private static final class ViewCounter {
+        private final LongAdder count = new LongAdder();
+        private volatile boolean retired;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.back.counter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 浏览量写缓冲配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.view-counter")
+public class ViewCounterProperties {
+
+    /**
+     * 刷盘间隔（与定时任务的 app.view-counter.flush-interval 保持一致）
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * 缓冲区最多保留的内容ID数，超过后立即触发刷盘
+     */
+    private int maxBufferedKeys = 10000;
+}
@@ -31,6 +31,11 @@ public class ArticleQueryRequest {
 
     private String sort = "latest";
 
+    /**
+     * 游标分页：首页传空串，之后传上一页返回的 nextCursor；不传时按页码分页
+     */
+    private String cursor;
+
     public String normalizedKeyword() {
         return StringUtils.hasText(keyword) ? keyword.trim() : null;
     }
@@ -38,5 +43,8 @@ public class ArticleQueryRequest {
     public String normalizedSort() {
         return StringUtils.hasText(sort) ? sort.trim() : "latest";
     }
-}
 
+    public boolean cursorMode() {
+        return cursor != null;
+    }
+}
@@ -18,6 +18,16 @@ public class CommentQueryRequest {
 
     private String sort = "latest";
 
+    /**
+     * 游标分页：首页传空串，之后传上一页返回的 nextCursor；不传时按页码分页
+     */
+    private String cursor;
+
+    /**
+     * 每条顶级评论预览的回复数
+     */
+    private Integer replySize = 3;
+
     public String normalizedTargetType() {
         return targetType == null ? null : targetType.trim().toLowerCase();
     }
@@ -32,5 +42,15 @@ public class CommentQueryRequest {
             default -> "latest";
         };
     }
-}
 
+    public int normalizedReplySize() {
+        if (replySize == null) {
+            return 3;
+        }
+        return Math.min(20, Math.max(1, replySize));
+    }
+
+    public boolean cursorMode() {
+        return cursor != null;
+    }
+}
@@ -16,8 +16,16 @@ public class FavoriteQueryRequest {
 
     private Integer pageSize = 20;
 
+    /**
+     * 游标分页：首页传空串，之后传上一页返回的 nextCursor；不传时按页码分页
+     */
+    private String cursor;
+
     public String normalizedTargetType() {
         return targetType == null ? null : targetType.trim().toLowerCase();
     }
-}
 
+    public boolean cursorMode() {
+        return cursor != null;
+    }
+}
@@ -14,6 +14,15 @@ public class FeedQueryRequest {
 
     private String type = "all";
 
+    /**
+     * 上一页返回的 nextCursor，传入后忽略 page；首页传空字符串
+     */
+    private String cursor;
+
+    public boolean cursorMode() {
+        return cursor != null;
+    }
+
     public String normalizedType() {
         if (type == null) {
             return "all";
@@ -17,8 +17,16 @@ public class NotificationQueryRequest {
 
     private Boolean read;
 
+    /**
+     * 游标分页：首页传空串，之后传上一页返回的 nextCursor；不传时按页码分页
+     */
+    private String cursor;
+
     public String normalizedType() {
         return StringUtils.hasText(type) ? type.trim().toLowerCase() : null;
     }
-}
 
+    public boolean cursorMode() {
+        return cursor != null;
+    }
+}
@@ -27,6 +27,11 @@ public class QuestionQueryRequest {
 
     private String sort = "latest";
 
+    /**
+     * 游标分页：首页传空串，之后传上一页返回的 nextCursor；不传时按页码分页
+     */
+    private String cursor;
+
     public String normalizedKeyword() {
         return StringUtils.hasText(keyword) ? keyword.trim() : null;
     }
@@ -34,5 +39,8 @@ public class QuestionQueryRequest {
     public String normalizedSort() {
         return StringUtils.hasText(sort) ? sort.trim() : "latest";
     }
-}
 
+    public boolean cursorMode() {
+        return cursor != null;
+    }
+}
@@ -17,6 +17,7 @@ public class AnswerDetailResponse {
     private String content;
     private Integer upvoteCount;
     private Integer downvoteCount;
+    private Integer likeCount;
     private Integer commentCount;
     private Boolean best;
     private Boolean upvoted;
@@ -25,6 +25,8 @@ public class ArticleDetailResponse {
     private Integer likeCount;
     private Integer commentCount;
     private Integer favoriteCount;
+    private Integer wordCount;
+    private Integer readingTime;
     private boolean liked;
     private boolean favorited;
     private LocalDateTime createdAt;
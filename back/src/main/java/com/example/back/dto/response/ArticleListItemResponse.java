@@ -22,10 +22,14 @@ public class ArticleListItemResponse {
     private Integer viewCount;
     private Integer likeCount;
     private Integer commentCount;
+    private Integer wordCount;
+    private Integer readingTime;
     private LocalDateTime createdAt;
     private AuthorInfo author;
     private CategoryInfo category;
     private List<TagInfo> tags;
+    private Boolean liked;
+    private Boolean favorited;
 
     @Data
     @AllArgsConstructor
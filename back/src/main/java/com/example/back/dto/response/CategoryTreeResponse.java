@@ -0,0 +1,29 @@
+package com.example.back.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 分类树节点响应
+ */
+@Data
+@Builder
+public class CategoryTreeResponse {
+
+    private Long id;
+    private String name;
+    private String description;
+    private String icon;
+    private Integer sortOrder;
+    /**
+     * 直接归属该分类的已发布文章数
+     */
+    private Long articleCount;
+    /**
+     * 含全部子分类的已发布文章数
+     */
+    private Long totalArticleCount;
+    private List<CategoryTreeResponse> children;
+}
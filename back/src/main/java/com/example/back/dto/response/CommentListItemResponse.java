@@ -24,6 +24,14 @@ public class CommentListItemResponse {
     private LocalDateTime createdAt;
     private AuthorInfo author;
     private List<CommentListItemResponse> replies;
+    /**
+     * 楼层回复总数，仅顶级评论返回
+     */
+    private Long replyTotal;
+    /**
+     * 楼层还有更多回复时的游标，传给 /comments/{id}/replies 继续加载
+     */
+    private String repliesCursor;
 
     @Data
     @AllArgsConstructor
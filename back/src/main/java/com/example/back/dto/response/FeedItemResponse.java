@@ -17,6 +17,15 @@ public class FeedItemResponse {
     private Content content;
     private AuthorInfo author;
     private LocalDateTime createdAt;
+    /**
+     * 文章：当前用户是否已点赞、收藏
+     */
+    private Boolean liked;
+    private Boolean favorited;
+    /**
+     * 问题：当前用户是否已关注
+     */
+    private Boolean followed;
 
     @Data
     @AllArgsConstructor
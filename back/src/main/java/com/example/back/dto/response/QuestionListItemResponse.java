@@ -22,6 +22,7 @@ public class QuestionListItemResponse {
     private LocalDateTime createdAt;
     private AuthorInfo author;
     private List<TagInfo> tags;
+    private Boolean followed;
 
     @Data
     @AllArgsConstructor
@@ -39,6 +39,8 @@ public class SearchResponse {
         private Integer commentCount;
         private LocalDateTime createdAt;
         private SimplifiedUser author;
+        private Boolean liked;
+        private Boolean favorited;
     }
 
     @Data
@@ -52,6 +54,7 @@ public class SearchResponse {
         private Integer followCount;
         private LocalDateTime createdAt;
         private SimplifiedUser author;
+        private Boolean followed;
     }
 
     @Data
@@ -62,6 +65,7 @@ public class SearchResponse {
         private String nickname;
         private String avatar;
         private String bio;
+        private Boolean followed;
     }
 
     @Data
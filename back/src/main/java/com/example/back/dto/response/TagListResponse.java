@@ -0,0 +1,24 @@
+package com.example.back.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 标签列表响应（热门标签、标签补全）
+ */
+@Data
+@AllArgsConstructor
+public class TagListResponse {
+
+    private List<TagItem> items;
+
+    @Data
+    @AllArgsConstructor
+    public static class TagItem {
+        private Long id;
+        private String name;
+        private Long useCount;
+    }
+}
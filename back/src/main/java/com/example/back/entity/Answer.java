@@ -1,5 +1,6 @@
 package com.example.back.entity;
 
+import com.example.back.content.ContentMetrics;
 import com.example.back.entity.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
@@ -36,6 +37,15 @@ public class Answer extends BaseEntity {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    @Column(length = 200)
+    private String excerpt;
+
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    @Column(name = "reading_time")
+    private Integer readingTime;
+
     @Builder.Default
     @Column(name = "upvote_count", nullable = false)
     private Integer upvoteCount = 0;
@@ -44,6 +54,10 @@ public class Answer extends BaseEntity {
     @Column(name = "downvote_count", nullable = false)
     private Integer downvoteCount = 0;
 
+    @Builder.Default
+    @Column(name = "like_count", nullable = false)
+    private Integer likeCount = 0;
+
     @Builder.Default
     @Column(name = "comment_count", nullable = false)
     private Integer commentCount = 0;
@@ -77,5 +91,13 @@ public class Answer extends BaseEntity {
     public void unmarkBest() {
         this.isBest = 0;
     }
-}
 
+    /**
+     * 写入正文后更新摘录、字数与阅读时长
+     */
+    public void applyContentMetrics(ContentMetrics metrics) {
+        this.excerpt = metrics.excerpt();
+        this.wordCount = metrics.wordCount();
+        this.readingTime = metrics.readingTime();
+    }
+}
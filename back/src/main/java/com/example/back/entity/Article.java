@@ -1,5 +1,6 @@
 package com.example.back.entity;
 
+import com.example.back.content.ContentMetrics;
 import com.example.back.entity.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
@@ -44,6 +45,15 @@ public class Article extends BaseEntity {
     @Column(length = 200)
     private String summary;
 
+    @Column(length = 200)
+    private String excerpt;
+
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    @Column(name = "reading_time")
+    private Integer readingTime;
+
     @Column(name = "cover_image", length = 500)
     private String coverImage;
 
@@ -98,5 +108,13 @@ public class Article extends BaseEntity {
     )
     @Builder.Default
     private Set<Tag> tags = new HashSet<>();
-}
 
+    /**
+     * 写入正文后更新摘录、字数与阅读时长
+     */
+    public void applyContentMetrics(ContentMetrics metrics) {
+        this.excerpt = metrics.excerpt();
+        this.wordCount = metrics.wordCount();
+        this.readingTime = metrics.readingTime();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.back.entity;
+
+import com.example.back.entity.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.SQLRestriction;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 文章列表视图
+ * <p>
+ * 映射 articles 表中列表展示需要的列，不包含 LONGTEXT 正文；只读，写操作仍使用 {@link Article}。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "articles")
+@SQLRestriction("deleted_at IS NULL")
+public class ArticleListView extends BaseEntity {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    @Column(length = 200)
+    private String summary;
+
+    @Column(length = 200)
+    private String excerpt;
+
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    @Column(name = "reading_time")
+    private Integer readingTime;
+
+    @Column(name = "cover_image", length = 500)
+    private String coverImage;
+
+    @Column(nullable = false)
+    private Integer status;
+
+    @Column(name = "view_count", nullable = false)
+    private Integer viewCount;
+
+    @Column(name = "like_count", nullable = false)
+    private Integer likeCount;
+
+    @Column(name = "comment_count", nullable = false)
+    private Integer commentCount;
+
+    @Column(name = "favorite_count", nullable = false)
+    private Integer favoriteCount;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "article_tags",
+            joinColumns = @JoinColumn(name = "article_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id")
+    )
+    private Set<Tag> tags = new HashSet<>();
+
+    /**
+     * 列表展示的摘要：作者未填写摘要时使用正文摘录
+     */
+    public String summaryOrExcerpt() {
+        return StringUtils.hasText(summary) ? summary : excerpt;
+    }
+}
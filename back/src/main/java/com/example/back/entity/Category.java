@@ -1,8 +1,11 @@
 package com.example.back.entity;
 
+import com.example.back.config.SecondLevelCacheConfig;
 import com.example.back.entity.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
@@ -17,6 +20,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.REGION_CATEGORY)
 @SQLRestriction("deleted_at IS NULL")
 public class Category extends BaseEntity {
 
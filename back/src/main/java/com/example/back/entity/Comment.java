@@ -38,6 +38,16 @@ public class Comment extends BaseEntity {
     @JoinColumn(name = "parent_id")
     private Comment parent;
 
+    /**
+     * 所属楼层的顶级评论ID，顶级评论为 null；整层回复按该列一次加载
+     */
+    @Column(name = "root_id")
+    private Long rootId;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer depth = 0;
+
     @Column(nullable = false, length = 1000)
     private String content;
 
@@ -91,5 +101,15 @@ public class Comment extends BaseEntity {
     public boolean isTopLevel() {
         return this.parent == null;
     }
+
+    /**
+     * 当前评论所在楼层的顶级评论ID；尚未回填 root_id 的历史回复沿父评论链查找
+     */
+    public Long threadRootId() {
+        if (this.rootId != null) {
+            return this.rootId;
+        }
+        return this.parent == null ? this.id : this.parent.threadRootId();
+    }
 }
 
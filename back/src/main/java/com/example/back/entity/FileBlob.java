@@ -0,0 +1,56 @@
+package com.example.back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 按内容哈希寻址的上传文件
+ * <p>
+ * 相同内容只保存一份，ref_count 记录引用该文件的上传次数，由写路径以 upsert 增量维护。
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "file_blobs")
+public class FileBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 内容的 SHA-256（十六进制）
+     */
+    @Column(nullable = false, unique = true, length = 64)
+    private String hash;
+
+    /**
+     * 相对上传根目录的路径
+     */
+    @Column(nullable = false)
+    private String path;
+
+    @Column(nullable = false)
+    private Long size;
+
+    /**
+     * 原图宽高，生成衍生版本时读取图片头写入，之前为空
+     */
+    private Integer width;
+
+    private Integer height;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
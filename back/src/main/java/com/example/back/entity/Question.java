@@ -1,5 +1,6 @@
 package com.example.back.entity;
 
+import com.example.back.content.ContentMetrics;
 import com.example.back.entity.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
@@ -37,6 +38,15 @@ public class Question extends BaseEntity {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String description;
 
+    @Column(length = 200)
+    private String excerpt;
+
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    @Column(name = "reading_time")
+    private Integer readingTime;
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "best_answer_id")
     private Answer bestAnswer;
@@ -99,5 +109,13 @@ public class Question extends BaseEntity {
     public void decreaseFollowCount() {
         this.followCount = Math.max(0, this.followCount - 1);
     }
-}
 
+    /**
+     * 写入正文后更新摘录、字数与阅读时长
+     */
+    public void applyContentMetrics(ContentMetrics metrics) {
+        this.excerpt = metrics.excerpt();
+        this.wordCount = metrics.wordCount();
+        this.readingTime = metrics.readingTime();
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.back.entity;
 
+import com.example.back.config.SecondLevelCacheConfig;
 import com.example.back.entity.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 /**
  * 标签实体
+ * <p>
+ * tags.use_count 频繁按增量更新，不映射到实体，避免每次更新都使二级缓存中的标签失效；
+ * 计数由 {@link com.example.back.tag.TagIndex} 维护与读取。
  */
 @Getter
 @Setter
@@ -17,6 +23,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Entity
 @Table(name = "tags")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.REGION_TAG)
 @SQLRestriction("deleted_at IS NULL")
 public class Tag extends BaseEntity {
 
@@ -30,10 +38,6 @@ public class Tag extends BaseEntity {
     @Column(length = 200)
     private String description;
 
-    @Builder.Default
-    @Column(name = "use_count", nullable = false)
-    private Integer useCount = 0;
-
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 }
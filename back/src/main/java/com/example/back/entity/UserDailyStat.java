@@ -0,0 +1,43 @@
+package com.example.back.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 用户每日统计
+ * <p>
+ * 每个用户每天每个指标一行，由写路径以 upsert 增量累加。
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "user_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_daily_stats_user_date_metric", columnNames = {"user_id", "stat_date", "metric"})
+})
+public class UserDailyStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "metric", nullable = false, length = 20)
+    private String metric;
+
+    @Column(name = "stat_value", nullable = false)
+    private Long statValue;
+
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,8 +1,11 @@
 package com.example.back.entity;
 
+import com.example.back.config.SecondLevelCacheConfig;
 import com.example.back.entity.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * 用户隐私设置实体
@@ -14,6 +17,8 @@ import lombok.*;
 @NoArgsConstructor
 @Entity
 @Table(name = "user_privacy_settings")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.REGION_PRIVACY_SETTINGS)
 public class UserPrivacySettings extends BaseEntity {
 
     @Id
@@ -0,0 +1,22 @@
+package com.example.back.feed;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 动态时间线配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.feed")
+public class FeedProperties {
+
+    /**
+     * 粉丝数超过该值的作者不再推送到收件箱，改为读取时拉取
+     */
+    private int fanOutFollowerLimit = 5000;
+
+    /**
+     * 新关注时回填的文章、问题条数（各自）
+     */
+    private int backfillSize = 20;
+}
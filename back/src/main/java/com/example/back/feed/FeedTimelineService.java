@@ -0,0 +1,216 @@
+package com.example.back.feed;
+
+import com.example.back.common.Constants;
+import com.example.back.common.PageCursor;
+import com.example.back.entity.FeedInbox;
+import com.example.back.repository.ArticleRepository;
+import com.example.back.repository.FeedInboxRepository;
+import com.example.back.repository.FollowRepository;
+import com.example.back.repository.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 动态时间线服务
+ * <p>
+ * 推拉结合：普通作者发布内容时写入全部关注者的收件箱（写扩散）；粉丝数超过
+ * {@link FeedProperties#getFanOutFollowerLimit()} 的作者不推送，读取时按游标从内容表拉取后合并。
+ * 作者粉丝数回落、由拉取转为推送时，把最近发布的内容补推给全部关注者，拉取期间发布的内容不会从时间线消失；
+ * 拉取名单只在进程内维护，重启前后发生的转换不会补推。
+ * 时间线按（发布时间, 内容ID）倒序，使用游标分页；按页码访问时另行统计总数。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class FeedTimelineService {
+
+    private static final LocalDateTime TIMELINE_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final FeedInboxRepository feedInboxRepository;
+    private final FollowRepository followRepository;
+    private final ArticleRepository articleRepository;
+    private final QuestionRepository questionRepository;
+    private final FeedProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 需要读时拉取的大V作者
+     */
+    private volatile Set<Long> pullAuthors = Collections.emptySet();
+    /**
+     * 已转为推送、尚未补推成功的作者，下次刷新名单时重试
+     */
+    private final Set<Long> pendingBackfill = new HashSet<>();
+
+    public FeedTimelineService(FeedInboxRepository feedInboxRepository,
+                               FollowRepository followRepository,
+                               ArticleRepository articleRepository,
+                               QuestionRepository questionRepository,
+                               FeedProperties properties,
+                               PlatformTransactionManager transactionManager) {
+        this.feedInboxRepository = feedInboxRepository;
+        this.followRepository = followRepository;
+        this.articleRepository = articleRepository;
+        this.questionRepository = questionRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.feed.pull-author-refresh-interval:10m}", initialDelayString = "${app.feed.pull-author-refresh-interval:10m}")
+    public synchronized void refreshPullAuthors() {
+        Set<Long> previous = pullAuthors;
+        pullAuthors = Set.copyOf(followRepository.findUserIdsWithFollowersOver(properties.getFanOutFollowerLimit()));
+        log.debug("时间线拉取模式作者数: {}", pullAuthors.size());
+        // 先切换名单再补推：之后发布的内容已按推送处理，补推覆盖切换前发布的内容
+        previous.stream().filter(authorId -> !pullAuthors.contains(authorId)).forEach(pendingBackfill::add);
+        pendingBackfill.removeIf(authorId -> pullAuthors.contains(authorId) || backfillFollowers(authorId));
+    }
+
+    /**
+     * 内容发布：推送到关注者收件箱，需在发布事务内调用
+     */
+    public void publish(String contentType, Long contentId, Long authorId, LocalDateTime publishedAt) {
+        if (isPullAuthor(authorId)) {
+            return;
+        }
+        feedInboxRepository.fanOut(contentType, contentId, authorId, publishedAt);
+    }
+
+    /**
+     * 内容删除或取消发布：从所有收件箱移除
+     */
+    public void retract(String contentType, Long contentId) {
+        feedInboxRepository.deleteByContent(contentType, contentId);
+    }
+
+    /**
+     * 新关注：回填作者最近的内容
+     */
+    public void onFollow(Long followerId, Long authorId) {
+        if (isPullAuthor(authorId)) {
+            return;
+        }
+        feedInboxRepository.backfillArticles(followerId, authorId, properties.getBackfillSize());
+        feedInboxRepository.backfillQuestions(followerId, authorId, properties.getBackfillSize());
+    }
+
+    /**
+     * 取消关注：清理收件箱中该作者的内容
+     */
+    public void onUnfollow(Long followerId, Long authorId) {
+        feedInboxRepository.deleteByUserAndAuthor(followerId, authorId);
+    }
+
+    /**
+     * 读取时间线
+     *
+     * @param contentTypes 需要的内容类型
+     * @param cursor       上一页返回的游标，首页为 null
+     * @param skip         无游标时跳过的条数（兼容按页码访问）
+     */
+    public TimelinePage read(Long userId, Collection<String> contentTypes, PageCursor cursor, int skip, int size) {
+        LocalDateTime before = cursor == null ? TIMELINE_START : cursor.keyAsTime();
+        long beforeId = cursor == null ? Long.MAX_VALUE : cursor.getId();
+        Pageable limit = PageRequest.of(0, skip + size + 1);
+
+        List<TimelineEntry> entries = new ArrayList<>();
+        for (FeedInbox inbox : feedInboxRepository.findTimeline(userId, contentTypes, before, beforeId, limit)) {
+            entries.add(new TimelineEntry(inbox.getContentType(), inbox.getContentId(), inbox.getAuthorId(), inbox.getPublishedAt()));
+        }
+
+        List<Long> pulledAuthors = followedPullAuthors(userId);
+        if (!pulledAuthors.isEmpty()) {
+            if (contentTypes.contains(Constants.TYPE_ARTICLE)) {
+                articleRepository.findTimelineByAuthors(pulledAuthors, before, beforeId, limit)
+                        .forEach(row -> entries.add(toEntry(Constants.TYPE_ARTICLE, row)));
+            }
+            if (contentTypes.contains(Constants.TYPE_QUESTION)) {
+                questionRepository.findTimelineByAuthors(pulledAuthors, before, beforeId, limit)
+                        .forEach(row -> entries.add(toEntry(Constants.TYPE_QUESTION, row)));
+            }
+        }
+
+        // 作者转为大V前已推送的条目可能与拉取结果重复
+        Map<String, TimelineEntry> unique = new LinkedHashMap<>();
+        entries.stream()
+                .sorted(Comparator.comparing(TimelineEntry::publishedAt)
+                        .thenComparing(TimelineEntry::contentId)
+                        .reversed())
+                .forEach(entry -> unique.putIfAbsent(entry.contentType() + ":" + entry.contentId(), entry));
+        List<TimelineEntry> merged = new ArrayList<>(unique.values());
+
+        int fromIndex = Math.min(skip, merged.size());
+        int toIndex = Math.min(skip + size, merged.size());
+        List<TimelineEntry> pageEntries = merged.subList(fromIndex, toIndex);
+        String nextCursor = null;
+        if (merged.size() > toIndex && !pageEntries.isEmpty()) {
+            TimelineEntry last = pageEntries.get(pageEntries.size() - 1);
+            nextCursor = PageCursor.of(last.publishedAt(), last.contentId()).encode();
+        }
+        return new TimelinePage(List.copyOf(pageEntries), nextCursor);
+    }
+
+    /**
+     * 时间线总条数（按页码访问时使用）；作者转为大V前已推送的条目会与拉取的内容重复计数
+     */
+    public long count(Long userId, Collection<String> contentTypes) {
+        long total = feedInboxRepository.countByUserIdAndContentTypeIn(userId, contentTypes);
+        List<Long> pulledAuthors = followedPullAuthors(userId);
+        if (!pulledAuthors.isEmpty()) {
+            if (contentTypes.contains(Constants.TYPE_ARTICLE)) {
+                total += articleRepository.countTimelineByAuthors(pulledAuthors);
+            }
+            if (contentTypes.contains(Constants.TYPE_QUESTION)) {
+                total += questionRepository.countTimelineByAuthors(pulledAuthors);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 作者由拉取转为推送：补推最近的内容
+     *
+     * @return 是否成功
+     */
+    private boolean backfillFollowers(Long authorId) {
+        try {
+            Integer rows = transactionTemplate.execute(status ->
+                    feedInboxRepository.backfillArticlesToFollowers(authorId, properties.getBackfillSize())
+                            + feedInboxRepository.backfillQuestionsToFollowers(authorId, properties.getBackfillSize()));
+            log.info("作者 {} 转为推送模式，补推收件箱 {} 条", authorId, rows);
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("作者 {} 转为推送模式后补推收件箱失败，下次刷新时重试", authorId, ex);
+            return false;
+        }
+    }
+
+    private List<Long> followedPullAuthors(Long userId) {
+        Set<Long> authors = pullAuthors;
+        if (authors.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return followRepository.findFollowingIds(userId, new ArrayList<>(authors));
+    }
+
+    private boolean isPullAuthor(Long authorId) {
+        return pullAuthors.contains(authorId);
+    }
+
+    private TimelineEntry toEntry(String contentType, Object[] row) {
+        return new TimelineEntry(contentType, (Long) row[0], (Long) row[1], (LocalDateTime) row[2]);
+    }
+}
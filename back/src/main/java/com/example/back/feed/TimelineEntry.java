@@ -0,0 +1,13 @@
+package com.example.back.feed;
+
+import java.time.LocalDateTime;
+
+/**
+ * 时间线条目
+ *
+ * @param contentType 内容类型：article/question
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record TimelineEntry(String contentType, Long contentId, Long authorId, LocalDateTime publishedAt) {
+}
@@ -0,0 +1,13 @@
+package com.example.back.feed;
+
+import java.util.List;
+
+/**
+ * 时间线分页结果
+ *
+ * @param nextCursor 下一页游标，没有更多数据时为 null
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record TimelinePage(List<TimelineEntry> entries, String nextCursor) {
+}
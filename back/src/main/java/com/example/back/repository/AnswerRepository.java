@@ -7,9 +7,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,8 +20,6 @@ public interface AnswerRepository extends JpaRepository<Answer, Long>, JpaSpecif
 
     List<Answer> findByQuestion(Question question);
 
-    long countByUser_Id(Long userId);
-
     @EntityGraph(attributePaths = {"user", "question", "question.user"})
     Page<Answer> findByUser_Id(Long userId, Pageable pageable);
 
@@ -40,13 +38,46 @@ public interface AnswerRepository extends JpaRepository<Answer, Long>, JpaSpecif
     @EntityGraph(attributePaths = {"user", "question", "question.user"})
     List<Answer> findTop5ByUser_IdOrderByCreatedAtDesc(Long userId);
 
-    @Query("select coalesce(sum(a.upvoteCount), 0) from Answer a where a.user.id = :userId")
-    long sumUpvoteCountByUser(Long userId);
+    /**
+     * 用户回答汇总：总数、赞同总和、评论总和，单行结果
+     */
+    @Query("select count(a), coalesce(sum(a.upvoteCount), 0), coalesce(sum(a.commentCount), 0) from Answer a where a.user.id = :userId")
+    List<Object[]> aggregateByUser(Long userId);
 
-    @Query("select coalesce(sum(a.commentCount), 0) from Answer a where a.user.id = :userId")
-    long sumCommentCountByUser(Long userId);
+    @Modifying
+    @Query("update Answer a set a.likeCount = case when a.likeCount + :delta < 0 then 0 else a.likeCount + :delta end where a.id = :id")
+    int addLikeCount(Long id, int delta);
 
-    @Query("select function('date', a.createdAt), count(a) from Answer a where a.user.id = :userId and a.createdAt between :start and :end group by function('date', a.createdAt) order by function('date', a.createdAt)")
-    List<Object[]> countDailyAnswers(Long userId, LocalDateTime start, LocalDateTime end);
-}
+    @Modifying
+    @Query("update Answer a set a.commentCount = case when a.commentCount + :delta < 0 then 0 else a.commentCount + :delta end where a.id = :id")
+    int addCommentCount(Long id, int delta);
+
+    @Query("select a.likeCount from Answer a where a.id = :id")
+    Integer findLikeCount(Long id);
+
+    /**
+     * 只读取作者与状态，供 {@link com.example.back.cache.TargetResolver} 判断存在性与可见性
+     */
+    @Query("select a.user.id, a.status from Answer a where a.id = :id")
+    List<Object[]> findOwnerAndStatus(Long id);
 
+    /**
+     * 按点赞表校正点赞数
+     *
+     * @return 被修正的行数
+     */
+    @Modifying
+    @Query(value = "update answers a left join (select target_id, count(*) as cnt from likes " +
+            "where target_type = 'answer' group by target_id) l on l.target_id = a.id " +
+            "set a.like_count = coalesce(l.cnt, 0) where a.like_count <> coalesce(l.cnt, 0)", nativeQuery = true)
+    int reconcileLikeCounts();
+
+    /**
+     * 尚未生成摘录、字数的内容，供回填任务按 id 分批读取
+     */
+    List<Answer> findByWordCountIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Modifying
+    @Query("update Answer a set a.excerpt = :excerpt, a.wordCount = :wordCount, a.readingTime = :readingTime where a.id = :id")
+    int updateContentMetrics(Long id, String excerpt, Integer wordCount, Integer readingTime);
+}
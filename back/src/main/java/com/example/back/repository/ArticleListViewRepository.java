@@ -0,0 +1,24 @@
+package com.example.back.repository;
+
+import com.example.back.entity.ArticleListView;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章列表视图仓库，只查询列表展示需要的列
+ */
+public interface ArticleListViewRepository extends JpaRepository<ArticleListView, Long>, JpaSpecificationExecutor<ArticleListView> {
+
+    /**
+     * 列表页按 id 批量加载，配合 {@link com.example.back.repository.support.IdPager} 使用；
+     * 作者信息由 {@link com.example.back.cache.AuthorCardCache} 按外键补齐，不关联 users
+     */
+    @EntityGraph(attributePaths = {"category", "tags"})
+    List<ArticleListView> findWithDetailsByIdIn(Collection<Long> ids);
+
+    List<ArticleListView> findTop5ByUser_IdOrderByCreatedAtDesc(Long userId);
+}
@@ -1,14 +1,15 @@
 package com.example.back.repository;
 
 import com.example.back.entity.Article;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,34 +29,80 @@ public interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpec
     @EntityGraph(attributePaths = {"user", "category", "tags"})
     Optional<Article> findBySlug(String slug);
 
-    @Override
-    @EntityGraph(attributePaths = {"user", "category", "tags"})
-    Page<Article> findAll(org.springframework.data.jpa.domain.Specification<Article> spec, Pageable pageable);
-
-    @EntityGraph(attributePaths = {"user"})
-    Page<Article> findByUser_IdIn(List<Long> userIds, Pageable pageable);
-
-    long countByUser_IdIn(List<Long> userIds);
-
-    long countByUser_Id(Long userId);
-
-    long countByUser_IdAndStatus(Long userId, Integer status);
-
-    List<Article> findTop5ByUser_IdOrderByCreatedAtDesc(Long userId);
-
-    @Query("select coalesce(sum(a.viewCount), 0) from Article a where a.user.id = :userId")
-    long sumViewCountByUser(Long userId);
-
-    @Query("select coalesce(sum(a.likeCount), 0) from Article a where a.user.id = :userId")
-    long sumLikeCountByUser(Long userId);
-
-    @Query("select coalesce(sum(a.commentCount), 0) from Article a where a.user.id = :userId")
-    long sumCommentCountByUser(Long userId);
-
-    @Query("select coalesce(sum(a.favoriteCount), 0) from Article a where a.user.id = :userId")
-    long sumFavoriteCountByUser(Long userId);
-
-    @Query("select function('date', a.createdAt), count(a) from Article a where a.user.id = :userId and a.createdAt between :start and :end group by function('date', a.createdAt) order by function('date', a.createdAt)")
-    List<Object[]> countDailyArticles(Long userId, LocalDateTime start, LocalDateTime end);
+    /**
+     * 用户文章汇总：总数、草稿数、浏览/点赞/收藏/评论总和，单行结果
+     */
+    @Query("select count(a), coalesce(sum(case when a.status = :draftStatus then 1 else 0 end), 0), " +
+            "coalesce(sum(a.viewCount), 0), coalesce(sum(a.likeCount), 0), " +
+            "coalesce(sum(a.favoriteCount), 0), coalesce(sum(a.commentCount), 0) " +
+            "from Article a where a.user.id = :userId")
+    List<Object[]> aggregateByUser(Long userId, Integer draftStatus);
+
+    List<Article> findByStatusAndIdGreaterThanOrderByIdAsc(Integer status, Long id, Pageable pageable);
+
+    /**
+     * 各分类下指定状态的文章数，见 {@link com.example.back.category.CategoryTree}
+     */
+    @Query("select a.category.id, count(a) from Article a where a.category is not null and a.status = :status group by a.category.id")
+    List<Object[]> countByCategory(Integer status);
+
+    @Query("select a.id, t.id from Article a join a.tags t where a.id in :ids")
+    List<Object[]> findTagIdPairs(Collection<Long> ids);
+
+    @Modifying
+    @Query("update Article a set a.viewCount = a.viewCount + :delta where a.id in :ids")
+    int increaseViewCount(Collection<Long> ids, int delta);
+
+    /**
+     * 拉取模式：读取大V作者在游标之前发布的文章
+     */
+    @Query("select a.id, a.user.id, coalesce(a.publishedAt, a.createdAt) from Article a " +
+            "where a.user.id in :userIds and a.status = 1 " +
+            "and (coalesce(a.publishedAt, a.createdAt) < :before or (coalesce(a.publishedAt, a.createdAt) = :before and a.id < :beforeId)) " +
+            "order by coalesce(a.publishedAt, a.createdAt) desc, a.id desc")
+    List<Object[]> findTimelineByAuthors(Collection<Long> userIds, LocalDateTime before, Long beforeId, Pageable pageable);
+
+    @Query("select count(a) from Article a where a.user.id in :userIds and a.status = 1")
+    long countTimelineByAuthors(Collection<Long> userIds);
+
+    @Modifying
+    @Query("update Article a set a.likeCount = case when a.likeCount + :delta < 0 then 0 else a.likeCount + :delta end where a.id = :id")
+    int addLikeCount(Long id, int delta);
+
+    @Modifying
+    @Query("update Article a set a.commentCount = case when a.commentCount + :delta < 0 then 0 else a.commentCount + :delta end where a.id = :id")
+    int addCommentCount(Long id, int delta);
+
+    @Modifying
+    @Query("update Article a set a.favoriteCount = case when a.favoriteCount + :delta < 0 then 0 else a.favoriteCount + :delta end where a.id = :id")
+    int addFavoriteCount(Long id, int delta);
+
+    @Query("select a.likeCount from Article a where a.id = :id")
+    Integer findLikeCount(Long id);
+
+    /**
+     * 只读取作者与状态，供 {@link com.example.back.cache.TargetResolver} 判断存在性与可见性
+     */
+    @Query("select a.user.id, a.status from Article a where a.id = :id")
+    List<Object[]> findOwnerAndStatus(Long id);
+
+    /**
+     * 按点赞表校正点赞数
+     *
+     * @return 被修正的行数
+     */
+    @Modifying
+    @Query(value = "update articles a left join (select target_id, count(*) as cnt from likes " +
+            "where target_type = 'article' group by target_id) l on l.target_id = a.id " +
+            "set a.like_count = coalesce(l.cnt, 0) where a.like_count <> coalesce(l.cnt, 0)", nativeQuery = true)
+    int reconcileLikeCounts();
+
+    /**
+     * 尚未生成摘录、字数的内容，供回填任务按 id 分批读取
+     */
+    List<Article> findByWordCountIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Modifying
+    @Query("update Article a set a.excerpt = :excerpt, a.wordCount = :wordCount, a.readingTime = :readingTime where a.id = :id")
+    int updateContentMetrics(Long id, String excerpt, Integer wordCount, Integer readingTime);
 }
-
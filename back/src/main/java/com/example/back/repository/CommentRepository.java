@@ -3,11 +3,15 @@ package com.example.back.repository;
 import com.example.back.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,22 +19,57 @@ import java.util.List;
  */
 public interface CommentRepository extends JpaRepository<Comment, Long>, JpaSpecificationExecutor<Comment> {
 
-    @EntityGraph(attributePaths = {"user"})
-    List<Comment> findByParentIdIn(List<Long> parentIds);
+    /**
+     * 每个楼层按时间取前 limit 条回复，同时返回楼层回复总数
+     *
+     * @return [id, root_id, total]
+     */
+    @Query(value = "select t.id, t.root_id, t.total from (" +
+            "select c.id, c.root_id, " +
+            "row_number() over (partition by c.root_id order by c.created_at, c.id) as rn, " +
+            "count(*) over (partition by c.root_id) as total " +
+            "from comments c where c.root_id in (:rootIds) and c.deleted_at is null) t " +
+            "where t.rn <= :limit", nativeQuery = true)
+    List<Object[]> findThreadHeads(Collection<Long> rootIds, int limit);
 
     Long countByParentId(Long parentId);
 
+    /**
+     * 为父评论楼层已确定的历史回复补齐 root_id 与 depth，逐层调用直到没有可更新的行；不改动 updated_at
+     */
+    @Modifying
+    @Query(value = "update comments c join comments p on p.id = c.parent_id " +
+            "set c.root_id = coalesce(p.root_id, p.id), c.depth = least(p.depth + 1, :maxDepth), c.updated_at = c.updated_at " +
+            "where c.root_id is null and (p.parent_id is null or p.root_id is not null)", nativeQuery = true)
+    int backfillThreadRoots(int maxDepth);
+
     List<Comment> findByTargetTypeAndTargetIdAndPinned(String targetType, Long targetId, Integer pinned);
 
     @EntityGraph(attributePaths = {"user"})
     Page<Comment> findByUser_Id(Long userId, Pageable pageable);
 
-    @Override
-    @EntityGraph(attributePaths = {"user"})
-    Page<Comment> findAll(Specification<Comment> spec, Pageable pageable);
+    /**
+     * 游标分页：按排序取前 limit 条，不执行 count
+     */
+    default List<Comment> findSlice(Specification<Comment> spec, Sort sort, int limit) {
+        return findBy(spec, query -> query.sortBy(sort).limit(limit).all());
+    }
 
-    @Override
-    @EntityGraph(attributePaths = {"user"})
-    List<Comment> findAllById(Iterable<Long> ids);
-}
+    @Modifying
+    @Query("update Comment c set c.likeCount = case when c.likeCount + :delta < 0 then 0 else c.likeCount + :delta end where c.id = :id")
+    int addLikeCount(Long id, int delta);
+
+    @Query("select c.likeCount from Comment c where c.id = :id")
+    Integer findLikeCount(Long id);
 
+    /**
+     * 按点赞表校正点赞数
+     *
+     * @return 被修正的行数
+     */
+    @Modifying
+    @Query(value = "update comments c left join (select target_id, count(*) as cnt from likes " +
+            "where target_type = 'comment' group by target_id) l on l.target_id = c.id " +
+            "set c.like_count = coalesce(l.cnt, 0) where c.like_count <> coalesce(l.cnt, 0)", nativeQuery = true)
+    int reconcileLikeCounts();
+}
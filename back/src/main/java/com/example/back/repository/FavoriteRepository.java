@@ -4,10 +4,14 @@ import com.example.back.entity.Favorite;
 import com.example.back.entity.FavoriteFolder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,10 +23,20 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long>, JpaSp
 
     Long countByFolder(FavoriteFolder folder);
 
+    @Query("select f.targetId from Favorite f where f.user.id = :userId and f.targetType = :targetType and f.targetId in :targetIds")
+    List<Long> findTargetIds(Long userId, String targetType, Collection<Long> targetIds);
+
     Page<Favorite> findByUser_IdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
     @Override
     @EntityGraph(attributePaths = {"folder"})
     Page<Favorite> findAll(org.springframework.data.jpa.domain.Specification<Favorite> spec, Pageable pageable);
+
+    /**
+     * 游标分页：按排序取前 limit 条，不执行 count
+     */
+    default List<Favorite> findSlice(org.springframework.data.jpa.domain.Specification<Favorite> spec, Sort sort, int limit) {
+        return findBy(spec, query -> query.sortBy(sort).limit(limit).project("folder").all());
+    }
 }
 
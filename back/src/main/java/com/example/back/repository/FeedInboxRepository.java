@@ -0,0 +1,87 @@
+package com.example.back.repository;
+
+import com.example.back.entity.FeedInbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 动态收件箱仓库
+ */
+public interface FeedInboxRepository extends JpaRepository<FeedInbox, Long> {
+
+    /**
+     * 按时间线倒序读取游标之后的条目
+     */
+    @Query("select f from FeedInbox f where f.userId = :userId and f.contentType in :contentTypes " +
+            "and (f.publishedAt < :publishedAt or (f.publishedAt = :publishedAt and f.contentId < :contentId)) " +
+            "order by f.publishedAt desc, f.contentId desc")
+    List<FeedInbox> findTimeline(Long userId, Collection<String> contentTypes,
+                                 LocalDateTime publishedAt, Long contentId, Pageable pageable);
+
+    long countByUserIdAndContentTypeIn(Long userId, Collection<String> contentTypes);
+
+    /**
+     * 发布时推送给作者的全部关注者
+     */
+    @Modifying
+    @Query(value = "insert ignore into feed_inbox (user_id, content_type, content_id, author_id, published_at, created_at) " +
+            "select f.follower_id, :contentType, :contentId, :authorId, :publishedAt, now() " +
+            "from follows f where f.following_id = :authorId", nativeQuery = true)
+    int fanOut(String contentType, Long contentId, Long authorId, LocalDateTime publishedAt);
+
+    /**
+     * 新关注时回填作者最近发布的文章
+     */
+    @Modifying
+    @Query(value = "insert ignore into feed_inbox (user_id, content_type, content_id, author_id, published_at, created_at) " +
+            "select :userId, 'article', a.id, a.user_id, coalesce(a.published_at, a.created_at), now() " +
+            "from articles a where a.user_id = :authorId and a.status = 1 and a.deleted_at is null " +
+            "order by a.id desc limit :limit", nativeQuery = true)
+    int backfillArticles(Long userId, Long authorId, int limit);
+
+    /**
+     * 新关注时回填作者最近发布的问题
+     */
+    @Modifying
+    @Query(value = "insert ignore into feed_inbox (user_id, content_type, content_id, author_id, published_at, created_at) " +
+            "select :userId, 'question', q.id, q.user_id, q.created_at, now() " +
+            "from questions q where q.user_id = :authorId and q.status = 1 and q.deleted_at is null " +
+            "order by q.id desc limit :limit", nativeQuery = true)
+    int backfillQuestions(Long userId, Long authorId, int limit);
+
+    /**
+     * 作者由拉取转为推送时，把最近发布的文章补推给全部关注者
+     */
+    @Modifying
+    @Query(value = "insert ignore into feed_inbox (user_id, content_type, content_id, author_id, published_at, created_at) " +
+            "select f.follower_id, 'article', a.id, a.user_id, coalesce(a.published_at, a.created_at), now() " +
+            "from follows f join (select id, user_id, published_at, created_at from articles " +
+            "where user_id = :authorId and status = 1 and deleted_at is null order by id desc limit :limit) a " +
+            "where f.following_id = :authorId", nativeQuery = true)
+    int backfillArticlesToFollowers(Long authorId, int limit);
+
+    /**
+     * 作者由拉取转为推送时，把最近发布的问题补推给全部关注者
+     */
+    @Modifying
+    @Query(value = "insert ignore into feed_inbox (user_id, content_type, content_id, author_id, published_at, created_at) " +
+            "select f.follower_id, 'question', q.id, q.user_id, q.created_at, now() " +
+            "from follows f join (select id, user_id, created_at from questions " +
+            "where user_id = :authorId and status = 1 and deleted_at is null order by id desc limit :limit) q " +
+            "where f.following_id = :authorId", nativeQuery = true)
+    int backfillQuestionsToFollowers(Long authorId, int limit);
+
+    @Modifying
+    @Query("delete from FeedInbox f where f.contentType = :contentType and f.contentId = :contentId")
+    int deleteByContent(String contentType, Long contentId);
+
+    @Modifying
+    @Query("delete from FeedInbox f where f.userId = :userId and f.authorId = :authorId")
+    int deleteByUserAndAuthor(Long userId, Long authorId);
+}
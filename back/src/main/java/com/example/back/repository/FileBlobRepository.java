@@ -0,0 +1,42 @@
+package com.example.back.repository;
+
+import com.example.back.entity.FileBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * 上传文件仓库
+ */
+public interface FileBlobRepository extends JpaRepository<FileBlob, Long> {
+
+    /**
+     * 增加一次引用，不存在时插入；同一哈希上与 {@link #lockRefCount} 互斥
+     */
+    @Modifying
+    @Query(value = "insert into file_blobs (hash, path, size, ref_count) values (:hash, :path, :size, 1) " +
+            "on duplicate key update ref_count = ref_count + 1", nativeQuery = true)
+    int retain(String hash, String path, long size);
+
+    @Modifying
+    @Query("update FileBlob b set b.refCount = b.refCount + 1 where b.hash = :hash")
+    int addReference(String hash);
+
+    @Modifying
+    @Query("update FileBlob b set b.refCount = case when b.refCount > 0 then b.refCount - 1 else 0 end where b.hash = :hash")
+    int release(String hash);
+
+    @Modifying
+    @Query("update FileBlob b set b.width = :width, b.height = :height where b.hash = :hash")
+    int updateDimensions(String hash, int width, int height);
+
+    /**
+     * 锁定记录并返回引用次数，记录不存在时返回 null；锁持有到事务结束
+     */
+    @Query(value = "select ref_count from file_blobs where hash = :hash for update", nativeQuery = true)
+    Integer lockRefCount(String hash);
+
+    @Modifying
+    @Query("delete from FileBlob b where b.hash = :hash and b.refCount = 0")
+    int deleteIfUnreferenced(String hash);
+}
@@ -4,17 +4,19 @@ import com.example.back.entity.Follow;
 import com.example.back.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * 关注关系仓库
  */
-public interface FollowRepository extends JpaRepository<Follow, Long> {
+public interface FollowRepository extends JpaRepository<Follow, Long>, JpaSpecificationExecutor<Follow> {
 
     boolean existsByFollowerAndFollowing(User follower, User following);
 
@@ -24,6 +26,13 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
 
     Page<Follow> findByFollowing(User following, Pageable pageable);
 
+    /**
+     * 游标分页：按排序取前 limit 条，不执行 count
+     */
+    default List<Follow> findSlice(Specification<Follow> spec, Sort sort, int limit) {
+        return findBy(spec, query -> query.sortBy(sort).limit(limit).project("follower", "following").all());
+    }
+
     long countByFollower(User follower);
 
     long countByFollowing(User following);
@@ -42,7 +51,6 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
 
     long countByFollowing_Id(Long userId);
 
-    @Query("select function('date', f.createdAt), count(f) from Follow f where f.following.id = :userId and f.createdAt between :start and :end group by function('date', f.createdAt) order by function('date', f.createdAt)")
-    List<Object[]> countDailyFollowers(Long userId, LocalDateTime start, LocalDateTime end);
+    @Query("select f.following.id from Follow f group by f.following.id having count(f) > :threshold")
+    List<Long> findUserIdsWithFollowersOver(long threshold);
 }
-
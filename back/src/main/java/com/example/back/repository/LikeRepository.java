@@ -4,7 +4,10 @@ import com.example.back.entity.Like;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,9 +20,30 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
 
     List<Like> findByUser_IdAndTargetTypeAndTargetIdIn(Long userId, String targetType, List<Long> targetIds);
 
-    Long countByTargetTypeAndTargetId(String targetType, Long targetId);
-
-    void deleteByUser_IdAndTargetTypeAndTargetId(Long userId, String targetType, Long targetId);
+    @Query("select l.targetId from Like l where l.user.id = :userId and l.targetType = :targetType and l.targetId in :targetIds")
+    List<Long> findTargetIds(Long userId, String targetType, Collection<Long> targetIds);
+
+    /**
+     * 视频没有计数列，点赞数按点赞关系统计
+     */
+    long countByTargetTypeAndTargetId(String targetType, Long targetId);
+
+    /**
+     * 不存在时插入点赞记录，由 uk_likes_target_user 唯一键保证重复点赞不生效
+     *
+     * @return 实际插入的行数，0 表示此前已点赞
+     */
+    @Modifying
+    @Query(value = "insert ignore into likes (target_type, target_id, user_id, created_at) " +
+            "values (:targetType, :targetId, :userId, now())", nativeQuery = true)
+    int insertIfAbsent(Long userId, String targetType, Long targetId);
+
+    /**
+     * @return 实际删除的行数，0 表示此前未点赞
+     */
+    @Modifying
+    @Query("delete from Like l where l.user.id = :userId and l.targetType = :targetType and l.targetId = :targetId")
+    int deleteByUserAndTarget(Long userId, String targetType, Long targetId);
 
     Page<Like> findByUser_IdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 }
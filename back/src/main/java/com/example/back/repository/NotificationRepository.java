@@ -2,10 +2,8 @@ package com.example.back.repository;
 
 import com.example.back.entity.Notification;
 import com.example.back.entity.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
@@ -20,7 +18,11 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     List<Notification> findByUserAndReadIsFalse(User user);
 
-    @EntityGraph(attributePaths = {"sender"})
-    Page<Notification> findAll(Specification<Notification> spec, Pageable pageable);
+    /**
+     * 游标分页：按排序取前 limit 条，不执行 count
+     */
+    default List<Notification> findSlice(Specification<Notification> spec, Sort sort, int limit) {
+        return findBy(spec, query -> query.sortBy(sort).limit(limit).all());
+    }
 }
 
@@ -4,7 +4,10 @@ import com.example.back.entity.Question;
 import com.example.back.entity.QuestionFollow;
 import com.example.back.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,6 +20,8 @@ public interface QuestionFollowRepository extends JpaRepository<QuestionFollow,
     boolean existsByQuestionAndUser(Question question, User user);
 
     Long countByQuestion(Question question);
-    
+
+    @Query("select f.question.id from QuestionFollow f where f.user.id = :userId and f.question.id in :questionIds")
+    List<Long> findQuestionIds(Long userId, Collection<Long> questionIds);
 }
 
@@ -1,14 +1,15 @@
 package com.example.back.repository;
 
 import com.example.back.entity.Question;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,33 +18,64 @@ import java.util.Optional;
  */
 public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSpecificationExecutor<Question> {
 
-    @Override
-    @EntityGraph(attributePaths = {"user"})
-    List<Question> findAllById(Iterable<Long> ids);
-
-    @Override
-    @EntityGraph(attributePaths = {"user", "relatedArticle", "relatedArticle.user", "tags"})
-    Page<Question> findAll(org.springframework.data.jpa.domain.Specification<Question> spec, Pageable pageable);
+    /**
+     * 列表页按 id 批量加载，配合 {@link com.example.back.repository.support.IdPager} 使用；
+     * 作者信息由 {@link com.example.back.cache.AuthorCardCache} 按外键补齐，不关联 users
+     */
+    @EntityGraph(attributePaths = {"tags"})
+    List<Question> findWithDetailsByIdIn(Collection<Long> ids);
 
     @Override
     @EntityGraph(attributePaths = {"user", "relatedArticle", "relatedArticle.user", "tags", "bestAnswer"})
     Optional<Question> findById(Long id);
 
-    @EntityGraph(attributePaths = {"user"})
-    Page<Question> findByUser_IdIn(List<Long> userIds, Pageable pageable);
+    List<Question> findTop5ByUser_IdOrderByCreatedAtDesc(Long userId);
 
-    long countByUser_IdIn(List<Long> userIds);
+    List<Question> findTop5ByUser_IdAndAnswerCountOrderByCreatedAtAsc(Long userId, Integer answerCount);
 
-    long countByUser_Id(Long userId);
+    /**
+     * 用户问题汇总：总数、浏览总和，单行结果
+     */
+    @Query("select count(q), coalesce(sum(q.viewCount), 0) from Question q where q.user.id = :userId")
+    List<Object[]> aggregateByUser(Long userId);
 
-    List<Question> findTop5ByUser_IdOrderByCreatedAtDesc(Long userId);
+    List<Question> findByStatusAndIdGreaterThanOrderByIdAsc(Integer status, Long id, Pageable pageable);
 
-    List<Question> findTop5ByUser_IdAndAnswerCountOrderByCreatedAtAsc(Long userId, Integer answerCount);
+    @Query("select q.id, t.id from Question q join q.tags t where q.id in :ids")
+    List<Object[]> findTagIdPairs(Collection<Long> ids);
 
-    @Query("select coalesce(sum(q.viewCount), 0) from Question q where q.user.id = :userId")
-    long sumViewCountByUser(Long userId);
+    @Modifying
+    @Query("update Question q set q.viewCount = q.viewCount + :delta where q.id in :ids")
+    int increaseViewCount(Collection<Long> ids, int delta);
 
-    @Query("select function('date', q.createdAt), count(q) from Question q where q.user.id = :userId and q.createdAt between :start and :end group by function('date', q.createdAt) order by function('date', q.createdAt)")
-    List<Object[]> countDailyQuestions(Long userId, LocalDateTime start, LocalDateTime end);
-}
+    @Modifying
+    @Query("update Question q set q.followCount = case when q.followCount + :delta < 0 then 0 else q.followCount + :delta end where q.id = :id")
+    int addFollowCount(Long id, int delta);
+
+    /**
+     * 只读取作者与状态，供 {@link com.example.back.cache.TargetResolver} 判断存在性与可见性
+     */
+    @Query("select q.user.id, q.status from Question q where q.id = :id")
+    List<Object[]> findOwnerAndStatus(Long id);
+
+    /**
+     * 拉取模式：读取大V作者在游标之前发布的问题
+     */
+    @Query("select q.id, q.user.id, q.createdAt from Question q " +
+            "where q.user.id in :userIds and q.status = 1 " +
+            "and (q.createdAt < :before or (q.createdAt = :before and q.id < :beforeId)) " +
+            "order by q.createdAt desc, q.id desc")
+    List<Object[]> findTimelineByAuthors(Collection<Long> userIds, LocalDateTime before, Long beforeId, Pageable pageable);
 
+    @Query("select count(q) from Question q where q.user.id in :userIds and q.status = 1")
+    long countTimelineByAuthors(Collection<Long> userIds);
+
+    /**
+     * 尚未生成摘录、字数的内容，供回填任务按 id 分批读取
+     */
+    List<Question> findByWordCountIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Modifying
+    @Query("update Question q set q.excerpt = :excerpt, q.wordCount = :wordCount, q.readingTime = :readingTime where q.id = :id")
+    int updateContentMetrics(Long id, String excerpt, Integer wordCount, Integer readingTime);
+}
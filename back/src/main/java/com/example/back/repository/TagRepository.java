@@ -1,8 +1,15 @@
 package com.example.back.repository;
 
 import com.example.back.entity.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +20,24 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
 
     Optional<Tag> findByName(String name);
 
+    /**
+     * 发布文章、问题时按名称解析标签，结果进入查询缓存，tags 表有写入后失效
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Tag> findByNameIn(List<String> names);
-}
 
+    /**
+     * 标签索引构建用：id、名称、使用次数
+     */
+    @Query(value = "select t.id, t.name, t.use_count from tags t where t.deleted_at is null", nativeQuery = true)
+    List<Object[]> findNamesAndUseCounts();
+
+    /**
+     * 按增量更新使用次数。声明独立的查询空间，执行后不清空 tag 实体缓存，
+     * 也不使 {@link #findByNameIn} 等 tags 表上的缓存查询失效
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag_use_count"))
+    @Query(value = "update tags set use_count = greatest(use_count + :delta, 0) where id in (:ids)", nativeQuery = true)
+    int addUseCount(Collection<Long> ids, int delta);
+}
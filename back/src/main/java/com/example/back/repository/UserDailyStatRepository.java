@@ -0,0 +1,52 @@
+package com.example.back.repository;
+
+import com.example.back.entity.UserDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 用户每日统计仓库
+ */
+public interface UserDailyStatRepository extends JpaRepository<UserDailyStat, Long> {
+
+    @Query("select s from UserDailyStat s where s.userId = :userId and s.statDate between :start and :end")
+    List<UserDailyStat> findRange(Long userId, LocalDate start, LocalDate end);
+
+    /**
+     * 累加当日指标，不存在时插入；结果不小于 0
+     */
+    @Modifying
+    @Query(value = "insert into user_daily_stats (user_id, stat_date, metric, stat_value) " +
+            "values (:userId, :statDate, :metric, greatest(:delta, 0)) " +
+            "on duplicate key update stat_value = greatest(stat_value + :delta, 0)", nativeQuery = true)
+    int increment(Long userId, LocalDate statDate, String metric, long delta);
+
+    @Modifying
+    @Query(value = "delete from user_daily_stats where stat_date >= :from", nativeQuery = true)
+    int deleteFrom(LocalDate from);
+
+    /**
+     * 按内容与关注关系重新汇总 from 之后的数据，调用前需先删除同一范围；
+     * 已存在的行以汇总结果覆盖，多个节点同时执行时不会因唯一键冲突失败
+     */
+    @Modifying
+    @Query(value = "insert into user_daily_stats (user_id, stat_date, metric, stat_value) " +
+            "select user_id, stat_date, metric, stat_value from (" +
+            "select user_id, date(created_at) stat_date, 'article' metric, count(*) stat_value from articles " +
+            "where deleted_at is null and created_at >= :from group by user_id, date(created_at) " +
+            "union all " +
+            "select user_id, date(created_at), 'question', count(*) from questions " +
+            "where deleted_at is null and created_at >= :from group by user_id, date(created_at) " +
+            "union all " +
+            "select user_id, date(created_at), 'answer', count(*) from answers " +
+            "where deleted_at is null and created_at >= :from group by user_id, date(created_at) " +
+            "union all " +
+            "select following_id, date(created_at), 'follower', count(*) from follows " +
+            "where created_at >= :from group by following_id, date(created_at)" +
+            ") s on duplicate key update stat_value = values(stat_value)", nativeQuery = true)
+    int rebuildFrom(LocalDate from);
+}
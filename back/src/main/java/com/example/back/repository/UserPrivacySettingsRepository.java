@@ -1,7 +1,10 @@
 package com.example.back.repository;
 
 import com.example.back.entity.UserPrivacySettings;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
@@ -10,6 +13,7 @@ import java.util.Optional;
  */
 public interface UserPrivacySettingsRepository extends JpaRepository<UserPrivacySettings, Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<UserPrivacySettings> findByUserId(Long userId);
 }
 
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,18 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
 
     Optional<User> findByUsername(String username);
 
+    /**
+     * 只读取当前用户快照需要的列，见 {@link com.example.back.context.CurrentUserResolver}
+     */
+    @Query("select u.id, u.status, u.role, u.nickname, u.avatar from User u where u.id = :id")
+    List<Object[]> findSnapshot(Long id);
+
+    /**
+     * 批量读取作者卡片需要的列，见 {@link com.example.back.cache.AuthorCardCache}
+     */
+    @Query("select u.id, u.nickname, u.avatar from User u where u.id in :ids")
+    List<Object[]> findAuthorCards(Collection<? extends Long> ids);
+
     @Query("select function('date', u.createdAt), count(u) from User u where u.createdAt between :start and :end group by function('date', u.createdAt) order by function('date', u.createdAt)")
     List<Object[]> countDailyUsers(LocalDateTime start, LocalDateTime end);
 }
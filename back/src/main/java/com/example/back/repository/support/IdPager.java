@@ -0,0 +1,108 @@
+package com.example.back.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 两阶段分页
+ * <p>
+ * 带集合关联（如 tags）的 fetch 查询无法在 SQL 中分页，Hibernate 会取回全部结果后在内存中截取。
+ * 这里先按条件与排序在 SQL 中分页只查 id，再由仓库按 id 批量加载本页实体及其关联。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class IdPager {
+
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    /**
+     * 按页码分页查询 id，最后一页不足一页时不执行 count
+     */
+    public <T> Page<Long> findIds(Class<T> domainClass, Specification<T> spec, Pageable pageable) {
+        int offset = pageable.isPaged() ? Math.toIntExact(pageable.getOffset()) : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<Long> ids = queryIds(domainClass, spec, pageable.getSort(), offset, limit);
+        return PageableExecutionUtils.getPage(ids, pageable, () -> count(domainClass, spec));
+    }
+
+    /**
+     * 游标分页：按排序取前 limit 个 id
+     */
+    public <T> List<Long> findIds(Class<T> domainClass, Specification<T> spec, Sort sort, int limit) {
+        return queryIds(domainClass, spec, sort, 0, limit);
+    }
+
+    /**
+     * 按 id 批量加载并保持 id 的顺序，已不存在的记录跳过
+     */
+    public static <T> List<T> load(List<Long> ids, Function<Collection<Long>, List<T>> loader, Function<T, Long> idGetter) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, T> rows = new HashMap<>();
+        loader.apply(ids).forEach(row -> rows.put(idGetter.apply(row), row));
+        return ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private <T> List<Long> queryIds(Class<T> domainClass, Specification<T> spec, Sort sort, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        // DISTINCT 查询要求排序列出现在 select 中
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(ID));
+        query.getOrderList().forEach(order -> selections.add(order.getExpression()));
+        query.multiselect(selections);
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> tuple.get(0, Long.class))
+                .toList();
+    }
+
+    private <T> long count(Class<T> domainClass, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        query.orderBy(Collections.emptyList());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
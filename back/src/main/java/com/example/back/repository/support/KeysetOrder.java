@@ -0,0 +1,88 @@
+package com.example.back.repository.support;
+
+import com.example.back.common.PageCursor;
+import com.example.back.exception.ValidationException;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * 游标分页排序
+ * <p>
+ * 按（排序键, id）排序，下一页条件为“排在游标之后”，可直接走（排序键, id）联合索引，
+ * 不依赖 offset 与 count。
+ *
+ * @param attribute 排序键属性，支持时间与整数类型
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record KeysetOrder(String attribute, Sort.Direction direction) {
+
+    private static final String ID = "id";
+
+    public static KeysetOrder desc(String attribute) {
+        return new KeysetOrder(attribute, Sort.Direction.DESC);
+    }
+
+    public static KeysetOrder asc(String attribute) {
+        return new KeysetOrder(attribute, Sort.Direction.ASC);
+    }
+
+    public Sort toSort() {
+        return Sort.by(new Sort.Order(direction, attribute), new Sort.Order(direction, ID));
+    }
+
+    /**
+     * 排在游标之后的记录，游标为空时不加条件
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> Specification<T> after(PageCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            Path<Comparable> key = root.get(attribute);
+            Comparable value = keyValue(key.getJavaType(), cursor);
+            Expression<Long> id = root.get(ID);
+            Predicate beyondKey = direction.isDescending() ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+            Predicate beyondId = direction.isDescending() ? cb.lessThan(id, cursor.getId()) : cb.greaterThan(id, cursor.getId());
+            return cb.or(beyondKey, cb.and(cb.equal(key, value), beyondId));
+        };
+    }
+
+    /**
+     * 记录在该排序下的游标位置
+     */
+    public PageCursor positionOf(Object entity) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        Object key = wrapper.getPropertyValue(attribute);
+        Long id = (Long) wrapper.getPropertyValue(ID);
+        if (key instanceof LocalDateTime time) {
+            return PageCursor.of(time, id);
+        }
+        return PageCursor.of((Number) key, id);
+    }
+
+    private Comparable<?> keyValue(Class<?> type, PageCursor cursor) {
+        if (LocalDateTime.class.equals(type)) {
+            return cursor.keyAsTime();
+        }
+        if (Integer.class.equals(type) || int.class.equals(type)) {
+            long key = cursor.getKey();
+            if (key < Integer.MIN_VALUE || key > Integer.MAX_VALUE) {
+                throw new ValidationException("无效的分页游标");
+            }
+            return (int) key;
+        }
+        if (Long.class.equals(type) || long.class.equals(type)) {
+            return cursor.getKey();
+        }
+        throw new IllegalArgumentException("不支持的游标排序字段: " + attribute);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.back.repository.support;
+
+import com.example.back.common.PageCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页的一页数据
+ *
+ * @param nextCursor 下一页游标，没有更多数据时为 null
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record KeysetSlice<T>(List<T> content, String nextCursor) {
+
+    /**
+     * 由多取一条的查询结果构造：多出的一条只用于判断是否还有下一页
+     *
+     * @param rows     按 {@link KeysetOrder} 查询的 size + 1 条记录
+     * @param position 记录对应的游标位置
+     */
+    public static <T> KeysetSlice<T> of(List<T> rows, int size, Function<T, PageCursor> position) {
+        if (rows.size() <= size) {
+            return new KeysetSlice<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new KeysetSlice<>(content, position.apply(content.get(size - 1)).encode());
+    }
+}
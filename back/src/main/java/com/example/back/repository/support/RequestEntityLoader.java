@@ -0,0 +1,165 @@
+package com.example.back.repository.support;
+
+import com.example.back.entity.Answer;
+import com.example.back.entity.Article;
+import com.example.back.entity.Comment;
+import com.example.back.entity.Question;
+import com.example.back.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 请求内按 id 合并加载实体
+ * <p>
+ * 同一请求中对 User、Article、Question、Answer、Comment 的按 id 查找先记入待加载集合，
+ * 取值时把同类型的待加载 id 合并为一条 {@code id in (...)} 查询，结果在本次请求内复用。
+ * 映射懒加载关联前先用 {@link #prime} 或 {@link #findAll} 按外键 id 批量加载，
+ * 持久化上下文中的代理随之可直接取值，避免逐行查询。
+ * <p>
+ * 实体在请求内复用依赖 open-in-view（默认开启）保持同一个持久化上下文；
+ * 非请求线程（定时任务、后台构建）中不做跨调用复用，仍会合并单次调用内的 id。
+ * 计数指标：request_loader_lookups（查找次数）、request_loader_queries（实际查询数）、
+ * request_loader_coalesced（被合并或复用而未单独查询的查找次数），均按 type 区分。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestEntityLoader {
+
+    private static final Set<Class<?>> SUPPORTED_TYPES = Set.of(User.class, Article.class, Question.class, Answer.class, Comment.class);
+    private static final String MEMO_ATTRIBUTE = RequestEntityLoader.class.getName() + ".memo";
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final Object MISSING = new Object();
+
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 登记之后会用到的 id，下一次取同类型实体时一并加载
+     */
+    public <T> void prime(Class<T> type, Collection<Long> ids) {
+        checkSupported(type);
+        enqueue(currentMemo(), type, ids);
+    }
+
+    public <T> Optional<T> find(Class<T> type, Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(findAll(type, List.of(id)).get(id));
+    }
+
+    /**
+     * 按 id 批量取实体，返回顺序与 ids 一致，不存在的 id 不出现在结果中
+     */
+    public <T> Map<Long, T> findAll(Class<T> type, Collection<Long> ids) {
+        checkSupported(type);
+        Memo memo = currentMemo();
+        enqueue(memo, type, ids);
+        Map<Long, Object> loaded = memo.loaded(type);
+        Set<Long> pending = memo.pending(type);
+        int queries = 0;
+        if (!pending.isEmpty()) {
+            List<Long> batch = new ArrayList<>(pending);
+            pending.clear();
+            for (int from = 0; from < batch.size(); from += MAX_BATCH_SIZE) {
+                List<Long> chunk = batch.subList(from, Math.min(from + MAX_BATCH_SIZE, batch.size()));
+                query(type, chunk).forEach(entity -> loaded.put(idOf(entity), entity));
+                chunk.forEach(id -> loaded.putIfAbsent(id, MISSING));
+                queries++;
+            }
+        }
+        record(type, ids.size(), queries);
+
+        Map<Long, T> result = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Object entity = id == null ? null : loaded.get(id);
+            if (entity != null && entity != MISSING) {
+                result.put(id, type.cast(entity));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按外键 id 批量加载关联实体，供映射懒加载关联前调用
+     */
+    public <S, T> Map<Long, T> findAll(Class<T> type, Collection<S> sources, Function<S, Long> idGetter) {
+        return findAll(type, sources.stream().map(idGetter).filter(Objects::nonNull).distinct().toList());
+    }
+
+    private void enqueue(Memo memo, Class<?> type, Collection<Long> ids) {
+        Map<Long, Object> loaded = memo.loaded(type);
+        Set<Long> pending = memo.pending(type);
+        ids.stream()
+                .filter(Objects::nonNull)
+                .filter(id -> !loaded.containsKey(id))
+                .forEach(pending::add);
+    }
+
+    private <T> List<T> query(Class<T> type, List<Long> ids) {
+        String entityName = entityManager.getMetamodel().entity(type).getName();
+        return entityManager.createQuery("select e from " + entityName + " e where e.id in :ids", type)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private Long idOf(Object entity) {
+        return (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    private void record(Class<?> type, int lookups, int queries) {
+        if (lookups == 0) {
+            return;
+        }
+        String tag = type.getSimpleName();
+        meterRegistry.counter("request_loader_lookups", "type", tag).increment(lookups);
+        if (queries > 0) {
+            meterRegistry.counter("request_loader_queries", "type", tag).increment(queries);
+        }
+        if (lookups > queries) {
+            meterRegistry.counter("request_loader_coalesced", "type", tag).increment(lookups - queries);
+        }
+    }
+
+    private void checkSupported(Class<?> type) {
+        if (!SUPPORTED_TYPES.contains(type)) {
+            throw new IllegalArgumentException("不支持批量加载的实体类型: " + type.getName());
+        }
+    }
+
+    private Memo currentMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new Memo();
+        }
+        Object memo = attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new Memo();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Memo) memo;
+    }
+
+    private static final class Memo {
+        private final Map<Class<?>, Map<Long, Object>> loaded = new HashMap<>();
+        private final Map<Class<?>, Set<Long>> pending = new HashMap<>();
+
+        Map<Long, Object> loaded(Class<?> type) {
+            return loaded.computeIfAbsent(type, key -> new HashMap<>());
+        }
+
+        Set<Long> pending(Class<?> type) {
+            return pending.computeIfAbsent(type, key -> new LinkedHashSet<>());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.back.repository.support;
+
+import com.example.back.entity.Tag;
+import jakarta.persistence.criteria.*;
+
+/**
+ * 按标签筛选
+ * <p>
+ * 使用 id in 子查询代替 join + distinct，主查询不会因多个标签产生重复行。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+public final class TagFilter {
+
+    private TagFilter() {
+    }
+
+    /**
+     * @param root 实体需有名为 tags 的多对多关联
+     */
+    public static <T> Predicate hasTag(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb, Long tagId) {
+        Subquery<Long> tagged = query.subquery(Long.class);
+        Root<T> tagRoot = tagged.from(root.getModel().getJavaType());
+        Join<T, Tag> tagJoin = tagRoot.join("tags");
+        tagged.select(tagRoot.get("id")).where(cb.equal(tagJoin.get("id"), tagId));
+        return root.get("id").in(tagged);
+    }
+}
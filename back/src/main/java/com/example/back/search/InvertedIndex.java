@@ -0,0 +1,173 @@
+package com.example.back.search;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 单一内容类型的内存倒排索引
+ * <p>
+ * 词项 -> (文档ID -> 词频)。标题词频按权重放大；排序支持 BM25 相关度与发布时间。
+ * 读多写少，使用读写锁保护。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final Comparator<ScoredDocument> BY_SCORE = Comparator
+            .comparingDouble(ScoredDocument::score)
+            .thenComparing(scored -> scored.document().createdAt(), Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(scored -> scored.document().id());
+
+    private static final Comparator<ScoredDocument> BY_TIME = Comparator
+            .comparing((ScoredDocument scored) -> scored.document().createdAt(), Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(scored -> scored.document().id());
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    void put(SearchDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        TextTokenizer.tokenize(document.title()).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        TextTokenizer.tokenize(document.body()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.id());
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(document.id(), frequency));
+            // 只保留排序与过滤所需字段，标题与正文分词后即丢弃
+            documents.put(document.id(), new IndexedDocument(document.id(), document.authorId(), document.categoryId(),
+                    document.tagIds(), document.createdAt(), frequencies.keySet().toArray(new String[0]), length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    SearchHits search(SearchQuery query) {
+        List<String> terms = TextTokenizer.queryTerms(query.keyword());
+        if (terms.isEmpty() || query.limit() <= 0) {
+            return SearchHits.empty();
+        }
+        boolean byTime = "latest".equals(query.sort());
+        Comparator<ScoredDocument> order = byTime ? BY_TIME : BY_SCORE;
+        int capacity = query.offset() + query.limit();
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    return SearchHits.empty();
+                }
+                lists.add(list);
+            }
+            // 从最短的倒排链开始求交集
+            lists.sort(Comparator.comparingInt(Map::size));
+            double averageLength = documents.isEmpty() ? 1 : (double) totalLength / documents.size();
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                double df = lists.get(i).size();
+                idf[i] = Math.log(1 + (documents.size() - df + 0.5) / (df + 0.5));
+            }
+
+            // 小顶堆保留前 offset + limit 个结果
+            PriorityQueue<ScoredDocument> heap = new PriorityQueue<>(capacity + 1, order);
+            long total = 0;
+            for (Map.Entry<Long, Integer> entry : lists.get(0).entrySet()) {
+                IndexedDocument indexed = documents.get(entry.getKey());
+                if (indexed == null || !query.matches(indexed.authorId(), indexed.categoryId(), indexed.tagIds())) {
+                    continue;
+                }
+                double score = 0;
+                boolean matched = true;
+                for (int i = 0; i < lists.size(); i++) {
+                    Integer frequency = i == 0 ? entry.getValue() : lists.get(i).get(entry.getKey());
+                    if (frequency == null) {
+                        matched = false;
+                        break;
+                    }
+                    if (!byTime) {
+                        double norm = K1 * (1 - B + B * indexed.length() / averageLength);
+                        score += idf[i] * frequency * (K1 + 1) / (frequency + norm);
+                    }
+                }
+                if (!matched) {
+                    continue;
+                }
+                total++;
+                heap.offer(new ScoredDocument(indexed, score));
+                if (heap.size() > capacity) {
+                    heap.poll();
+                }
+            }
+
+            List<ScoredDocument> ranked = new ArrayList<>(heap);
+            ranked.sort(order.reversed());
+            List<Long> ids = ranked.stream()
+                    .skip(query.offset())
+                    .map(scored -> scored.document().id())
+                    .toList();
+            return new SearchHits(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(Long id) {
+        IndexedDocument previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= previous.length();
+    }
+
+    private record IndexedDocument(Long id,
+                                   Long authorId,
+                                   Long categoryId,
+                                   Set<Long> tagIds,
+                                   LocalDateTime createdAt,
+                                   String[] terms,
+                                   int length) {
+    }
+
+    private record ScoredDocument(IndexedDocument document, double score) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.back.search;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 待索引的文档；标题与正文只用于分词，索引中不保留
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record SearchDocument(Long id,
+                             Long authorId,
+                             Long categoryId,
+                             Set<Long> tagIds,
+                             LocalDateTime createdAt,
+                             String title,
+                             String body) {
+}
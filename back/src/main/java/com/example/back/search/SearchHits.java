@@ -0,0 +1,17 @@
+package com.example.back.search;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 检索结果：当前页文档ID（已排序）与命中总数
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record SearchHits(List<Long> ids, long total) {
+
+    public static SearchHits empty() {
+        return new SearchHits(Collections.emptyList(), 0L);
+    }
+}
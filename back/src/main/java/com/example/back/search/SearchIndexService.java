@@ -0,0 +1,217 @@
+package com.example.back.search;
+
+import com.example.back.common.Constants;
+import com.example.back.entity.Article;
+import com.example.back.entity.Question;
+import com.example.back.entity.Tag;
+import com.example.back.repository.ArticleRepository;
+import com.example.back.repository.QuestionRepository;
+import com.example.back.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 全文检索索引服务
+ * <p>
+ * 启动后在后台线程从数据库全量构建文章、问题索引；之后由文章、问题服务在写事务提交后增量维护。
+ * 只索引已发布且未删除的内容，构建完成前 {@link #isReady()} 返回 false，调用方应回退到数据库查询。
+ * 重建时写入新的索引实例，期间提交的增量变更先缓冲，新索引换上后按提交顺序重放，
+ * 避免批量读取之后才删除或撤回的内容被重建写回索引。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+
+    private static final int BUILD_BATCH_SIZE = 500;
+
+    private final ArticleRepository articleRepository;
+    private final QuestionRepository questionRepository;
+
+    private final Object updateLock = new Object();
+    private volatile InvertedIndex articleIndex = new InvertedIndex();
+    private volatile InvertedIndex questionIndex = new InvertedIndex();
+    private volatile boolean ready;
+    /**
+     * 重建期间缓冲的增量变更，非重建期间为 null；由 updateLock 保护
+     */
+    private List<Runnable> pendingUpdates;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(this::rebuild, "search-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * 全量重建索引
+     */
+    public void rebuild() {
+        ready = false;
+        long start = System.currentTimeMillis();
+        synchronized (updateLock) {
+            pendingUpdates = new ArrayList<>();
+        }
+        InvertedIndex articles = new InvertedIndex();
+        InvertedIndex questions = new InvertedIndex();
+        boolean built = false;
+        try {
+            loadAll(lastId -> articleRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                            Constants.STATUS_PUBLISHED, lastId, PageRequest.of(0, BUILD_BATCH_SIZE)),
+                    Article::getId, articleRepository::findTagIdPairs,
+                    (article, tagIds) -> articles.put(toDocument(article, tagIds)));
+            loadAll(lastId -> questionRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                            Constants.STATUS_PUBLISHED, lastId, PageRequest.of(0, BUILD_BATCH_SIZE)),
+                    Question::getId, questionRepository::findTagIdPairs,
+                    (question, tagIds) -> questions.put(toDocument(question, tagIds)));
+            built = true;
+        } catch (RuntimeException ex) {
+            log.error("搜索索引构建失败，搜索将回退到数据库查询", ex);
+        } finally {
+            synchronized (updateLock) {
+                if (built) {
+                    articleIndex = articles;
+                    questionIndex = questions;
+                }
+                pendingUpdates.forEach(Runnable::run);
+                pendingUpdates = null;
+            }
+        }
+        if (built) {
+            ready = true;
+            log.info("搜索索引构建完成: 文章{}篇, 问题{}个, 耗时{}ms",
+                    articles.size(), questions.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public SearchHits searchArticles(SearchQuery query) {
+        return articleIndex.search(query);
+    }
+
+    public SearchHits searchQuestions(SearchQuery query) {
+        return questionIndex.search(query);
+    }
+
+    /**
+     * 文章写入后同步索引：已发布则（重新）索引，否则移出索引
+     */
+    public void indexArticle(Article article) {
+        TransactionHooks.afterCommit(() -> {
+            if (article.getDeletedAt() == null && Integer.valueOf(Constants.STATUS_PUBLISHED).equals(article.getStatus())) {
+                SearchDocument document = toDocument(article, tagIds(article.getTags()));
+                applyUpdate(() -> articleIndex.put(document));
+            } else {
+                applyUpdate(() -> articleIndex.remove(article.getId()));
+            }
+        });
+    }
+
+    public void removeArticle(Long articleId) {
+        TransactionHooks.afterCommit(() -> applyUpdate(() -> articleIndex.remove(articleId)));
+    }
+
+    public void indexQuestion(Question question) {
+        TransactionHooks.afterCommit(() -> {
+            if (question.getDeletedAt() == null && Integer.valueOf(Constants.STATUS_PUBLISHED).equals(question.getStatus())) {
+                SearchDocument document = toDocument(question, tagIds(question.getTags()));
+                applyUpdate(() -> questionIndex.put(document));
+            } else {
+                applyUpdate(() -> questionIndex.remove(question.getId()));
+            }
+        });
+    }
+
+    public void removeQuestion(Long questionId) {
+        TransactionHooks.afterCommit(() -> applyUpdate(() -> questionIndex.remove(questionId)));
+    }
+
+    /**
+     * 变更执行时才读取当前索引实例，重建期间缓冲的变更因此作用于新索引
+     */
+    private void applyUpdate(Runnable update) {
+        synchronized (updateLock) {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+                return;
+            }
+            update.run();
+        }
+    }
+
+    private <T> void loadAll(Function<Long, List<T>> batchLoader,
+                             Function<T, Long> idGetter,
+                             Function<Collection<Long>, List<Object[]>> tagLoader,
+                             BiConsumer<T, Set<Long>> consumer) {
+        long lastId = 0L;
+        while (true) {
+            List<T> batch = batchLoader.apply(lastId);
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Long> ids = batch.stream().map(idGetter).collect(Collectors.toList());
+            Map<Long, Set<Long>> tagMap = new HashMap<>();
+            for (Object[] row : tagLoader.apply(ids)) {
+                tagMap.computeIfAbsent((Long) row[0], key -> new HashSet<>()).add((Long) row[1]);
+            }
+            for (T item : batch) {
+                consumer.accept(item, tagMap.getOrDefault(idGetter.apply(item), Collections.emptySet()));
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private SearchDocument toDocument(Article article, Set<Long> tagIds) {
+        return new SearchDocument(
+                article.getId(),
+                article.getUser().getId(),
+                article.getCategory() == null ? null : article.getCategory().getId(),
+                tagIds,
+                article.getCreatedAt(),
+                article.getTitle(),
+                joinText(article.getSummary(), article.getContent())
+        );
+    }
+
+    private SearchDocument toDocument(Question question, Set<Long> tagIds) {
+        return new SearchDocument(
+                question.getId(),
+                question.getUser().getId(),
+                null,
+                tagIds,
+                question.getCreatedAt(),
+                question.getTitle(),
+                question.getDescription()
+        );
+    }
+
+    private Set<Long> tagIds(Set<Tag> tags) {
+        return tags.stream()
+                .map(Tag::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private String joinText(String summary, String content) {
+        if (summary == null) {
+            return content;
+        }
+        return content == null ? summary : summary + "\n" + content;
+    }
+}
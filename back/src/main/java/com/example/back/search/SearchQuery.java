@@ -0,0 +1,30 @@
+package com.example.back.search;
+
+import java.util.Set;
+
+/**
+ * 索引检索条件
+ *
+ * @param categoryIds 分类及其子分类 id，为 null 时不按分类筛选
+ * @param sort        排序方式：relevance（BM25 相关度）、latest（最新）
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record SearchQuery(String keyword,
+                          Long authorId,
+                          Set<Long> categoryIds,
+                          Long tagId,
+                          String sort,
+                          int offset,
+                          int limit) {
+
+    boolean matches(Long documentAuthorId, Long documentCategoryId, Set<Long> documentTagIds) {
+        if (authorId != null && !authorId.equals(documentAuthorId)) {
+            return false;
+        }
+        if (categoryIds != null && !categoryIds.contains(documentCategoryId)) {
+            return false;
+        }
+        return tagId == null || documentTagIds.contains(tagId);
+    }
+}
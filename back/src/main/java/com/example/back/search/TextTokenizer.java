@@ -0,0 +1,101 @@
+package com.example.back.search;
+
+import com.example.back.util.CjkText;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 全文检索分词器
+ * <p>
+ * 英文、数字按连续字符切词，常见英文停用词不进入索引也不参与查询；
+ * 中日韩文字没有天然分隔，索引时同时产出单字与相邻二元组（bigram），
+ * 查询时优先使用二元组，单个汉字的查询退化为单字匹配。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+public final class TextTokenizer {
+
+    private static final int MAX_WORD_LENGTH = 32;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with");
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * 对文档内容分词，返回全部词项（含重复，用于统计词频）
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        scan(text, tokens, true);
+        return tokens;
+    }
+
+    /**
+     * 对查询关键词分词，返回去重后的词项
+     */
+    public static List<String> queryTerms(String keyword) {
+        List<String> tokens = new ArrayList<>();
+        scan(keyword, tokens, false);
+        return new ArrayList<>(new LinkedHashSet<>(tokens));
+    }
+
+    private static void scan(String text, List<String> tokens, boolean indexMode) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        List<String> cjkRun = new ArrayList<>();
+        int offset = 0;
+        while (offset < normalized.length()) {
+            int codePoint = normalized.codePointAt(offset);
+            offset += Character.charCount(codePoint);
+            if (CjkText.isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjkRun.add(new String(Character.toChars(codePoint)));
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjk(cjkRun, tokens, indexMode);
+                if (word.length() < MAX_WORD_LENGTH) {
+                    word.appendCodePoint(codePoint);
+                }
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjkRun, tokens, indexMode);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjkRun, tokens, indexMode);
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            String token = word.toString();
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(List<String> run, List<String> tokens, boolean indexMode) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (run.size() == 1 || indexMode) {
+            tokens.addAll(run);
+        }
+        for (int i = 0; i + 1 < run.size(); i++) {
+            tokens.add(run.get(i) + run.get(i + 1));
+        }
+        run.clear();
+    }
+}
@@ -1,9 +1,6 @@
 package com.example.back.security;
 
 import com.example.back.context.AuthContextHolder;
-import com.example.back.context.AuthUser;
-import com.example.back.exception.UnauthorizedException;
-import com.example.back.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -19,20 +16,14 @@ import org.springframework.web.servlet.HandlerInterceptor;
 @RequiredArgsConstructor
 public class AuthenticationInterceptor implements HandlerInterceptor {
 
-    private final JwtUtil jwtUtil;
+    private final TokenAuthenticator tokenAuthenticator;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(authorization) && authorization.startsWith("Bearer ")) {
             String token = authorization.substring(7);
-            if (!jwtUtil.validateToken(token)) {
-                throw new UnauthorizedException("Token无效或已过期");
-            }
-            Long userId = jwtUtil.getUserIdFromToken(token);
-            String username = jwtUtil.getUsernameFromToken(token);
-            Integer role = jwtUtil.getRoleFromToken(token);
-            AuthContextHolder.set(new AuthUser(userId, username, role));
+            AuthContextHolder.set(tokenAuthenticator.authenticate(token));
         }
         return true;
     }
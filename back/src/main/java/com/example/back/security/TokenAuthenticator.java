@@ -0,0 +1,116 @@
+package com.example.back.security;
+
+import com.example.back.context.AuthUser;
+import com.example.back.exception.UnauthorizedException;
+import com.example.back.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token 认证
+ * <p>
+ * 每个 Token 只做一次签名校验与解析，结果按 Token 的 SHA-256 摘要缓存到其过期时间为止；
+ * 缓存不保存 Token 原文，条目数有上限。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Component
+public class TokenAuthenticator {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+
+    public TokenAuthenticator(JwtUtil jwtUtil,
+                              @Value("${jwt.verified-cache-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(new UntilTokenExpires())
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt_verified");
+    }
+
+    /**
+     * 校验 Token 并返回认证用户
+     *
+     * @throws UnauthorizedException Token 无效或已过期
+     */
+    public AuthUser authenticate(String token) {
+        String digest = digest(token);
+        VerifiedToken verified = cache.getIfPresent(digest);
+        if (verified == null || verified.expired()) {
+            verified = verify(token);
+            cache.put(digest, verified);
+        }
+        return new AuthUser(verified.userId(), verified.username(), verified.role());
+    }
+
+    private VerifiedToken verify(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.getClaimsFromToken(token);
+        } catch (Exception e) {
+            throw new UnauthorizedException("Token无效或已过期");
+        }
+        if (claims.getExpiration() == null) {
+            throw new UnauthorizedException("Token无效或已过期");
+        }
+        return new VerifiedToken(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("role", Integer.class),
+                claims.getExpiration().getTime());
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    private record VerifiedToken(Long userId, String username, Integer role, long expiresAt) {
+
+        boolean expired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+    /**
+     * 条目在 Token 过期时失效
+     */
+    private static class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.back.service;
+
+import com.example.back.dto.response.CategoryTreeResponse;
+
+import java.util.List;
+
+/**
+ * 分类服务
+ */
+public interface CategoryService {
+
+    List<CategoryTreeResponse> getCategoryTree();
+}
@@ -17,6 +17,11 @@ public interface CommentService {
 
     PageResult<CommentListItemResponse> getComments(CommentQueryRequest request);
 
+    /**
+     * 楼层内回复，按时间正序游标分页
+     */
+    PageResult<CommentListItemResponse> getReplies(Long commentId, String cursor, Integer pageSize);
+
     CommentResponse updateComment(Long commentId, CommentUpdateRequest request);
 
     void deleteComment(Long commentId);
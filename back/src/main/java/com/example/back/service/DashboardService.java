@@ -22,6 +22,9 @@ public interface DashboardService {
 
     PageResult<InteractionHistoryItemResponse> interactionHistory(InteractionHistoryRequest request);
 
-    DashboardTrendResponse getTrends();
+    /**
+     * @param days 统计天数（含当天），为空时取 7，最大 365
+     */
+    DashboardTrendResponse getTrends(Integer days);
 }
 
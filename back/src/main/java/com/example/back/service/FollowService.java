@@ -12,8 +12,14 @@ public interface FollowService {
 
     void unfollowUser(Long userId);
 
-    PageResult<FollowUserItemResponse> getFollowing(Long userId, Integer page, Integer pageSize);
+    /**
+     * @param cursor 不为 null 时使用游标分页，首页传空串
+     */
+    PageResult<FollowUserItemResponse> getFollowing(Long userId, Integer page, Integer pageSize, String cursor);
 
-    PageResult<FollowUserItemResponse> getFollowers(Long userId, Integer page, Integer pageSize);
+    /**
+     * @param cursor 不为 null 时使用游标分页，首页传空串
+     */
+    PageResult<FollowUserItemResponse> getFollowers(Long userId, Integer page, Integer pageSize, String cursor);
 }
 
@@ -0,0 +1,13 @@
+package com.example.back.service;
+
+import com.example.back.dto.response.TagListResponse;
+
+/**
+ * 标签服务
+ */
+public interface TagService {
+
+    TagListResponse getHotTags(Integer limit);
+
+    TagListResponse suggestTags(String keyword, Integer limit);
+}
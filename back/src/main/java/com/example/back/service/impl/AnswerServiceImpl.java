@@ -1,7 +1,11 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.TargetResolver;
+import com.example.back.common.Constants;
 import com.example.back.common.PageResult;
+import com.example.back.content.ContentMetrics;
 import com.example.back.context.AuthContextHolder;
+import com.example.back.context.CurrentUserResolver;
 import com.example.back.dto.request.AnswerQueryRequest;
 import com.example.back.dto.request.AnswerRequest;
 import com.example.back.dto.request.AnswerVoteRequest;
@@ -15,6 +19,8 @@ import com.example.back.exception.NotFoundException;
 import com.example.back.exception.ValidationException;
 import com.example.back.repository.*;
 import com.example.back.service.AnswerService;
+import com.example.back.stats.DailyStatsService;
+import com.example.back.stats.UserStatsCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
@@ -35,15 +41,17 @@ public class AnswerServiceImpl implements AnswerService {
 
     private final AnswerRepository answerRepository;
     private final QuestionRepository questionRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final AnswerVoteRepository answerVoteRepository;
+    private final UserStatsCache userStatsCache;
+    private final DailyStatsService dailyStatsService;
+    private final TargetResolver targetResolver;
 
     @Override
     @Transactional
     public AnswerResponse createAnswer(Long questionId, AnswerRequest request) {
         Long userId = AuthContextHolder.requireUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        User user = currentUserResolver.requireReference();
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new NotFoundException("问题不存在"));
         Answer answer = Answer.builder()
@@ -51,8 +59,12 @@ public class AnswerServiceImpl implements AnswerService {
                 .user(user)
                 .content(request.getContent())
                 .build();
+        answer.applyContentMetrics(ContentMetrics.of(answer.getContent()));
         Answer saved = answerRepository.save(answer);
         question.increaseAnswerCount();
+        dailyStatsService.record(userId, DailyStatsService.METRIC_ANSWER, saved.getCreatedAt(), 1);
+        userStatsCache.evict(userId);
+        userStatsCache.evict(question.getUser().getId());
         return toAnswerResponse(saved);
     }
 
@@ -63,6 +75,7 @@ public class AnswerServiceImpl implements AnswerService {
         Answer answer = loadAnswer(answerId);
         ensureOwner(answer, userId);
         answer.setContent(request.getContent());
+        answer.applyContentMetrics(ContentMetrics.of(answer.getContent()));
         return toAnswerResponse(answer);
     }
 
@@ -74,10 +87,14 @@ public class AnswerServiceImpl implements AnswerService {
         ensureOwner(answer, userId);
         Question question = answer.getQuestion();
         answer.setDeletedAt(LocalDateTime.now());
+        targetResolver.evict(Constants.TYPE_ANSWER, answer.getId());
         question.decreaseAnswerCount();
         if (question.getBestAnswer() != null && question.getBestAnswer().getId().equals(answer.getId())) {
             question.setBestAnswer(null);
         }
+        dailyStatsService.record(userId, DailyStatsService.METRIC_ANSWER, answer.getCreatedAt(), -1);
+        userStatsCache.evict(userId);
+        userStatsCache.evict(question.getUser().getId());
     }
 
     @Override
@@ -109,9 +126,7 @@ public class AnswerServiceImpl implements AnswerService {
     @Override
     @Transactional
     public AnswerVoteResponse voteAnswer(Long answerId, AnswerVoteRequest request) {
-        Long userId = AuthContextHolder.requireUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        User user = currentUserResolver.requireReference();
         Answer answer = loadAnswer(answerId);
         AnswerVoteType type = parseVoteType(request.getType());
 
@@ -140,9 +155,7 @@ public class AnswerServiceImpl implements AnswerService {
     @Override
     @Transactional
     public void cancelVote(Long answerId) {
-        Long userId = AuthContextHolder.requireUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        User user = currentUserResolver.requireReference();
         Answer answer = loadAnswer(answerId);
         answerVoteRepository.findByAnswerAndUser(answer, user).ifPresent(vote -> {
             adjustVoteCounters(answer, vote.getVoteType(), null);
@@ -224,6 +237,7 @@ public class AnswerServiceImpl implements AnswerService {
                 .content(answer.getContent())
                 .upvoteCount(answer.getUpvoteCount())
                 .downvoteCount(answer.getDownvoteCount())
+                .likeCount(answer.getLikeCount())
                 .commentCount(answer.getCommentCount())
                 .best(answer.isBestAnswer())
                 .upvoted(upvoted)
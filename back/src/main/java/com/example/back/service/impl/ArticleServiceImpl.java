@@ -1,35 +1,55 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.AuthorCard;
+import com.example.back.cache.AuthorCardCache;
+import com.example.back.cache.AuthorCards;
+import com.example.back.cache.TargetResolver;
+import com.example.back.cache.ViewerState;
+import com.example.back.cache.ViewerStateResolver;
+import com.example.back.category.CategoryTree;
 import com.example.back.common.Constants;
+import com.example.back.common.PageCursor;
 import com.example.back.common.PageResult;
+import com.example.back.content.ContentMetrics;
 import com.example.back.context.AuthContextHolder;
+import com.example.back.context.CurrentUserResolver;
+import com.example.back.counter.ViewCountBuffer;
 import com.example.back.dto.request.ArticleBatchDeleteRequest;
 import com.example.back.dto.request.ArticleQueryRequest;
 import com.example.back.dto.request.ArticleRequest;
 import com.example.back.dto.response.*;
 import com.example.back.entity.Article;
+import com.example.back.entity.ArticleListView;
 import com.example.back.entity.Category;
 import com.example.back.entity.Tag;
 import com.example.back.entity.User;
 import com.example.back.exception.ForbiddenException;
 import com.example.back.exception.NotFoundException;
 import com.example.back.exception.ValidationException;
+import com.example.back.feed.FeedTimelineService;
+import com.example.back.repository.ArticleListViewRepository;
 import com.example.back.repository.ArticleRepository;
 import com.example.back.repository.CategoryRepository;
 import com.example.back.repository.TagRepository;
-import com.example.back.repository.UserRepository;
+import com.example.back.repository.support.IdPager;
+import com.example.back.repository.support.KeysetOrder;
+import com.example.back.repository.support.KeysetSlice;
+import com.example.back.repository.support.TagFilter;
+import com.example.back.search.SearchIndexService;
 import com.example.back.service.ArticleService;
+import com.example.back.stats.DailyStatsService;
+import com.example.back.stats.UserStatsCache;
 import com.example.back.storage.FileStorageService;
-import jakarta.transaction.Transactional;
+import com.example.back.storage.ImageVariant;
+import com.example.back.tag.TagIndex;
 import lombok.RequiredArgsConstructor;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -46,17 +66,28 @@ import java.util.stream.Collectors;
 public class ArticleServiceImpl implements ArticleService {
 
     private final ArticleRepository articleRepository;
+    private final ArticleListViewRepository articleListViewRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final FileStorageService fileStorageService;
+    private final SearchIndexService searchIndexService;
+    private final ViewCountBuffer viewCountBuffer;
+    private final FeedTimelineService feedTimelineService;
+    private final UserStatsCache userStatsCache;
+    private final DailyStatsService dailyStatsService;
+    private final ViewerStateResolver viewerStateResolver;
+    private final AuthorCardCache authorCardCache;
+    private final CategoryTree categoryTree;
+    private final TagIndex tagIndex;
+    private final TargetResolver targetResolver;
+    private final IdPager idPager;
 
     @Override
     @Transactional
     public ArticleResponse createArticle(ArticleRequest request) {
         Long userId = AuthContextHolder.requireUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        User user = currentUserResolver.requireReference();
 
         ensureSlugUnique(request.getSlug(), null);
 
@@ -72,8 +103,17 @@ public class ArticleServiceImpl implements ArticleService {
                 .publishedAt(resolvePublishedAt(request.getStatus(), null))
                 .build();
         article.setTags(resolveTags(request.getTags()));
+        article.applyContentMetrics(ContentMetrics.of(article.getContent()));
 
         Article saved = articleRepository.save(article);
+        tagIndex.changeUsage(List.of(), saved.getTags());
+        searchIndexService.indexArticle(saved);
+        if (isPublished(saved)) {
+            feedTimelineService.publish(Constants.TYPE_ARTICLE, saved.getId(), userId, saved.getPublishedAt());
+        }
+        categoryTree.articleChanged(null, false, categoryIdOf(saved), isPublished(saved));
+        dailyStatsService.record(userId, DailyStatsService.METRIC_ARTICLE, saved.getCreatedAt(), 1);
+        userStatsCache.evict(userId);
         return toArticleResponse(saved);
     }
 
@@ -86,9 +126,12 @@ public class ArticleServiceImpl implements ArticleService {
         ensureOwner(userId, article);
 
         ensureSlugUnique(request.getSlug(), article.getId());
+        boolean wasPublished = isPublished(article);
+        Long oldCategoryId = categoryIdOf(article);
 
         article.setTitle(request.getTitle());
         article.setContent(request.getContent());
+        article.applyContentMetrics(ContentMetrics.of(article.getContent()));
         article.setSummary(request.getSummary());
         article.setCoverImage(request.getCoverImage());
         article.setSlug(normalizeSlug(request.getSlug()));
@@ -96,10 +139,21 @@ public class ArticleServiceImpl implements ArticleService {
         article.setCategory(fetchCategory(request.getCategoryId()));
         article.setPublishedAt(resolvePublishedAt(request.getStatus(), article.getPublishedAt()));
 
+        List<Long> previousTagIds = article.getTags().stream().map(Tag::getId).toList();
         Set<Tag> newTags = resolveTags(request.getTags());
         article.getTags().clear();
         article.getTags().addAll(newTags);
+        tagIndex.changeUsage(previousTagIds, newTags);
 
+        searchIndexService.indexArticle(article);
+        if (!wasPublished && isPublished(article)) {
+            feedTimelineService.publish(Constants.TYPE_ARTICLE, article.getId(), userId, article.getPublishedAt());
+        } else if (wasPublished && !isPublished(article)) {
+            feedTimelineService.retract(Constants.TYPE_ARTICLE, article.getId());
+        }
+        categoryTree.articleChanged(oldCategoryId, wasPublished, categoryIdOf(article), isPublished(article));
+        targetResolver.evict(Constants.TYPE_ARTICLE, article.getId());
+        userStatsCache.evict(userId);
         return toArticleResponse(article);
     }
 
@@ -110,7 +164,14 @@ public class ArticleServiceImpl implements ArticleService {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new NotFoundException("文章不存在"));
         ensureOwner(userId, article);
+        categoryTree.articleChanged(categoryIdOf(article), isPublished(article), null, false);
+        tagIndex.removeUsage(article.getTags().stream().map(Tag::getId).toList());
         article.setDeletedAt(LocalDateTime.now());
+        searchIndexService.removeArticle(article.getId());
+        feedTimelineService.retract(Constants.TYPE_ARTICLE, article.getId());
+        targetResolver.evict(Constants.TYPE_ARTICLE, article.getId());
+        dailyStatsService.record(userId, DailyStatsService.METRIC_ARTICLE, article.getCreatedAt(), -1);
+        userStatsCache.evict(userId);
     }
 
     @Override
@@ -123,48 +184,49 @@ public class ArticleServiceImpl implements ArticleService {
         if (articles.isEmpty()) {
             throw new ValidationException("没有可删除的文章");
         }
+        tagIndex.removeUsage(articleRepository.findTagIdPairs(articles.stream().map(Article::getId).toList()).stream()
+                .map(row -> (Long) row[1])
+                .toList());
         LocalDateTime now = LocalDateTime.now();
-        articles.forEach(article -> article.setDeletedAt(now));
+        articles.forEach(article -> {
+            categoryTree.articleChanged(categoryIdOf(article), isPublished(article), null, false);
+            article.setDeletedAt(now);
+            searchIndexService.removeArticle(article.getId());
+            feedTimelineService.retract(Constants.TYPE_ARTICLE, article.getId());
+            targetResolver.evict(Constants.TYPE_ARTICLE, article.getId());
+            dailyStatsService.record(userId, DailyStatsService.METRIC_ARTICLE, article.getCreatedAt(), -1);
+        });
+        userStatsCache.evict(userId);
         return new ArticleBatchDeleteResponse(articles.size());
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public ArticleDetailResponse getArticleDetail(String identifier) {
         Article article = findArticleByIdentifier(identifier);
         ensureArticleVisible(article);
-        article.setViewCount(article.getViewCount() + 1);
-        return toArticleDetailResponse(article, false, false);
+        viewCountBuffer.incrementArticle(article.getId());
+        ArticleDetailResponse response = toArticleDetailResponse(article, false, false);
+        response.setViewCount(article.getViewCount() + (int) viewCountBuffer.pendingArticle(article.getId()));
+        return response;
     }
 
     @Override
     public PageResult<ArticleListItemResponse> getArticleList(ArticleQueryRequest request) {
-        Pageable pageable = buildPageable(request);
-        Specification<Article> specification = buildSpecification(request, false);
-        Page<Article> page = articleRepository.findAll(specification, pageable);
-        List<ArticleListItemResponse> items = page.stream()
-                .map(this::toArticleListItemResponse)
-                .collect(Collectors.toList());
-        return PageResult.of(items, pageable.getPageNumber() + 1, pageable.getPageSize(), page.getTotalElements());
+        return listArticles(request, false);
     }
 
     @Override
     public PageResult<ArticleListItemResponse> getMyArticleList(ArticleQueryRequest request) {
         Long userId = AuthContextHolder.requireUserId();
         request.setUserId(userId);
-        Pageable pageable = buildPageable(request);
-        Specification<Article> specification = buildSpecification(request, true);
-        Page<Article> page = articleRepository.findAll(specification, pageable);
-        List<ArticleListItemResponse> items = page.stream()
-                .map(this::toArticleListItemResponse)
-                .collect(Collectors.toList());
-        return PageResult.of(items, pageable.getPageNumber() + 1, pageable.getPageSize(), page.getTotalElements());
+        return listArticles(request, true);
     }
 
     @Override
     public ArticleImageUploadResponse uploadArticleImage(MultipartFile file) {
-        Long userId = AuthContextHolder.requireUserId();
-        String url = fileStorageService.storeArticleImage(userId, file);
+        AuthContextHolder.requireUserId();
+        String url = fileStorageService.storeArticleImage(file);
         return new ArticleImageUploadResponse(url);
     }
 
@@ -187,7 +249,9 @@ public class ArticleServiceImpl implements ArticleService {
         if (categoryId == null) {
             return null;
         }
+        // 分类走二级缓存，按 id 命中缓存时不经过 deleted_at 条件，需自行排除已删除的分类
         return categoryRepository.findById(categoryId)
+                .filter(category -> category.getDeletedAt() == null)
                 .orElseThrow(() -> new ValidationException("分类不存在"));
     }
 
@@ -215,19 +279,26 @@ public class ArticleServiceImpl implements ArticleService {
         if (normalizedNames.isEmpty()) {
             return new HashSet<>();
         }
+        // 名称列按不区分大小写的排序规则唯一，按小写匹配，避免重复插入
         Map<String, Tag> existing = tagRepository.findByNameIn(normalizedNames).stream()
-                .collect(Collectors.toMap(Tag::getName, tag -> tag));
+                .collect(Collectors.toMap(tag -> tag.getName().toLowerCase(Locale.ROOT), tag -> tag, (a, b) -> a));
         Set<Tag> result = new LinkedHashSet<>();
         for (String name : normalizedNames) {
-            Tag tag = existing.get(name);
-            if (tag == null) {
-                tag = Tag.builder().name(name).useCount(0).build();
-            }
+            Tag tag = existing.computeIfAbsent(name.toLowerCase(Locale.ROOT),
+                    key -> tagRepository.save(Tag.builder().name(name).build()));
             result.add(tag);
         }
         return result;
     }
 
+    private boolean isPublished(Article article) {
+        return Integer.valueOf(Constants.STATUS_PUBLISHED).equals(article.getStatus());
+    }
+
+    private Long categoryIdOf(Article article) {
+        return article.getCategory() == null ? null : article.getCategory().getId();
+    }
+
     private void ensureOwner(Long userId, Article article) {
         if (!article.getUser().getId().equals(userId)) {
             throw new ForbiddenException("无权操作该文章");
@@ -295,7 +366,7 @@ public class ArticleServiceImpl implements ArticleService {
                 predicates.add(cb.equal(root.get("status"), request.getStatus()));
             }
             if (request.getCategoryId() != null) {
-                predicates.add(cb.equal(root.get("category").get("id"), request.getCategoryId()));
+                predicates.add(root.get("category").get("id").in(categoryTree.subtreeIds(request.getCategoryId())));
             }
             String keyword = request.normalizedKeyword();
             if (keyword != null) {
@@ -306,14 +377,50 @@ public class ArticleServiceImpl implements ArticleService {
                 ));
             }
             if (request.getTagId() != null) {
-                Join<Article, Tag> tagJoin = root.join("tags", JoinType.LEFT);
-                predicates.add(cb.equal(tagJoin.get("id"), request.getTagId()));
-                query.distinct(true);
+                predicates.add(TagFilter.hasTag(root, query, cb, request.getTagId()));
             }
             return cb.and(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
         };
     }
 
+    private PageResult<ArticleListItemResponse> listArticles(ArticleQueryRequest request, boolean onlySelf) {
+        Specification<Article> specification = buildSpecification(request, onlySelf);
+        if (request.cursorMode()) {
+            int size = Optional.ofNullable(request.getPageSize()).orElse(Constants.DEFAULT_PAGE_SIZE);
+            KeysetOrder order = buildKeysetOrder(request);
+            List<Long> ids = idPager.findIds(Article.class, specification.and(order.after(PageCursor.decode(request.getCursor()))), order.toSort(), size + 1);
+            KeysetSlice<ArticleListView> slice = KeysetSlice.of(loadArticles(ids), size, order::positionOf);
+            return PageResult.ofCursor(toArticleListItems(slice.content()), size, slice.nextCursor());
+        }
+        Pageable pageable = buildPageable(request);
+        Page<Long> page = idPager.findIds(Article.class, specification, pageable);
+        return PageResult.of(toArticleListItems(loadArticles(page.getContent())), pageable.getPageNumber() + 1, pageable.getPageSize(), page.getTotalElements());
+    }
+
+    private List<ArticleListView> loadArticles(List<Long> ids) {
+        return IdPager.load(ids, articleListViewRepository::findWithDetailsByIdIn, ArticleListView::getId);
+    }
+
+    private List<ArticleListItemResponse> toArticleListItems(List<ArticleListView> articles) {
+        ViewerState viewerState = viewerStateResolver.resolve(Constants.TYPE_ARTICLE,
+                articles.stream().map(ArticleListView::getId).toList());
+        AuthorCards authors = authorCardCache.load(articles, article -> article.getUser().getId());
+        return articles.stream()
+                .map(article -> toArticleListItemResponse(article, viewerState, authors))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 游标分页排序，与 {@link #buildPageable} 的排序选项对应，排序键相同时按 id 排序
+     */
+    private KeysetOrder buildKeysetOrder(ArticleQueryRequest request) {
+        return switch (request.normalizedSort()) {
+            case "popular" -> KeysetOrder.desc("likeCount");
+            case "views" -> KeysetOrder.desc("viewCount");
+            default -> KeysetOrder.desc("createdAt");
+        };
+    }
+
     private Pageable buildPageable(ArticleQueryRequest request) {
         int page = Optional.ofNullable(request.getPage()).orElse(1) - 1;
         int size = Optional.ofNullable(request.getPageSize()).orElse(Constants.DEFAULT_PAGE_SIZE);
@@ -350,6 +457,8 @@ public class ArticleServiceImpl implements ArticleService {
                 .likeCount(article.getLikeCount())
                 .commentCount(article.getCommentCount())
                 .favoriteCount(article.getFavoriteCount())
+                .wordCount(article.getWordCount())
+                .readingTime(article.getReadingTime())
                 .liked(liked)
                 .favorited(favorited)
                 .createdAt(article.getCreatedAt())
@@ -369,27 +478,32 @@ public class ArticleServiceImpl implements ArticleService {
                 .build();
     }
 
-    private ArticleListItemResponse toArticleListItemResponse(Article article) {
+    private ArticleListItemResponse toArticleListItemResponse(ArticleListView article, ViewerState viewerState, AuthorCards authors) {
+        AuthorCard author = authors.get(article.getUser().getId());
         return ArticleListItemResponse.builder()
                 .id(article.getId())
                 .title(article.getTitle())
-                .summary(article.getSummary())
-                .coverImage(article.getCoverImage())
+                .summary(article.summaryOrExcerpt())
+                .coverImage(fileStorageService.variantUrl(article.getCoverImage(), ImageVariant.COVER_LIST))
                 .status(article.getStatus())
                 .viewCount(article.getViewCount())
                 .likeCount(article.getLikeCount())
                 .commentCount(article.getCommentCount())
+                .wordCount(article.getWordCount())
+                .readingTime(article.getReadingTime())
                 .createdAt(article.getCreatedAt())
                 .author(new ArticleListItemResponse.AuthorInfo(
-                        article.getUser().getId(),
-                        article.getUser().getNickname(),
-                        article.getUser().getAvatar()
+                        author.id(),
+                        author.nickname(),
+                        author.avatar()
                 ))
                 .category(article.getCategory() == null ? null :
                         new ArticleListItemResponse.CategoryInfo(article.getCategory().getId(), article.getCategory().getName()))
                 .tags(article.getTags().stream()
                         .map(tag -> new ArticleListItemResponse.TagInfo(tag.getId(), tag.getName()))
                         .collect(Collectors.toList()))
+                .liked(viewerState.liked(Constants.TYPE_ARTICLE, article.getId()))
+                .favorited(viewerState.favorited(Constants.TYPE_ARTICLE, article.getId()))
                 .build();
     }
 }
@@ -0,0 +1,40 @@
+package com.example.back.service.impl;
+
+import com.example.back.category.CategoryNode;
+import com.example.back.category.CategoryTree;
+import com.example.back.dto.response.CategoryTreeResponse;
+import com.example.back.service.CategoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 分类服务实现
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryServiceImpl implements CategoryService {
+
+    private final CategoryTree categoryTree;
+
+    @Override
+    public List<CategoryTreeResponse> getCategoryTree() {
+        return categoryTree.roots().stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private CategoryTreeResponse toResponse(CategoryNode node) {
+        return CategoryTreeResponse.builder()
+                .id(node.id())
+                .name(node.name())
+                .description(node.description())
+                .icon(node.icon())
+                .sortOrder(node.sortOrder())
+                .articleCount(node.articleCount())
+                .totalArticleCount(node.totalArticleCount())
+                .children(node.children().stream().map(this::toResponse).toList())
+                .build();
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.AuthorCard;
+import com.example.back.cache.AuthorCardCache;
+import com.example.back.cache.AuthorCards;
+import com.example.back.cache.TargetResolver;
+import com.example.back.common.Constants;
+import com.example.back.common.PageCursor;
 import com.example.back.common.PageResult;
 import com.example.back.context.AuthContextHolder;
 import com.example.back.context.AuthUser;
+import com.example.back.context.CurrentUserResolver;
 import com.example.back.dto.request.CommentCreateRequest;
 import com.example.back.dto.request.CommentQueryRequest;
 import com.example.back.dto.request.CommentUpdateRequest;
@@ -14,6 +21,8 @@ import com.example.back.exception.ForbiddenException;
 import com.example.back.exception.NotFoundException;
 import com.example.back.exception.ValidationException;
 import com.example.back.repository.*;
+import com.example.back.repository.support.KeysetOrder;
+import com.example.back.repository.support.KeysetSlice;
 import com.example.back.service.CommentService;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.transaction.Transactional;
@@ -34,21 +43,25 @@ import java.util.stream.Collectors;
 public class CommentServiceImpl implements CommentService {
 
     private static final Set<String> SUPPORTED_TARGETS = Set.of("article", "answer");
+    /**
+     * 楼层回复未指定 pageSize 时的每页条数
+     */
+    private static final int DEFAULT_REPLY_PAGE_SIZE = 20;
+    private static final KeysetOrder REPLY_ORDER = KeysetOrder.asc("createdAt");
 
     private final CommentRepository commentRepository;
-    private final UserRepository userRepository;
-    private final ArticleRepository articleRepository;
-    private final AnswerRepository answerRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final TargetResolver targetResolver;
+    private final AuthorCardCache authorCardCache;
     private final LikeRepository likeRepository;
 
     @Override
     @Transactional
     public CommentResponse createComment(CommentCreateRequest request) {
         Long userId = AuthContextHolder.requireUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        User user = currentUserResolver.requireReference();
         String targetType = normalizeTargetType(request.normalizedTargetType());
-        TargetContext targetContext = resolveTarget(targetType, request.getTargetId());
+        targetResolver.requireVisible(targetType, request.getTargetId(), userId);
 
         Comment parent = null;
         if (request.getParentId() != null) {
@@ -57,6 +70,9 @@ public class CommentServiceImpl implements CommentService {
             if (!Objects.equals(parent.getTargetType(), targetType) || !Objects.equals(parent.getTargetId(), request.getTargetId())) {
                 throw new ValidationException("父评论与目标内容不匹配");
             }
+            if (parent.getDepth() >= Constants.COMMENT_MAX_DEPTH) {
+                parent = parent.getParent();
+            }
         }
 
         Comment comment = Comment.builder()
@@ -64,11 +80,13 @@ public class CommentServiceImpl implements CommentService {
                 .targetId(request.getTargetId())
                 .user(user)
                 .parent(parent)
+                .rootId(parent == null ? null : parent.threadRootId())
+                .depth(parent == null ? 0 : parent.getDepth() + 1)
                 .content(request.getContent().trim())
                 .build();
         Comment saved = commentRepository.save(comment);
 
-        increaseTargetCommentCount(targetContext);
+        targetResolver.applyDelta(targetType, saved.getTargetId(), TargetResolver.Counter.COMMENT, 1);
         if (parent != null) {
             parent.increaseReplyCount();
         }
@@ -82,27 +100,91 @@ public class CommentServiceImpl implements CommentService {
         if (request.getTargetId() == null) {
             throw new ValidationException("目标ID不能为空");
         }
-        resolveTarget(targetType, request.getTargetId());
+        targetResolver.requireVisible(targetType, request.getTargetId(),
+                AuthContextHolder.getCurrentUser().map(AuthUser::getId).orElse(null));
 
-        Pageable pageable = buildPageable(request);
         Specification<Comment> specification = buildSpecification(targetType, request.getTargetId());
+        if (request.cursorMode()) {
+            int size = Math.max(1, Optional.ofNullable(request.getPageSize()).orElse(20));
+            KeysetOrder order = buildKeysetOrder(request);
+            KeysetSlice<Comment> slice = KeysetSlice.of(
+                    commentRepository.findSlice(specification.and(order.after(PageCursor.decode(request.getCursor()))), order.toSort(), size + 1),
+                    size,
+                    order::positionOf);
+            return PageResult.ofCursor(toCommentListItems(slice.content(), request.normalizedReplySize()), size, slice.nextCursor());
+        }
+
+        Pageable pageable = buildPageable(request);
         Page<Comment> page = commentRepository.findAll(specification, pageable);
+        return PageResult.of(toCommentListItems(page.getContent(), request.normalizedReplySize()), pageable.getPageNumber() + 1, pageable.getPageSize(), page.getTotalElements());
+    }
+
+    @Override
+    public PageResult<CommentListItemResponse> getReplies(Long commentId, String cursor, Integer pageSize) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new NotFoundException("评论不存在"));
+        targetResolver.requireVisible(comment.getTargetType(), comment.getTargetId(),
+                AuthContextHolder.getCurrentUser().map(AuthUser::getId).orElse(null));
+        Long rootId = comment.threadRootId();
+        int size = Math.min(Constants.MAX_PAGE_SIZE, Math.max(1, Optional.ofNullable(pageSize).orElse(DEFAULT_REPLY_PAGE_SIZE)));
+
+        Specification<Comment> specification = (root, query, cb) -> cb.equal(root.get("rootId"), rootId);
+        KeysetSlice<Comment> slice = KeysetSlice.of(
+                commentRepository.findSlice(specification.and(REPLY_ORDER.after(PageCursor.decode(cursor))), REPLY_ORDER.toSort(), size + 1),
+                size,
+                REPLY_ORDER::positionOf);
+        Map<Long, Boolean> likedMap = loadLikedMap(slice.content().stream().map(Comment::getId).toList());
+        AuthorCards authors = authorCardCache.load(slice.content(), reply -> reply.getUser().getId());
+        List<CommentListItemResponse> items = slice.content().stream()
+                .map(reply -> toCommentListItem(reply, likedMap, Collections.emptyMap(), authors))
+                .toList();
+        return PageResult.ofCursor(items, size, slice.nextCursor());
+    }
+
+    /**
+     * 顶级评论连同每层楼的前 replySize 条回复一次加载，其余回复通过 repliesCursor 继续获取
+     */
+    private List<CommentListItemResponse> toCommentListItems(List<Comment> comments, int replySize) {
+        List<Long> commentIds = comments.stream().map(Comment::getId).toList();
+        Map<Long, Long> replyTotals = new HashMap<>();
+        List<Long> replyIds = new ArrayList<>();
+        if (!commentIds.isEmpty()) {
+            for (Object[] row : commentRepository.findThreadHeads(commentIds, replySize)) {
+                replyIds.add(((Number) row[0]).longValue());
+                replyTotals.put(((Number) row[1]).longValue(), ((Number) row[2]).longValue());
+            }
+        }
+        List<Comment> replies = replyIds.isEmpty() ? Collections.emptyList() : commentRepository.findAllById(replyIds).stream()
+                .sorted(Comparator.comparing(Comment::getCreatedAt).thenComparing(Comment::getId))
+                .toList();
 
-        List<Long> commentIds = page.stream().map(Comment::getId).toList();
-        // 递归加载所有嵌套回复
-        List<Comment> allReplies = loadAllReplies(commentIds);
         List<Long> allIds = new ArrayList<>(commentIds);
-        allIds.addAll(allReplies.stream().map(Comment::getId).toList());
+        allIds.addAll(replyIds);
         Map<Long, Boolean> likedMap = loadLikedMap(allIds);
-        Map<Long, List<Comment>> replyMap = allReplies.stream()
-                .sorted(Comparator.comparing(Comment::getCreatedAt))
-                .collect(Collectors.groupingBy(comment -> comment.getParent().getId()));
-
-        List<CommentListItemResponse> items = page.stream()
-                .map(comment -> toCommentListItem(comment, likedMap, replyMap))
+        List<Comment> withReplies = new ArrayList<>(comments);
+        withReplies.addAll(replies);
+        AuthorCards authors = authorCardCache.load(withReplies, item -> item.getUser().getId());
+        // 父回复不在预览范围内时挂到楼层顶级评论下
+        Set<Long> loadedIds = new HashSet<>(allIds);
+        Map<Long, List<Comment>> replyMap = replies.stream()
+                .collect(Collectors.groupingBy(reply -> loadedIds.contains(reply.getParent().getId())
+                        ? reply.getParent().getId()
+                        : reply.getRootId()));
+        Map<Long, Comment> lastReplies = new HashMap<>();
+        replies.forEach(reply -> lastReplies.put(reply.getRootId(), reply));
+
+        return comments.stream()
+                .map(comment -> {
+                    CommentListItemResponse item = toCommentListItem(comment, likedMap, replyMap, authors);
+                    long total = replyTotals.getOrDefault(comment.getId(), 0L);
+                    item.setReplyTotal(total);
+                    Comment last = lastReplies.get(comment.getId());
+                    if (last != null && total > replySize) {
+                        item.setRepliesCursor(REPLY_ORDER.positionOf(last).encode());
+                    }
+                    return item;
+                })
                 .collect(Collectors.toList());
-
-        return PageResult.of(items, pageable.getPageNumber() + 1, pageable.getPageSize(), page.getTotalElements());
     }
 
     @Override
@@ -128,8 +210,7 @@ public class CommentServiceImpl implements CommentService {
         }
         comment.setDeletedAt(LocalDateTime.now());
         comment.setStatus(0);
-        TargetContext target = resolveTarget(comment.getTargetType(), comment.getTargetId());
-        decreaseTargetCommentCount(target);
+        targetResolver.applyDelta(comment.getTargetType(), comment.getTargetId(), TargetResolver.Counter.COMMENT, -1);
         if (comment.getParent() != null) {
             comment.getParent().decreaseReplyCount();
         }
@@ -141,33 +222,23 @@ public class CommentServiceImpl implements CommentService {
         Long userId = AuthContextHolder.requireUserId();
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new NotFoundException("评论不存在"));
-        boolean liked = likeRepository.findByUser_IdAndTargetTypeAndTargetId(userId, "comment", commentId).isPresent();
-        if (!liked) {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new NotFoundException("用户不存在"));
-            Like like = Like.builder()
-                    .targetType("comment")
-                    .targetId(commentId)
-                    .user(user)
-                    .build();
-            likeRepository.save(like);
-            comment.increaseLikeCount();
-            liked = true;
+        int delta = likeRepository.insertIfAbsent(userId, "comment", commentId);
+        if (delta > 0) {
+            commentRepository.addLikeCount(commentId, delta);
         }
-        return new CommentLikeResponse(comment.getLikeCount(), liked);
+        return new CommentLikeResponse(comment.getLikeCount() + delta, true);
     }
 
     @Override
     @Transactional
     public void unlikeComment(Long commentId) {
         Long userId = AuthContextHolder.requireUserId();
-        Comment comment = commentRepository.findById(commentId)
+        commentRepository.findById(commentId)
                 .orElseThrow(() -> new NotFoundException("评论不存在"));
-        likeRepository.findByUser_IdAndTargetTypeAndTargetId(userId, "comment", commentId)
-                .ifPresent(like -> {
-                    likeRepository.delete(like);
-                    comment.decreaseLikeCount();
-                });
+        int removed = likeRepository.deleteByUserAndTarget(userId, "comment", commentId);
+        if (removed > 0) {
+            commentRepository.addLikeCount(commentId, -removed);
+        }
     }
 
     @Override
@@ -176,7 +247,7 @@ public class CommentServiceImpl implements CommentService {
         Long userId = AuthContextHolder.requireUserId();
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new NotFoundException("评论不存在"));
-        TargetContext target = resolveTarget(comment.getTargetType(), comment.getTargetId());
+        TargetResolver.Target target = targetResolver.require(comment.getTargetType(), comment.getTargetId());
         if (!Objects.equals(target.ownerId(), userId)) {
             throw new ForbiddenException("无权置顶该评论");
         }
@@ -194,38 +265,14 @@ public class CommentServiceImpl implements CommentService {
                 .collect(Collectors.toMap(Like::getTargetId, like -> true));
     }
 
-    /**
-     * 递归加载所有嵌套回复（最多支持5层嵌套）
-     */
-    private List<Comment> loadAllReplies(List<Long> parentIds) {
-        if (parentIds.isEmpty()) {
-            return Collections.emptyList();
-        }
-        List<Comment> allReplies = new ArrayList<>();
-        List<Long> currentLevelIds = new ArrayList<>(parentIds);
-        int maxDepth = 5; // 限制最大嵌套深度
-        
-        for (int depth = 0; depth < maxDepth && !currentLevelIds.isEmpty(); depth++) {
-            List<Comment> currentLevelReplies = commentRepository.findByParentIdIn(currentLevelIds);
-            if (currentLevelReplies.isEmpty()) {
-                break;
-            }
-            allReplies.addAll(currentLevelReplies);
-            // 准备下一层的 parentIds
-            currentLevelIds = currentLevelReplies.stream()
-                    .map(Comment::getId)
-                    .toList();
-        }
-        
-        return allReplies;
-    }
-
     private CommentListItemResponse toCommentListItem(Comment comment,
                                                       Map<Long, Boolean> likedMap,
-                                                      Map<Long, List<Comment>> replyMap) {
+                                                      Map<Long, List<Comment>> replyMap,
+                                                      AuthorCards authors) {
         List<CommentListItemResponse> replies = replyMap.getOrDefault(comment.getId(), Collections.emptyList()).stream()
-                .map(reply -> toCommentListItem(reply, likedMap, replyMap))
+                .map(reply -> toCommentListItem(reply, likedMap, replyMap, authors))
                 .collect(Collectors.toList());
+        AuthorCard author = authors.get(comment.getUser().getId());
         return CommentListItemResponse.builder()
                 .id(comment.getId())
                 .content(comment.getContent())
@@ -236,9 +283,9 @@ public class CommentServiceImpl implements CommentService {
                 .pinned(comment.isPinned())
                 .createdAt(comment.getCreatedAt())
                 .author(new CommentListItemResponse.AuthorInfo(
-                        comment.getUser().getId(),
-                        comment.getUser().getNickname(),
-                        comment.getUser().getAvatar()
+                        author.id(),
+                        author.nickname(),
+                        author.avatar()
                 ))
                 .replies(replies)
                 .build();
@@ -256,6 +303,17 @@ public class CommentServiceImpl implements CommentService {
         return PageRequest.of(page, size, sort);
     }
 
+    /**
+     * 游标分页排序；热门排序只按点赞数与 id 定位，不再参考回复数
+     */
+    private KeysetOrder buildKeysetOrder(CommentQueryRequest request) {
+        return switch (request.normalizedSort()) {
+            case "oldest" -> KeysetOrder.asc("createdAt");
+            case "hot" -> KeysetOrder.desc("likeCount");
+            default -> KeysetOrder.desc("createdAt");
+        };
+    }
+
     private Specification<Comment> buildSpecification(String targetType, Long targetId) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -276,7 +334,7 @@ public class CommentServiceImpl implements CommentService {
         if (Objects.equals(comment.getUser().getId(), userId)) {
             return;
         }
-        TargetContext target = resolveTarget(comment.getTargetType(), comment.getTargetId());
+        TargetResolver.Target target = targetResolver.require(comment.getTargetType(), comment.getTargetId());
         if (!Objects.equals(target.ownerId(), userId)) {
             throw new ForbiddenException("无权删除该评论");
         }
@@ -300,50 +358,4 @@ public class CommentServiceImpl implements CommentService {
         }
         return normalized;
     }
-
-    private TargetContext resolveTarget(String targetType, Long targetId) {
-        if (targetId == null) {
-            throw new ValidationException("目标ID不能为空");
-        }
-        return switch (targetType) {
-            case "article" -> {
-                Article article = articleRepository.findById(targetId)
-                        .orElseThrow(() -> new NotFoundException("文章不存在"));
-                yield TargetContext.article(article);
-            }
-            case "answer" -> {
-                Answer answer = answerRepository.findById(targetId)
-                        .orElseThrow(() -> new NotFoundException("回答不存在"));
-                yield TargetContext.answer(answer);
-            }
-            default -> throw new ValidationException("暂不支持该目标类型");
-        };
-    }
-
-    private void increaseTargetCommentCount(TargetContext ctx) {
-        if (ctx.article() != null) {
-            ctx.article().setCommentCount(ctx.article().getCommentCount() + 1);
-        } else if (ctx.answer() != null) {
-            ctx.answer().setCommentCount(ctx.answer().getCommentCount() + 1);
-        }
-    }
-
-    private void decreaseTargetCommentCount(TargetContext ctx) {
-        if (ctx.article() != null) {
-            ctx.article().setCommentCount(Math.max(0, ctx.article().getCommentCount() - 1));
-        } else if (ctx.answer() != null) {
-            ctx.answer().setCommentCount(Math.max(0, ctx.answer().getCommentCount() - 1));
-        }
-    }
-
-    private record TargetContext(String targetType, Article article, Answer answer, Long ownerId) {
-        static TargetContext article(Article article) {
-            return new TargetContext("article", article, null, article.getUser().getId());
-        }
-
-        static TargetContext answer(Answer answer) {
-            return new TargetContext("answer", null, answer, answer.getUser().getId());
-        }
-    }
 }
-
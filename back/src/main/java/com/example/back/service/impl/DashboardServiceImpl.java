@@ -1,5 +1,7 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.AuthorCardCache;
+import com.example.back.cache.AuthorCards;
 import com.example.back.common.Constants;
 import com.example.back.common.PageResult;
 import com.example.back.context.AuthContextHolder;
@@ -8,8 +10,12 @@ import com.example.back.dto.request.InteractionHistoryRequest;
 import com.example.back.dto.response.*;
 import com.example.back.dto.response.DashboardContentResponse;
 import com.example.back.entity.*;
+import com.example.back.exception.ValidationException;
 import com.example.back.repository.*;
 import com.example.back.service.DashboardService;
+import com.example.back.stats.DailyStatsService;
+import com.example.back.stats.UserStatsCache;
+import com.example.back.stats.UserStatsSnapshot;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -23,9 +29,9 @@ import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 用户内容后台服务实现
@@ -36,126 +42,63 @@ public class DashboardServiceImpl implements DashboardService {
 
     private static final int RECENT_LIMIT = 6;
     private static final int TODO_LIMIT = 3;
-    private static final int TREND_DAYS = 7;
+    private static final int DEFAULT_TREND_DAYS = 7;
+    private static final int MAX_TREND_DAYS = 365;
 
-    private final ArticleRepository articleRepository;
+    private final ArticleListViewRepository articleListViewRepository;
     private final QuestionRepository questionRepository;
     private final AnswerRepository answerRepository;
     private final LikeRepository likeRepository;
     private final FavoriteRepository favoriteRepository;
     private final CommentRepository commentRepository;
     private final FollowRepository followRepository;
+    private final UserStatsCache userStatsCache;
+    private final DailyStatsService dailyStatsService;
+    private final AuthorCardCache authorCardCache;
 
     @Override
     public DashboardOverviewResponse getOverview() {
         Long userId = AuthContextHolder.requireUserId();
-
-        long articleCount = articleRepository.countByUser_Id(userId);
-        long draftCount = articleRepository.countByUser_IdAndStatus(userId, Constants.STATUS_DRAFT);
-        long questionCount = questionRepository.countByUser_Id(userId);
-        long answerCount = answerRepository.countByUser_Id(userId);
-        long followerCount = followRepository.countByFollowing_Id(userId);
-
-        long totalViews = articleRepository.sumViewCountByUser(userId)
-                + questionRepository.sumViewCountByUser(userId);
-        long totalLikes = articleRepository.sumLikeCountByUser(userId)
-                + answerRepository.sumUpvoteCountByUser(userId);
-        long totalFavorites = articleRepository.sumFavoriteCountByUser(userId);
-        long totalComments = articleRepository.sumCommentCountByUser(userId)
-                + answerRepository.sumCommentCountByUser(userId);
-
-        List<DashboardOverviewResponse.ContentCard> recentContents = buildRecentContents(userId);
-        List<DashboardOverviewResponse.TodoItem> todoItems = buildTodoItems(userId);
+        UserStatsSnapshot snapshot = userStatsCache.get(userId);
 
         DashboardOverviewResponse.Stats stats = DashboardOverviewResponse.Stats.builder()
-                .articleCount(articleCount)
-                .draftCount(draftCount)
-                .questionCount(questionCount)
-                .answerCount(answerCount)
-                .followerCount(followerCount)
-                .totalViews(totalViews)
-                .totalLikes(totalLikes)
-                .totalFavorites(totalFavorites)
-                .totalComments(totalComments)
+                .articleCount(snapshot.articleCount())
+                .draftCount(snapshot.draftCount())
+                .questionCount(snapshot.questionCount())
+                .answerCount(snapshot.answerCount())
+                .followerCount(snapshot.followerCount())
+                .totalViews(snapshot.totalViews())
+                .totalLikes(snapshot.totalLikes())
+                .totalFavorites(snapshot.articleFavorites())
+                .totalComments(snapshot.totalComments())
                 .build();
 
         return DashboardOverviewResponse.builder()
                 .stats(stats)
-                .recentContents(recentContents)
-                .pendingItems(todoItems)
+                .recentContents(buildRecentContents(snapshot))
+                .pendingItems(buildTodoItems(snapshot))
                 .build();
     }
 
     @Override
     public DashboardContentResponse getContent() {
         Long userId = AuthContextHolder.requireUserId();
-
-        long articleCount = articleRepository.countByUser_Id(userId);
-        long questionCount = questionRepository.countByUser_Id(userId);
-        long answerCount = answerRepository.countByUser_Id(userId);
-
-        long totalViews = articleRepository.sumViewCountByUser(userId)
-                + questionRepository.sumViewCountByUser(userId);
-        long totalLikes = articleRepository.sumLikeCountByUser(userId)
-                + answerRepository.sumUpvoteCountByUser(userId);
-        long totalComments = articleRepository.sumCommentCountByUser(userId)
-                + answerRepository.sumCommentCountByUser(userId);
+        UserStatsSnapshot snapshot = userStatsCache.get(userId);
 
         DashboardContentResponse.Statistics statistics = DashboardContentResponse.Statistics.builder()
-                .articleCount(articleCount)
-                .questionCount(questionCount)
-                .answerCount(answerCount)
-                .totalViewCount(totalViews)
-                .totalLikeCount(totalLikes)
-                .totalCommentCount(totalComments)
+                .articleCount(snapshot.articleCount())
+                .questionCount(snapshot.questionCount())
+                .answerCount(snapshot.answerCount())
+                .totalViewCount(snapshot.totalViews())
+                .totalLikeCount(snapshot.totalLikes())
+                .totalCommentCount(snapshot.totalComments())
                 .build();
 
-        List<DashboardContentResponse.RecentItem> recentArticles = articleRepository
-                .findTop5ByUser_IdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(article -> DashboardContentResponse.RecentItem.builder()
-                        .id(article.getId())
-                        .title(article.getTitle())
-                        .viewCount(article.getViewCount())
-                        .likeCount(article.getLikeCount())
-                        .commentCount(article.getCommentCount())
-                        .createdAt(article.getCreatedAt())
-                        .build())
-                .collect(Collectors.toList());
-
-        List<DashboardContentResponse.RecentItem> recentQuestions = questionRepository
-                .findTop5ByUser_IdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(question -> DashboardContentResponse.RecentItem.builder()
-                        .id(question.getId())
-                        .title(question.getTitle())
-                        .viewCount(question.getViewCount())
-                        .likeCount(question.getAnswerCount())
-                        .commentCount(question.getAnswerCount())
-                        .createdAt(question.getCreatedAt())
-                        .build())
-                .collect(Collectors.toList());
-
-        List<DashboardContentResponse.RecentItem> recentAnswers = answerRepository
-                .findTop5ByUser_IdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(answer -> DashboardContentResponse.RecentItem.builder()
-                        .id(answer.getId())
-                        .title(Optional.ofNullable(answer.getQuestion())
-                                .map(Question::getTitle)
-                                .orElse("回答"))
-                        .viewCount(answer.getUpvoteCount())
-                        .likeCount(answer.getUpvoteCount())
-                        .commentCount(answer.getCommentCount())
-                        .createdAt(answer.getCreatedAt())
-                        .build())
-                .collect(Collectors.toList());
-
         return DashboardContentResponse.builder()
                 .statistics(statistics)
-                .recentArticles(recentArticles)
-                .recentQuestions(recentQuestions)
-                .recentAnswers(recentAnswers)
+                .recentArticles(toRecentItems(snapshot.recentArticles()))
+                .recentQuestions(toRecentItems(snapshot.recentQuestions()))
+                .recentAnswers(toRecentItems(snapshot.recentAnswers()))
                 .build();
     }
 
@@ -167,7 +110,7 @@ public class DashboardServiceImpl implements DashboardService {
 
         return switch (type) {
             case "articles" -> mapArticlePage(
-                    articleRepository.findAll(buildArticleSpec(userId, request), pageable));
+                    articleListViewRepository.findAll(buildArticleSpec(userId, request), pageable));
             case "questions" -> mapQuestionPage(
                     questionRepository.findAll(buildQuestionSpec(userId, request), pageable));
             case "answers" -> mapAnswerPage(
@@ -192,21 +135,20 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
-    public DashboardTrendResponse getTrends() {
+    public DashboardTrendResponse getTrends(Integer days) {
         Long userId = AuthContextHolder.requireUserId();
+        int trendDays = Optional.ofNullable(days).orElse(DEFAULT_TREND_DAYS);
+        if (trendDays < 1 || trendDays > MAX_TREND_DAYS) {
+            throw new ValidationException("统计天数需在1到" + MAX_TREND_DAYS + "之间");
+        }
         LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(TREND_DAYS - 1);
-        LocalDateTime start = startDate.atStartOfDay();
-        LocalDateTime end = endDate.atTime(LocalTime.MAX);
-
-        Map<LocalDate, Long> articleTrend = toDateMap(
-                articleRepository.countDailyArticles(userId, start, end));
-        Map<LocalDate, Long> questionTrend = toDateMap(
-                questionRepository.countDailyQuestions(userId, start, end));
-        Map<LocalDate, Long> answerTrend = toDateMap(
-                answerRepository.countDailyAnswers(userId, start, end));
-        Map<LocalDate, Long> followerTrend = toDateMap(
-                followRepository.countDailyFollowers(userId, start, end));
+        LocalDate startDate = endDate.minusDays(trendDays - 1L);
+
+        Map<String, Map<LocalDate, Long>> daily = dailyStatsService.read(userId, startDate, endDate);
+        Map<LocalDate, Long> articleTrend = daily.getOrDefault(DailyStatsService.METRIC_ARTICLE, Collections.emptyMap());
+        Map<LocalDate, Long> questionTrend = daily.getOrDefault(DailyStatsService.METRIC_QUESTION, Collections.emptyMap());
+        Map<LocalDate, Long> answerTrend = daily.getOrDefault(DailyStatsService.METRIC_ANSWER, Collections.emptyMap());
+        Map<LocalDate, Long> followerTrend = daily.getOrDefault(DailyStatsService.METRIC_FOLLOWER, Collections.emptyMap());
 
         List<DashboardTrendResponse.TrendPoint> contentTrend = iterateDays(startDate, endDate).stream()
                 .map(date -> DashboardTrendResponse.TrendPoint.builder()
@@ -230,66 +172,50 @@ public class DashboardServiceImpl implements DashboardService {
                 .build();
     }
 
-    private List<DashboardOverviewResponse.ContentCard> buildRecentContents(Long userId) {
-        List<DashboardOverviewResponse.ContentCard> items = new ArrayList<>();
-
-        articleRepository.findTop5ByUser_IdOrderByCreatedAtDesc(userId)
-                .forEach(article -> items.add(DashboardOverviewResponse.ContentCard.builder()
-                        .id(article.getId())
-                        .type("article")
-                        .title(article.getTitle())
-                        .status(resolveArticleStatus(article.getStatus()))
-                        .viewCount(article.getViewCount())
-                        .likeCount(article.getLikeCount())
-                        .commentCount(article.getCommentCount())
-                        .createdAt(article.getCreatedAt())
-                        .build()));
-
-        questionRepository.findTop5ByUser_IdOrderByCreatedAtDesc(userId)
-                .forEach(question -> items.add(DashboardOverviewResponse.ContentCard.builder()
-                        .id(question.getId())
-                        .type("question")
-                        .title(question.getTitle())
-                        .status("published")
-                        .viewCount(question.getViewCount())
-                        .likeCount(question.getAnswerCount())
-                        .commentCount(question.getAnswerCount())
-                        .createdAt(question.getCreatedAt())
-                        .build()));
-
-        answerRepository.findTop5ByUser_IdOrderByCreatedAtDesc(userId)
-                .forEach(answer -> items.add(DashboardOverviewResponse.ContentCard.builder()
-                        .id(answer.getId())
-                        .type("answer")
-                        .title(Optional.ofNullable(answer.getQuestion())
-                                .map(Question::getTitle)
-                                .orElse("回答"))
-                        .status(answer.getIsBest() == 1 ? "best" : "published")
-                        .viewCount(answer.getUpvoteCount())
-                        .likeCount(answer.getUpvoteCount())
-                        .commentCount(answer.getCommentCount())
-                        .createdAt(answer.getCreatedAt())
-                        .build()));
+    private List<DashboardOverviewResponse.ContentCard> buildRecentContents(UserStatsSnapshot snapshot) {
+        return Stream.of(snapshot.recentArticles(), snapshot.recentQuestions(), snapshot.recentAnswers())
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(UserStatsSnapshot.ContentItem::createdAt).reversed())
+                .limit(RECENT_LIMIT)
+                .map(item -> DashboardOverviewResponse.ContentCard.builder()
+                        .id(item.id())
+                        .type(item.type())
+                        .title(item.title())
+                        .status(item.status())
+                        .viewCount(item.viewCount())
+                        .likeCount(item.likeCount())
+                        .commentCount(item.commentCount())
+                        .createdAt(item.createdAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
 
+    private List<DashboardContentResponse.RecentItem> toRecentItems(List<UserStatsSnapshot.ContentItem> items) {
         return items.stream()
-                .sorted(Comparator.comparing(DashboardOverviewResponse.ContentCard::getCreatedAt).reversed())
-                .limit(RECENT_LIMIT)
+                .map(item -> DashboardContentResponse.RecentItem.builder()
+                        .id(item.id())
+                        .title(item.title())
+                        .viewCount(item.viewCount())
+                        .likeCount(item.likeCount())
+                        .commentCount(item.commentCount())
+                        .createdAt(item.createdAt())
+                        .build())
                 .collect(Collectors.toList());
     }
 
-    private List<DashboardOverviewResponse.TodoItem> buildTodoItems(Long userId) {
-        return questionRepository.findTop5ByUser_IdAndAnswerCountOrderByCreatedAtAsc(userId, 0).stream()
+    private List<DashboardOverviewResponse.TodoItem> buildTodoItems(UserStatsSnapshot snapshot) {
+        return snapshot.pendingQuestions().stream()
                 .limit(TODO_LIMIT)
                 .map(question -> DashboardOverviewResponse.TodoItem.builder()
                         .type("question")
-                        .description("问题《" + question.getTitle() + "》还没有回答")
-                        .targetId(question.getId())
-                        .createdAt(question.getCreatedAt())
+                        .description("问题《" + question.title() + "》还没有回答")
+                        .targetId(question.id())
+                        .createdAt(question.createdAt())
                         .build())
                 .collect(Collectors.toList());
     }
 
-    private Specification<Article> buildArticleSpec(Long userId, DashboardContentQueryRequest request) {
+    private Specification<ArticleListView> buildArticleSpec(Long userId, DashboardContentQueryRequest request) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(cb.equal(root.get("user").get("id"), userId));
@@ -344,7 +270,7 @@ public class DashboardServiceImpl implements DashboardService {
         };
     }
 
-    private PageResult<DashboardContentItemResponse> mapArticlePage(Page<Article> page) {
+    private PageResult<DashboardContentItemResponse> mapArticlePage(Page<ArticleListView> page) {
         List<DashboardContentItemResponse> items = page.stream()
                 .map(article -> DashboardContentItemResponse.builder()
                         .id(article.getId())
@@ -440,7 +366,7 @@ public class DashboardServiceImpl implements DashboardService {
                         .targetType("question")
                         .targetId(Optional.ofNullable(answer.getQuestion()).map(Question::getId).orElse(null))
                         .targetTitle(Optional.ofNullable(answer.getQuestion()).map(Question::getTitle).orElse("回答"))
-                        .targetExcerpt(trimContent(answer.getContent()))
+                        .targetExcerpt(answer.getExcerpt())
                         .targetOwnerId(Optional.ofNullable(answer.getQuestion()).map(q -> q.getUser().getId()).orElse(null))
                         .targetOwnerName(Optional.ofNullable(answer.getQuestion()).map(q -> q.getUser().getNickname()).orElse(null))
                         .likeCount(answer.getUpvoteCount())
@@ -485,24 +411,28 @@ public class DashboardServiceImpl implements DashboardService {
         Map<String, Map<Long, TargetSummary>> cache = new HashMap<>();
         targetMap.forEach((type, ids) -> {
             if ("article".equals(type)) {
-                cache.put(type, articleRepository.findAllById(ids).stream()
-                        .collect(Collectors.toMap(Article::getId, article -> new TargetSummary(
+                List<ArticleListView> articles = articleListViewRepository.findAllById(ids);
+                AuthorCards authors = authorCardCache.load(articles, article -> article.getUser().getId());
+                cache.put(type, articles.stream()
+                        .collect(Collectors.toMap(ArticleListView::getId, article -> new TargetSummary(
                                 article.getId(),
                                 article.getTitle(),
-                                article.getSummary(),
+                                article.summaryOrExcerpt(),
                                 article.getUser().getId(),
-                                article.getUser().getNickname(),
+                                authors.get(article.getUser().getId()).nickname(),
                                 article.getLikeCount(),
                                 article.getCommentCount()
                         ))));
             } else if ("question".equals(type)) {
-                cache.put(type, questionRepository.findAllById(ids).stream()
+                List<Question> questions = questionRepository.findAllById(ids);
+                AuthorCards authors = authorCardCache.load(questions, question -> question.getUser().getId());
+                cache.put(type, questions.stream()
                         .collect(Collectors.toMap(Question::getId, question -> new TargetSummary(
                                 question.getId(),
                                 question.getTitle(),
-                                trimContent(question.getDescription()),
+                                question.getExcerpt(),
                                 question.getUser().getId(),
-                                question.getUser().getNickname(),
+                                authors.get(question.getUser().getId()).nickname(),
                                 question.getAnswerCount(),
                                 question.getAnswerCount()
                         ))));
@@ -511,20 +441,22 @@ public class DashboardServiceImpl implements DashboardService {
                         .collect(Collectors.toMap(Answer::getId, answer -> new TargetSummary(
                                 answer.getId(),
                                 Optional.ofNullable(answer.getQuestion()).map(Question::getTitle).orElse("回答"),
-                                trimContent(answer.getContent()),
+                                answer.getExcerpt(),
                                 answer.getUser().getId(),
                                 answer.getUser().getNickname(),
                                 answer.getUpvoteCount(),
                                 answer.getCommentCount()
                         ))));
             } else if ("comment".equals(type)) {
-                cache.put(type, commentRepository.findAllById(ids).stream()
+                List<Comment> comments = commentRepository.findAllById(ids);
+                AuthorCards authors = authorCardCache.load(comments, comment -> comment.getUser().getId());
+                cache.put(type, comments.stream()
                         .collect(Collectors.toMap(Comment::getId, comment -> new TargetSummary(
                                 comment.getId(),
                                 "评论",
                                 trimContent(comment.getContent()),
                                 comment.getUser().getId(),
-                                comment.getUser().getNickname(),
+                                authors.get(comment.getUser().getId()).nickname(),
                                 comment.getLikeCount(),
                                 comment.getReplyCount()
                         ))));
@@ -549,18 +481,6 @@ public class DashboardServiceImpl implements DashboardService {
         return "published";
     }
 
-    private Map<LocalDate, Long> toDateMap(List<Object[]> rows) {
-        Map<LocalDate, Long> map = new HashMap<>();
-        for (Object[] row : rows) {
-            LocalDate date = row[0] instanceof LocalDate localDate
-                    ? localDate
-                    : LocalDate.parse(row[0].toString());
-            Long value = row[1] instanceof Number number ? number.longValue() : Long.parseLong(row[1].toString());
-            map.put(date, value);
-        }
-        return map;
-    }
-
     private List<LocalDate> iterateDays(LocalDate start, LocalDate end) {
         List<LocalDate> days = new ArrayList<>();
         LocalDate pointer = start;
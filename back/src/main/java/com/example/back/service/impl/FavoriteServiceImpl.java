@@ -1,7 +1,13 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.AuthorCardCache;
+import com.example.back.cache.AuthorCards;
+import com.example.back.cache.TargetResolver;
+import com.example.back.cache.ViewerStateResolver;
+import com.example.back.common.PageCursor;
 import com.example.back.common.PageResult;
 import com.example.back.context.AuthContextHolder;
+import com.example.back.context.CurrentUserResolver;
 import com.example.back.dto.request.FavoriteFolderRequest;
 import com.example.back.dto.request.FavoriteQueryRequest;
 import com.example.back.dto.request.FavoriteRequest;
@@ -12,6 +18,8 @@ import com.example.back.exception.ForbiddenException;
 import com.example.back.exception.NotFoundException;
 import com.example.back.exception.ValidationException;
 import com.example.back.repository.*;
+import com.example.back.repository.support.KeysetOrder;
+import com.example.back.repository.support.KeysetSlice;
 import com.example.back.service.FavoriteService;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.transaction.Transactional;
@@ -33,20 +41,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FavoriteServiceImpl implements FavoriteService {
 
+    private static final KeysetOrder FAVORITE_ORDER = KeysetOrder.desc("createdAt");
+
     private static final Set<String> SUPPORTED_TARGETS = Set.of("article", "answer");
 
     private final FavoriteFolderRepository favoriteFolderRepository;
     private final FavoriteRepository favoriteRepository;
-    private final UserRepository userRepository;
-    private final ArticleRepository articleRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final ArticleListViewRepository articleListViewRepository;
     private final AnswerRepository answerRepository;
+    private final TargetResolver targetResolver;
+    private final ViewerStateResolver viewerStateResolver;
+    private final AuthorCardCache authorCardCache;
 
     @Override
     @Transactional
     public FavoriteFolderResponse createFolder(FavoriteFolderRequest request) {
-        Long userId = AuthContextHolder.requireUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        User user = currentUserResolver.requireReference();
         FavoriteFolder folder = FavoriteFolder.builder()
                 .user(user)
                 .name(request.getName().trim())
@@ -58,9 +69,7 @@ public class FavoriteServiceImpl implements FavoriteService {
 
     @Override
     public List<FavoriteFolderResponse> listFolders() {
-        Long userId = AuthContextHolder.requireUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        User user = currentUserResolver.requireReference();
         List<FavoriteFolder> folders = favoriteFolderRepository.findByUserOrderBySortOrderAscIdAsc(user);
         Map<Long, Integer> counts = folders.stream()
                 .collect(Collectors.toMap(FavoriteFolder::getId,
@@ -76,9 +85,7 @@ public class FavoriteServiceImpl implements FavoriteService {
         if (folderId == null) {
             throw new ValidationException("收藏夹ID不能为空");
         }
-        Long userId = AuthContextHolder.requireUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        User user = currentUserResolver.requireReference();
         FavoriteFolder folder = favoriteFolderRepository.findById(folderId)
                 .orElseThrow(() -> new NotFoundException("收藏夹不存在"));
         if (!Objects.equals(folder.getUser().getId(), user.getId())) {
@@ -106,11 +113,10 @@ public class FavoriteServiceImpl implements FavoriteService {
     @Transactional
     public void favorite(FavoriteRequest request) {
         Long userId = AuthContextHolder.requireUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        User user = currentUserResolver.requireReference();
         String targetType = normalizeType(request.normalizedTargetType());
         Long targetId = Objects.requireNonNull(request.getTargetId(), "目标ID不能为空");
-        TargetContext context = resolveTarget(targetType, targetId);
+        targetResolver.requireVisible(targetType, targetId, userId);
 
         FavoriteFolder folder = null;
         if (request.getFolderId() != null) {
@@ -131,7 +137,8 @@ public class FavoriteServiceImpl implements FavoriteService {
                     .folder(folder)
                     .build();
             favoriteRepository.save(favorite);
-            context.increaseFavoriteCount();
+            targetResolver.applyDelta(targetType, targetId, TargetResolver.Counter.FAVORITE, 1);
+            viewerStateResolver.evict(userId, ViewerStateResolver.Relation.FAVORITE, targetType, targetId);
         } else {
             favorite.setFolder(folder);
         }
@@ -143,33 +150,43 @@ public class FavoriteServiceImpl implements FavoriteService {
         Long userId = AuthContextHolder.requireUserId();
         String targetType = normalizeType(targetTypeParam == null ? null : targetTypeParam.trim().toLowerCase());
         Long finalTargetId = Objects.requireNonNull(targetId, "目标ID不能为空");
-        TargetContext context = resolveTarget(targetType, finalTargetId);
         favoriteRepository.findByUser_IdAndTargetTypeAndTargetId(userId, targetType, finalTargetId)
                 .ifPresent(favorite -> {
                     favoriteRepository.delete(favorite);
-                    context.decreaseFavoriteCount();
+                    targetResolver.applyDelta(targetType, finalTargetId, TargetResolver.Counter.FAVORITE, -1);
+                    viewerStateResolver.evict(userId, ViewerStateResolver.Relation.FAVORITE, targetType, finalTargetId);
                 });
     }
 
     @Override
     public PageResult<FavoriteItemResponse> listFavorites(FavoriteQueryRequest request) {
         Long userId = AuthContextHolder.requireUserId();
+        Specification<Favorite> specification = buildSpecification(userId, request);
+        if (request.cursorMode()) {
+            int size = Math.max(1, Optional.ofNullable(request.getPageSize()).orElse(20));
+            KeysetSlice<Favorite> slice = KeysetSlice.of(
+                    favoriteRepository.findSlice(specification.and(FAVORITE_ORDER.after(PageCursor.decode(request.getCursor()))),
+                            FAVORITE_ORDER.toSort(), size + 1),
+                    size,
+                    FAVORITE_ORDER::positionOf);
+            return PageResult.ofCursor(toFavoriteItems(slice.content()), size, slice.nextCursor());
+        }
         Pageable pageable = PageRequest.of(
                 Math.max(0, Optional.ofNullable(request.getPage()).orElse(1) - 1),
                 Optional.ofNullable(request.getPageSize()).orElse(20),
                 Sort.by(Sort.Order.desc("createdAt"))
         );
-        Specification<Favorite> specification = buildSpecification(userId, request);
         Page<Favorite> page = favoriteRepository.findAll(specification, pageable);
+        return PageResult.of(toFavoriteItems(page.getContent()), pageable.getPageNumber() + 1, pageable.getPageSize(), page.getTotalElements());
+    }
 
-        Map<Long, Article> articleMap = loadArticles(page.getContent());
-        Map<Long, Answer> answerMap = loadAnswers(page.getContent());
-
-        List<FavoriteItemResponse> items = page.stream()
-                .map(favorite -> toFavoriteItemResponse(favorite, articleMap, answerMap))
+    private List<FavoriteItemResponse> toFavoriteItems(List<Favorite> favorites) {
+        Map<Long, ArticleListView> articleMap = loadArticles(favorites);
+        Map<Long, Answer> answerMap = loadAnswers(favorites);
+        AuthorCards authors = authorCardCache.load(articleMap.values(), article -> article.getUser().getId());
+        return favorites.stream()
+                .map(favorite -> toFavoriteItemResponse(favorite, articleMap, answerMap, authors))
                 .collect(Collectors.toList());
-
-        return PageResult.of(items, pageable.getPageNumber() + 1, pageable.getPageSize(), page.getTotalElements());
     }
 
     private Specification<Favorite> buildSpecification(Long userId, FavoriteQueryRequest request) {
@@ -200,9 +217,10 @@ public class FavoriteServiceImpl implements FavoriteService {
     }
 
     private FavoriteItemResponse toFavoriteItemResponse(Favorite favorite,
-                                                        Map<Long, Article> articleMap,
-                                                        Map<Long, Answer> answerMap) {
-        FavoriteItemResponse.TargetInfo targetInfo = buildTargetInfo(favorite, articleMap, answerMap);
+                                                        Map<Long, ArticleListView> articleMap,
+                                                        Map<Long, Answer> answerMap,
+                                                        AuthorCards authors) {
+        FavoriteItemResponse.TargetInfo targetInfo = buildTargetInfo(favorite, articleMap, answerMap, authors);
         FavoriteItemResponse.FolderInfo folderInfo = favorite.getFolder() == null ? null :
                 new FavoriteItemResponse.FolderInfo(favorite.getFolder().getId(), favorite.getFolder().getName());
         return FavoriteItemResponse.builder()
@@ -215,18 +233,19 @@ public class FavoriteServiceImpl implements FavoriteService {
     }
 
     private FavoriteItemResponse.TargetInfo buildTargetInfo(Favorite favorite,
-                                                            Map<Long, Article> articleMap,
-                                                            Map<Long, Answer> answerMap) {
+                                                            Map<Long, ArticleListView> articleMap,
+                                                            Map<Long, Answer> answerMap,
+                                                            AuthorCards authors) {
         switch (favorite.getTargetType()) {
             case "article" -> {
-                Article article = articleMap.get(favorite.getTargetId());
+                ArticleListView article = articleMap.get(favorite.getTargetId());
                 if (article == null) {
                     return new FavoriteItemResponse.TargetInfo(favorite.getTargetId(), "已删除的文章", "-", null);
                 }
                 return new FavoriteItemResponse.TargetInfo(
                         article.getId(),
                         article.getTitle(),
-                        article.getUser().getNickname(),
+                        authors.get(article.getUser().getId()).nickname(),
                         article.getCreatedAt()
                 );
             }
@@ -247,7 +266,7 @@ public class FavoriteServiceImpl implements FavoriteService {
         }
     }
 
-    private Map<Long, Article> loadArticles(List<Favorite> favorites) {
+    private Map<Long, ArticleListView> loadArticles(List<Favorite> favorites) {
         List<Long> ids = favorites.stream()
                 .filter(fav -> "article".equals(fav.getTargetType()))
                 .map(Favorite::getTargetId)
@@ -256,8 +275,8 @@ public class FavoriteServiceImpl implements FavoriteService {
         if (ids.isEmpty()) {
             return Collections.emptyMap();
         }
-        return articleRepository.findAllById(ids).stream()
-                .collect(Collectors.toMap(Article::getId, article -> article));
+        return articleListViewRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ArticleListView::getId, article -> article));
     }
 
     private Map<Long, Answer> loadAnswers(List<Favorite> favorites) {
@@ -283,43 +302,4 @@ public class FavoriteServiceImpl implements FavoriteService {
         }
         return normalized;
     }
-
-    private TargetContext resolveTarget(String type, Long targetId) {
-        return switch (type) {
-            case "article" -> {
-                Article article = articleRepository.findById(targetId)
-                        .orElseThrow(() -> new NotFoundException("文章不存在"));
-                yield TargetContext.article(article);
-            }
-            case "answer" -> {
-                Answer answer = answerRepository.findById(targetId)
-                        .orElseThrow(() -> new NotFoundException("回答不存在"));
-                yield TargetContext.answer(answer);
-            }
-            default -> throw new ValidationException("暂不支持该收藏类型");
-        };
-    }
-
-    private record TargetContext(Article article, Answer answer) {
-        static TargetContext article(Article article) {
-            return new TargetContext(article, null);
-        }
-
-        static TargetContext answer(Answer answer) {
-            return new TargetContext(null, answer);
-        }
-
-        void increaseFavoriteCount() {
-            if (article != null) {
-                article.setFavoriteCount(article.getFavoriteCount() + 1);
-            }
-        }
-
-        void decreaseFavoriteCount() {
-            if (article != null) {
-                article.setFavoriteCount(Math.max(0, article.getFavoriteCount() - 1));
-            }
-        }
-    }
 }
-
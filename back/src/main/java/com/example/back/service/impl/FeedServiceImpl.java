@@ -1,22 +1,32 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.AuthorCard;
+import com.example.back.cache.AuthorCardCache;
+import com.example.back.cache.AuthorCards;
+import com.example.back.cache.ViewerState;
+import com.example.back.cache.ViewerStateResolver;
+import com.example.back.common.Constants;
+import com.example.back.common.PageCursor;
 import com.example.back.common.PageResult;
 import com.example.back.context.AuthContextHolder;
 import com.example.back.dto.request.FeedQueryRequest;
 import com.example.back.dto.response.FeedItemResponse;
-import com.example.back.entity.Article;
+import com.example.back.entity.ArticleListView;
 import com.example.back.entity.Question;
-import com.example.back.repository.ArticleRepository;
-import com.example.back.repository.FollowRepository;
+import com.example.back.feed.FeedTimelineService;
+import com.example.back.feed.TimelineEntry;
+import com.example.back.feed.TimelinePage;
+import com.example.back.repository.ArticleListViewRepository;
 import com.example.back.repository.QuestionRepository;
 import com.example.back.service.FeedService;
+import com.example.back.storage.FileStorageService;
+import com.example.back.storage.ImageVariant;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Feed服务实现
@@ -25,102 +35,107 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class FeedServiceImpl implements FeedService {
 
-    private static final int MAX_FETCH_MULTIPLIER = 3;
-
-    private final FollowRepository followRepository;
-    private final ArticleRepository articleRepository;
+    private final FeedTimelineService feedTimelineService;
+    private final ArticleListViewRepository articleListViewRepository;
     private final QuestionRepository questionRepository;
+    private final ViewerStateResolver viewerStateResolver;
+    private final AuthorCardCache authorCardCache;
+    private final FileStorageService fileStorageService;
 
     @Override
     public PageResult<FeedItemResponse> getFeed(FeedQueryRequest request) {
         Long userId = AuthContextHolder.requireUserId();
-        List<Long> followingIds = followRepository.findFollowingIdsByFollowerId(userId);
-        int page = Math.max(0, Optional.ofNullable(request.getPage()).orElse(1) - 1);
         int size = Optional.ofNullable(request.getPageSize()).orElse(20);
-        if (followingIds.isEmpty()) {
-            return PageResult.of(Collections.emptyList(), page + 1, size, 0L);
-        }
-        return switch (request.normalizedType()) {
-            case "articles" -> buildArticleFeed(followingIds, page, size);
-            case "questions" -> buildQuestionFeed(followingIds, page, size);
-            case "videos" -> PageResult.of(Collections.emptyList(), page + 1, size, 0L);
-            default -> buildMixedFeed(followingIds, page, size);
+        int page = Math.max(1, Optional.ofNullable(request.getPage()).orElse(1));
+        List<String> contentTypes = switch (request.normalizedType()) {
+            case "articles" -> List.of(Constants.TYPE_ARTICLE);
+            case "questions" -> List.of(Constants.TYPE_QUESTION);
+            case "videos" -> Collections.emptyList();
+            default -> List.of(Constants.TYPE_ARTICLE, Constants.TYPE_QUESTION);
         };
-    }
-
-    private PageResult<FeedItemResponse> buildArticleFeed(List<Long> userIds, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        // 使用 @EntityGraph 预加载 user 关联
-        Page<Article> articlePage = articleRepository.findByUser_IdIn(userIds, pageable);
-        List<FeedItemResponse> items = articlePage.stream()
-                .map(this::toArticleFeedItem)
-                .collect(Collectors.toList());
-        return PageResult.of(items, page + 1, size, articlePage.getTotalElements());
-    }
+        if (contentTypes.isEmpty()) {
+            return request.cursorMode()
+                    ? PageResult.ofCursor(Collections.emptyList(), size, null)
+                    : PageResult.of(Collections.emptyList(), page, size, 0L);
+        }
 
-    private PageResult<FeedItemResponse> buildQuestionFeed(List<Long> userIds, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        // 使用 @EntityGraph 预加载 user 关联
-        Page<Question> questionPage = questionRepository.findByUser_IdIn(userIds, pageable);
-        List<FeedItemResponse> items = questionPage.stream()
-                .map(this::toQuestionFeedItem)
-                .collect(Collectors.toList());
-        return PageResult.of(items, page + 1, size, questionPage.getTotalElements());
+        PageCursor cursor = request.cursorMode() ? PageCursor.decode(request.getCursor()) : null;
+        int skip = request.cursorMode() ? 0 : (page - 1) * size;
+        TimelinePage timeline = feedTimelineService.read(userId, contentTypes, cursor, skip, size);
+
+        Map<Long, ArticleListView> articles = loadContents(timeline.entries(), Constants.TYPE_ARTICLE,
+                articleListViewRepository::findAllById, ArticleListView::getId);
+        Map<Long, Question> questions = loadContents(timeline.entries(), Constants.TYPE_QUESTION,
+                questionRepository::findAllById, Question::getId);
+        ViewerState viewerState = viewerStateResolver.resolve(Map.of(
+                Constants.TYPE_ARTICLE, articles.keySet(),
+                Constants.TYPE_QUESTION, questions.keySet()));
+        List<Long> authorIds = new ArrayList<>();
+        articles.values().forEach(article -> authorIds.add(article.getUser().getId()));
+        questions.values().forEach(question -> authorIds.add(question.getUser().getId()));
+        AuthorCards authors = authorCardCache.load(authorIds);
+        List<FeedItemResponse> items = new ArrayList<>();
+        for (TimelineEntry entry : timeline.entries()) {
+            if (Constants.TYPE_ARTICLE.equals(entry.contentType())) {
+                Optional.ofNullable(articles.get(entry.contentId()))
+                        .ifPresent(article -> items.add(toArticleFeedItem(article, viewerState, authors)));
+            } else {
+                Optional.ofNullable(questions.get(entry.contentId()))
+                        .ifPresent(question -> items.add(toQuestionFeedItem(question, viewerState, authors)));
+            }
+        }
+        if (request.cursorMode()) {
+            return PageResult.ofCursor(items, size, timeline.nextCursor());
+        }
+        return PageResult.of(items, page, size, feedTimelineService.count(userId, contentTypes));
     }
 
-    private PageResult<FeedItemResponse> buildMixedFeed(List<Long> userIds, int page, int size) {
-        int fetchSize = Math.min(500, (page + 1) * size * MAX_FETCH_MULTIPLIER);
-        Pageable fetchPageable = PageRequest.of(0, fetchSize, Sort.by(Sort.Direction.DESC, "createdAt"));
-
-        // 使用 @EntityGraph 预加载 user 关联
-        List<FeedItemResponse> articleItems = articleRepository.findByUser_IdIn(userIds, fetchPageable).stream()
-                .map(this::toArticleFeedItem)
-                .collect(Collectors.toList());
-        List<FeedItemResponse> questionItems = questionRepository.findByUser_IdIn(userIds, fetchPageable).stream()
-                .map(this::toQuestionFeedItem)
-                .collect(Collectors.toList());
-
-        List<FeedItemResponse> merged = Stream.concat(articleItems.stream(), questionItems.stream())
-                .sorted(Comparator.comparing(FeedItemResponse::getCreatedAt).reversed())
+    private <T> Map<Long, T> loadContents(List<TimelineEntry> entries, String contentType,
+                                          Function<List<Long>, List<T>> loader, Function<T, Long> idGetter) {
+        List<Long> ids = entries.stream()
+                .filter(entry -> contentType.equals(entry.contentType()))
+                .map(TimelineEntry::contentId)
                 .collect(Collectors.toList());
-
-        int fromIndex = Math.min(page * size, merged.size());
-        int toIndex = Math.min(fromIndex + size, merged.size());
-        List<FeedItemResponse> pageItems = merged.subList(fromIndex, toIndex);
-
-        long total = articleRepository.countByUser_IdIn(userIds) + questionRepository.countByUser_IdIn(userIds);
-        return PageResult.of(pageItems, page + 1, size, total);
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return loader.apply(ids).stream()
+                .collect(Collectors.toMap(idGetter, item -> item));
     }
 
-    private FeedItemResponse toArticleFeedItem(Article article) {
+    private FeedItemResponse toArticleFeedItem(ArticleListView article, ViewerState viewerState, AuthorCards authors) {
+        AuthorCard author = authors.get(article.getUser().getId());
         return FeedItemResponse.builder()
                 .type("article")
                 .content(new FeedItemResponse.Content(
                         article.getId(),
                         article.getTitle(),
-                        article.getSummary(),
-                        article.getCoverImage(),
+                        article.summaryOrExcerpt(),
+                        fileStorageService.variantUrl(article.getCoverImage(), ImageVariant.COVER_LIST),
                         article.getViewCount(),
                         article.getLikeCount(),
                         article.getCommentCount(),
                         null
                 ))
                 .author(new FeedItemResponse.AuthorInfo(
-                        article.getUser().getId(),
-                        article.getUser().getNickname(),
-                        article.getUser().getAvatar()
+                        author.id(),
+                        author.nickname(),
+                        author.avatar()
                 ))
                 .createdAt(article.getCreatedAt())
+                .liked(viewerState.liked(Constants.TYPE_ARTICLE, article.getId()))
+                .favorited(viewerState.favorited(Constants.TYPE_ARTICLE, article.getId()))
                 .build();
     }
 
-    private FeedItemResponse toQuestionFeedItem(Question question) {
+    private FeedItemResponse toQuestionFeedItem(Question question, ViewerState viewerState, AuthorCards authors) {
+        AuthorCard author = authors.get(question.getUser().getId());
         return FeedItemResponse.builder()
                 .type("question")
                 .content(new FeedItemResponse.Content(
                         question.getId(),
                         question.getTitle(),
-                        question.getDescription(),
+                        question.getExcerpt(),
                         null,
                         question.getViewCount(),
                         null,
@@ -128,11 +143,12 @@ public class FeedServiceImpl implements FeedService {
                         question.getAnswerCount()
                 ))
                 .author(new FeedItemResponse.AuthorInfo(
-                        question.getUser().getId(),
-                        question.getUser().getNickname(),
-                        question.getUser().getAvatar()
+                        author.id(),
+                        author.nickname(),
+                        author.avatar()
                 ))
                 .createdAt(question.getCreatedAt())
+                .followed(viewerState.followed(Constants.TYPE_QUESTION, question.getId()))
                 .build();
     }
 }
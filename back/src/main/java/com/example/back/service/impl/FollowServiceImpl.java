@@ -1,5 +1,8 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.ViewerStateResolver;
+import com.example.back.common.Constants;
+import com.example.back.common.PageCursor;
 import com.example.back.common.PageResult;
 import com.example.back.context.AuthContextHolder;
 import com.example.back.context.AuthUser;
@@ -8,19 +11,26 @@ import com.example.back.entity.Follow;
 import com.example.back.entity.User;
 import com.example.back.exception.NotFoundException;
 import com.example.back.exception.ValidationException;
+import com.example.back.feed.FeedTimelineService;
 import com.example.back.repository.FollowRepository;
-import com.example.back.repository.UserRepository;
+import com.example.back.repository.support.KeysetOrder;
+import com.example.back.repository.support.KeysetSlice;
+import com.example.back.repository.support.RequestEntityLoader;
 import com.example.back.service.FollowService;
 import com.example.back.service.NotificationService;
+import com.example.back.stats.DailyStatsService;
+import com.example.back.stats.UserStatsCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -30,9 +40,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FollowServiceImpl implements FollowService {
 
+    private static final KeysetOrder FOLLOW_ORDER = KeysetOrder.desc("createdAt");
+
     private final FollowRepository followRepository;
-    private final UserRepository userRepository;
+    private final RequestEntityLoader entityLoader;
     private final NotificationService notificationService;
+    private final FeedTimelineService feedTimelineService;
+    private final UserStatsCache userStatsCache;
+    private final DailyStatsService dailyStatsService;
+    private final ViewerStateResolver viewerStateResolver;
 
     @Override
     @Transactional
@@ -41,9 +57,10 @@ public class FollowServiceImpl implements FollowService {
         if (Objects.equals(currentUserId, userId)) {
             throw new ValidationException("不能关注自己");
         }
-        User follower = userRepository.findById(currentUserId)
+        entityLoader.prime(User.class, List.of(currentUserId, userId));
+        User follower = entityLoader.find(User.class, currentUserId)
                 .orElseThrow(() -> new NotFoundException("当前用户不存在"));
-        User following = userRepository.findById(userId)
+        User following = entityLoader.find(User.class, userId)
                 .orElseThrow(() -> new NotFoundException("目标用户不存在"));
         if (followRepository.existsByFollowerAndFollowing(follower, following)) {
             return;
@@ -53,6 +70,10 @@ public class FollowServiceImpl implements FollowService {
                 .following(following)
                 .build();
         followRepository.save(follow);
+        feedTimelineService.onFollow(follower.getId(), following.getId());
+        dailyStatsService.record(following.getId(), DailyStatsService.METRIC_FOLLOWER, follow.getCreatedAt(), 1);
+        userStatsCache.evict(following.getId());
+        viewerStateResolver.evict(follower.getId(), ViewerStateResolver.Relation.FOLLOW, Constants.TYPE_USER, following.getId());
         notificationService.sendFollowNotification(follower, following);
     }
 
@@ -63,27 +84,40 @@ public class FollowServiceImpl implements FollowService {
         if (Objects.equals(currentUserId, userId)) {
             return;
         }
-        User follower = userRepository.findById(currentUserId)
+        entityLoader.prime(User.class, List.of(currentUserId, userId));
+        User follower = entityLoader.find(User.class, currentUserId)
                 .orElseThrow(() -> new NotFoundException("当前用户不存在"));
-        User following = userRepository.findById(userId)
+        User following = entityLoader.find(User.class, userId)
                 .orElseThrow(() -> new NotFoundException("目标用户不存在"));
         followRepository.findByFollowerAndFollowing(follower, following)
-                .ifPresent(followRepository::delete);
+                .ifPresent(follow -> {
+                    followRepository.delete(follow);
+                    feedTimelineService.onUnfollow(follower.getId(), following.getId());
+                    dailyStatsService.record(following.getId(), DailyStatsService.METRIC_FOLLOWER, follow.getCreatedAt(), -1);
+                    userStatsCache.evict(following.getId());
+                    viewerStateResolver.evict(follower.getId(), ViewerStateResolver.Relation.FOLLOW, Constants.TYPE_USER, following.getId());
+                });
     }
 
     @Override
-    public PageResult<FollowUserItemResponse> getFollowing(Long userId, Integer page, Integer pageSize) {
-        User targetUser = userRepository.findById(userId)
+    public PageResult<FollowUserItemResponse> getFollowing(Long userId, Integer page, Integer pageSize, String cursor) {
+        User targetUser = entityLoader.find(User.class, userId)
                 .orElseThrow(() -> new NotFoundException("用户不存在"));
+        if (cursor != null) {
+            return buildCursorResult("follower", targetUser.getId(), pageSize, cursor, Follow::getFollowing);
+        }
         Pageable pageable = buildPageable(page, pageSize);
         Page<Follow> followPage = followRepository.findByFollower(targetUser, pageable);
         return buildResult(followPage, Follow::getFollowing);
     }
 
     @Override
-    public PageResult<FollowUserItemResponse> getFollowers(Long userId, Integer page, Integer pageSize) {
-        User targetUser = userRepository.findById(userId)
+    public PageResult<FollowUserItemResponse> getFollowers(Long userId, Integer page, Integer pageSize, String cursor) {
+        User targetUser = entityLoader.find(User.class, userId)
                 .orElseThrow(() -> new NotFoundException("用户不存在"));
+        if (cursor != null) {
+            return buildCursorResult("following", targetUser.getId(), pageSize, cursor, Follow::getFollower);
+        }
         Pageable pageable = buildPageable(page, pageSize);
         Page<Follow> followPage = followRepository.findByFollowing(targetUser, pageable);
         return buildResult(followPage, Follow::getFollower);
@@ -96,17 +130,43 @@ public class FollowServiceImpl implements FollowService {
     }
 
     private PageResult<FollowUserItemResponse> buildResult(Page<Follow> followPage,
-                                                           java.util.function.Function<Follow, User> userExtractor) {
-        List<User> users = followPage.stream()
+                                                           Function<Follow, User> userExtractor) {
+        return PageResult.of(toItems(followPage.getContent(), userExtractor),
+                followPage.getNumber() + 1,
+                followPage.getSize(),
+                followPage.getTotalElements());
+    }
+
+    /**
+     * 游标分页：按（关注时间, id）倒序向后读取，不统计总数
+     *
+     * @param side 按关注关系哪一侧过滤：follower 查关注列表，following 查粉丝列表
+     */
+    private PageResult<FollowUserItemResponse> buildCursorResult(String side, Long userId, Integer pageSize, String cursor,
+                                                                 Function<Follow, User> userExtractor) {
+        int size = Math.max(1, Optional.ofNullable(pageSize).orElse(20));
+        Specification<Follow> owner = (root, query, cb) -> cb.equal(root.get(side).get("id"), userId);
+        Specification<Follow> specification = owner.and(FOLLOW_ORDER.after(PageCursor.decode(cursor)));
+        KeysetSlice<Follow> slice = KeysetSlice.of(
+                followRepository.findSlice(specification, FOLLOW_ORDER.toSort(), size + 1),
+                size,
+                FOLLOW_ORDER::positionOf);
+        return PageResult.ofCursor(toItems(slice.content(), userExtractor), size, slice.nextCursor());
+    }
+
+    private List<FollowUserItemResponse> toItems(List<Follow> follows, Function<Follow, User> userExtractor) {
+        List<User> users = follows.stream()
                 .map(userExtractor)
                 .collect(Collectors.toList());
         List<Long> userIds = users.stream().map(User::getId).distinct().toList();
+        // 关联用户是懒加载代理，读取 id 不会触发查询；先一次批量加载，映射时不再逐行查询
+        entityLoader.findAll(User.class, userIds);
 
         Map<Long, Long> followerCountMap = countFollowers(userIds);
         Map<Long, Long> followingCountMap = countFollowing(userIds);
         Set<Long> viewerFollowing = resolveViewerFollowing(userIds);
 
-        List<FollowUserItemResponse> items = followPage.stream()
+        return follows.stream()
                 .map(follow -> {
                     User user = userExtractor.apply(follow);
                     return FollowUserItemResponse.builder()
@@ -122,11 +182,6 @@ public class FollowServiceImpl implements FollowService {
                             .build();
                 })
                 .collect(Collectors.toList());
-
-        return PageResult.of(items,
-                followPage.getNumber() + 1,
-                followPage.getSize(),
-                followPage.getTotalElements());
     }
 
     private Map<Long, Long> countFollowers(List<Long> userIds) {
@@ -1,16 +1,14 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.TargetResolver;
+import com.example.back.cache.ViewerStateResolver;
 import com.example.back.context.AuthContextHolder;
 import com.example.back.dto.request.LikeRequest;
 import com.example.back.dto.response.LikeStatusResponse;
-import com.example.back.entity.Article;
-import com.example.back.entity.Like;
-import com.example.back.entity.User;
 import com.example.back.exception.NotFoundException;
 import com.example.back.exception.ValidationException;
-import com.example.back.repository.ArticleRepository;
+import com.example.back.repository.CommentRepository;
 import com.example.back.repository.LikeRepository;
-import com.example.back.repository.UserRepository;
 import com.example.back.service.LikeService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -26,11 +24,12 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class LikeServiceImpl implements LikeService {
 
-    private static final Set<String> SUPPORTED_TARGETS = Set.of("article", "answer", "video");
+    private static final Set<String> SUPPORTED_TARGETS = Set.of("article", "answer", "comment", "video");
 
     private final LikeRepository likeRepository;
-    private final UserRepository userRepository;
-    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final TargetResolver targetResolver;
+    private final ViewerStateResolver viewerStateResolver;
 
     @Override
     @Transactional
@@ -38,40 +37,30 @@ public class LikeServiceImpl implements LikeService {
         Long userId = AuthContextHolder.requireUserId();
         String targetType = normalizeType(request.normalizedTargetType());
         Long targetId = Objects.requireNonNull(request.getTargetId(), "目标ID不能为空");
-        TargetContext context = resolveTarget(targetType, targetId);
+        ensureLikable(targetType, targetId, userId);
 
-        boolean liked = likeRepository.findByUser_IdAndTargetTypeAndTargetId(userId, targetType, targetId).isPresent();
-        if (!liked) {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new NotFoundException("用户不存在"));
-            Like like = Like.builder()
-                    .targetType(targetType)
-                    .targetId(targetId)
-                    .user(user)
-                    .build();
-            likeRepository.save(like);
-            context.increaseLikeCount();
-            liked = true;
+        int delta = likeRepository.insertIfAbsent(userId, targetType, targetId);
+        if (delta > 0) {
+            applyLikeDelta(targetType, targetId, delta);
+            viewerStateResolver.evict(userId, ViewerStateResolver.Relation.LIKE, targetType, targetId);
         }
-        int count = Math.toIntExact(likeRepository.countByTargetTypeAndTargetId(targetType, targetId));
-        context.syncLikeCount(count);
-        return new LikeStatusResponse(count, liked);
+        return new LikeStatusResponse(likeCountOf(targetType, targetId), true);
     }
 
+    /**
+     * 取消只删除本人的点赞关系，关系不存在时无操作，无需先读取目标
+     */
     @Override
     @Transactional
     public void cancel(String targetTypeParam, Long targetId) {
         Long userId = AuthContextHolder.requireUserId();
         String targetType = normalizeType(targetTypeParam == null ? null : targetTypeParam.trim().toLowerCase());
         Long finalTargetId = Objects.requireNonNull(targetId, "目标ID不能为空");
-        TargetContext context = resolveTarget(targetType, finalTargetId);
-        likeRepository.findByUser_IdAndTargetTypeAndTargetId(userId, targetType, finalTargetId)
-                .ifPresent(like -> {
-                    likeRepository.delete(like);
-                    context.decreaseLikeCount();
-                    int count = Math.toIntExact(likeRepository.countByTargetTypeAndTargetId(targetType, finalTargetId));
-                    context.syncLikeCount(count);
-                });
+        int removed = likeRepository.deleteByUserAndTarget(userId, targetType, finalTargetId);
+        if (removed > 0) {
+            applyLikeDelta(targetType, finalTargetId, -removed);
+            viewerStateResolver.evict(userId, ViewerStateResolver.Relation.LIKE, targetType, finalTargetId);
+        }
     }
 
     private String normalizeType(String type) {
@@ -85,44 +74,36 @@ public class LikeServiceImpl implements LikeService {
         return normalized;
     }
 
-    private TargetContext resolveTarget(String type, Long targetId) {
-        return switch (type) {
-            case "article" -> {
-                Article article = articleRepository.findById(targetId)
-                        .orElseThrow(() -> new NotFoundException("文章不存在"));
-                yield TargetContext.forArticle(article);
+    private void ensureLikable(String type, Long targetId, Long userId) {
+        switch (type) {
+            case "comment" -> {
+                if (!commentRepository.existsById(targetId)) {
+                    throw new NotFoundException("评论不存在");
+                }
             }
-            case "answer", "video" -> TargetContext.simple();
-            default -> throw new ValidationException("暂不支持该点赞类型");
-        };
-    }
-
-    private record TargetContext(Article article) {
-        static TargetContext forArticle(Article article) {
-            return new TargetContext(article);
-        }
-
-        static TargetContext simple() {
-            return new TargetContext(null);
-        }
-
-        void increaseLikeCount() {
-            if (article != null) {
-                article.setLikeCount(article.getLikeCount() + 1);
+            // 视频暂无实体映射，只记录点赞关系
+            case "video" -> {
             }
+            default -> targetResolver.requireVisible(type, targetId, userId);
         }
+    }
 
-        void decreaseLikeCount() {
-            if (article != null) {
-                article.setLikeCount(Math.max(0, article.getLikeCount() - 1));
-            }
+    /**
+     * 计数只按增量更新，偏差由 {@link com.example.back.counter.LikeCountReconciler} 定期校正
+     */
+    private void applyLikeDelta(String type, Long targetId, int delta) {
+        if ("comment".equals(type)) {
+            commentRepository.addLikeCount(targetId, delta);
+        } else {
+            targetResolver.applyDelta(type, targetId, TargetResolver.Counter.LIKE, delta);
         }
+    }
 
-        void syncLikeCount(int count) {
-            if (article != null) {
-                article.setLikeCount(count);
-            }
-        }
+    private Integer likeCountOf(String type, Long targetId) {
+        return switch (type) {
+            case "comment" -> commentRepository.findLikeCount(targetId);
+            case "video" -> Math.toIntExact(likeRepository.countByTargetTypeAndTargetId(type, targetId));
+            default -> targetResolver.likeCount(type, targetId);
+        };
     }
 }
-
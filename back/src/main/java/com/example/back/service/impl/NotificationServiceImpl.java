@@ -1,7 +1,11 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.AuthorCard;
+import com.example.back.cache.AuthorCardCache;
+import com.example.back.cache.AuthorCards;
+import com.example.back.common.PageCursor;
 import com.example.back.common.PageResult;
-import com.example.back.context.AuthContextHolder;
+import com.example.back.context.CurrentUserResolver;
 import com.example.back.dto.request.NotificationQueryRequest;
 import com.example.back.dto.response.NotificationListResponse;
 import com.example.back.dto.response.NotificationMarkAllResponse;
@@ -12,7 +16,8 @@ import com.example.back.entity.User;
 import com.example.back.exception.ForbiddenException;
 import com.example.back.exception.NotFoundException;
 import com.example.back.repository.NotificationRepository;
-import com.example.back.repository.UserRepository;
+import com.example.back.repository.support.KeysetOrder;
+import com.example.back.repository.support.KeysetSlice;
 import com.example.back.service.NotificationService;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.transaction.Transactional;
@@ -32,29 +37,49 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final KeysetOrder NOTIFICATION_ORDER = KeysetOrder.desc("createdAt");
+
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final AuthorCardCache authorCardCache;
 
     @Override
     public NotificationListResponse getNotifications(NotificationQueryRequest request) {
         User user = currentUser();
-        Pageable pageable = PageRequest.of(
-                Math.max(0, Optional.ofNullable(request.getPage()).orElse(1) - 1),
-                Optional.ofNullable(request.getPageSize()).orElse(20),
-                Sort.by(Sort.Direction.DESC, "createdAt")
-        );
         Specification<Notification> specification = buildSpecification(user, request);
-        Page<Notification> page = notificationRepository.findAll(specification, pageable);
-        List<NotificationResponse> items = page.stream()
-                .map(this::toResponse)
+        List<Notification> notifications;
+        PageResult.Pagination pagination;
+        if (request.cursorMode()) {
+            int size = Math.max(1, Optional.ofNullable(request.getPageSize()).orElse(20));
+            KeysetSlice<Notification> slice = KeysetSlice.of(
+                    notificationRepository.findSlice(specification.and(NOTIFICATION_ORDER.after(PageCursor.decode(request.getCursor()))),
+                            NOTIFICATION_ORDER.toSort(), size + 1),
+                    size,
+                    NOTIFICATION_ORDER::positionOf);
+            notifications = slice.content();
+            pagination = new PageResult.Pagination(null, size, null, null, slice.nextCursor());
+        } else {
+            Pageable pageable = PageRequest.of(
+                    Math.max(0, Optional.ofNullable(request.getPage()).orElse(1) - 1),
+                    Optional.ofNullable(request.getPageSize()).orElse(20),
+                    Sort.by(Sort.Direction.DESC, "createdAt")
+            );
+            Page<Notification> page = notificationRepository.findAll(specification, pageable);
+            notifications = page.getContent();
+            pagination = new PageResult.Pagination(
+                    page.getNumber() + 1,
+                    page.getSize(),
+                    page.getTotalElements(),
+                    page.getTotalPages(),
+                    null
+            );
+        }
+        AuthorCards senders = authorCardCache.load(notifications,
+                notification -> notification.getSender() == null ? null : notification.getSender().getId());
+        List<NotificationResponse> items = notifications.stream()
+                .map(notification -> toResponse(notification, senders))
                 .collect(Collectors.toList());
         long unreadCount = notificationRepository.countByUserAndReadIsFalse(user);
-        PageResult.Pagination pagination = new PageResult.Pagination(
-                page.getNumber() + 1,
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages()
-        );
         return NotificationListResponse.builder()
                 .items(items)
                 .pagination(pagination)
@@ -109,9 +134,7 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     private User currentUser() {
-        Long userId = AuthContextHolder.requireUserId();
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        return currentUserResolver.requireReference();
     }
 
     private Specification<Notification> buildSpecification(User user, NotificationQueryRequest request) {
@@ -129,13 +152,14 @@ public class NotificationServiceImpl implements NotificationService {
         };
     }
 
-    private NotificationResponse toResponse(Notification notification) {
+    private NotificationResponse toResponse(Notification notification, AuthorCards senders) {
         NotificationResponse.FromUser fromUser = null;
         if (notification.getSender() != null) {
+            AuthorCard sender = senders.get(notification.getSender().getId());
             fromUser = new NotificationResponse.FromUser(
-                    notification.getSender().getId(),
-                    notification.getSender().getNickname(),
-                    notification.getSender().getAvatar()
+                    sender.id(),
+                    sender.nickname(),
+                    sender.avatar()
             );
         }
         return NotificationResponse.builder()
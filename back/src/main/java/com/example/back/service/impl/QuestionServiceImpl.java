@@ -1,7 +1,18 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.AuthorCard;
+import com.example.back.cache.AuthorCardCache;
+import com.example.back.cache.AuthorCards;
+import com.example.back.cache.TargetResolver;
+import com.example.back.cache.ViewerState;
+import com.example.back.cache.ViewerStateResolver;
+import com.example.back.common.Constants;
+import com.example.back.common.PageCursor;
 import com.example.back.common.PageResult;
+import com.example.back.content.ContentMetrics;
 import com.example.back.context.AuthContextHolder;
+import com.example.back.context.CurrentUserResolver;
+import com.example.back.counter.ViewCountBuffer;
 import com.example.back.dto.request.QuestionQueryRequest;
 import com.example.back.dto.request.QuestionRequest;
 import com.example.back.dto.response.QuestionDetailResponse;
@@ -11,15 +22,22 @@ import com.example.back.entity.*;
 import com.example.back.exception.ForbiddenException;
 import com.example.back.exception.NotFoundException;
 import com.example.back.exception.ValidationException;
+import com.example.back.feed.FeedTimelineService;
 import com.example.back.repository.*;
+import com.example.back.repository.support.IdPager;
+import com.example.back.repository.support.KeysetOrder;
+import com.example.back.repository.support.KeysetSlice;
+import com.example.back.repository.support.TagFilter;
+import com.example.back.search.SearchIndexService;
 import com.example.back.service.QuestionService;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
-import jakarta.transaction.Transactional;
+import com.example.back.stats.DailyStatsService;
+import com.example.back.stats.UserStatsCache;
+import com.example.back.tag.TagIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -38,15 +56,25 @@ public class QuestionServiceImpl implements QuestionService {
     private final QuestionFollowRepository questionFollowRepository;
     private final AnswerRepository answerRepository;
     private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final ArticleRepository articleRepository;
     private final TagRepository tagRepository;
+    private final SearchIndexService searchIndexService;
+    private final ViewCountBuffer viewCountBuffer;
+    private final FeedTimelineService feedTimelineService;
+    private final UserStatsCache userStatsCache;
+    private final DailyStatsService dailyStatsService;
+    private final ViewerStateResolver viewerStateResolver;
+    private final AuthorCardCache authorCardCache;
+    private final TargetResolver targetResolver;
+    private final TagIndex tagIndex;
+    private final IdPager idPager;
 
     @Override
     @Transactional
     public QuestionResponse createQuestion(QuestionRequest request) {
         Long userId = AuthContextHolder.requireUserId();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        User user = currentUserResolver.requireReference();
         Question question = Question.builder()
                 .user(user)
                 .title(request.getTitle())
@@ -54,7 +82,13 @@ public class QuestionServiceImpl implements QuestionService {
                 .relatedArticle(fetchRelatedArticle(request.getRelatedArticleId()))
                 .build();
         question.setTags(resolveTags(request.getTags()));
+        question.applyContentMetrics(ContentMetrics.of(question.getDescription()));
         Question saved = questionRepository.save(question);
+        tagIndex.changeUsage(List.of(), saved.getTags());
+        searchIndexService.indexQuestion(saved);
+        feedTimelineService.publish(Constants.TYPE_QUESTION, saved.getId(), userId, saved.getCreatedAt());
+        dailyStatsService.record(userId, DailyStatsService.METRIC_QUESTION, saved.getCreatedAt(), 1);
+        userStatsCache.evict(userId);
         return toQuestionResponse(saved);
     }
 
@@ -66,12 +100,17 @@ public class QuestionServiceImpl implements QuestionService {
         ensureOwner(question, userId);
         question.setTitle(request.getTitle());
         question.setDescription(request.getDescription());
+        question.applyContentMetrics(ContentMetrics.of(question.getDescription()));
         question.setRelatedArticle(fetchRelatedArticle(request.getRelatedArticleId()));
 
+        List<Long> previousTagIds = question.getTags().stream().map(Tag::getId).toList();
         Set<Tag> tags = resolveTags(request.getTags());
         question.getTags().clear();
         question.getTags().addAll(tags);
+        tagIndex.changeUsage(previousTagIds, tags);
 
+        searchIndexService.indexQuestion(question);
+        userStatsCache.evict(userId);
         return toQuestionResponse(question);
     }
 
@@ -81,46 +120,61 @@ public class QuestionServiceImpl implements QuestionService {
         Long userId = AuthContextHolder.requireUserId();
         Question question = loadQuestion(questionId);
         ensureOwner(question, userId);
+        tagIndex.removeUsage(question.getTags().stream().map(Tag::getId).toList());
         question.setDeletedAt(LocalDateTime.now());
+        searchIndexService.removeQuestion(question.getId());
+        feedTimelineService.retract(Constants.TYPE_QUESTION, question.getId());
+        targetResolver.evict(Constants.TYPE_QUESTION, question.getId());
+        dailyStatsService.record(userId, DailyStatsService.METRIC_QUESTION, question.getCreatedAt(), -1);
+        userStatsCache.evict(userId);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public QuestionDetailResponse getQuestionDetail(Long questionId) {
         Question question = loadQuestion(questionId);
-        question.increaseViewCount();
+        viewCountBuffer.incrementQuestion(question.getId());
 
         Long currentUserId = AuthContextHolder.getCurrentUser()
                 .map(authUser -> authUser.getId())
                 .orElse(null);
         boolean following = false;
         if (currentUserId != null) {
-            User user = userRepository.findById(currentUserId)
-                    .orElseThrow(() -> new NotFoundException("用户不存在"));
-            following = questionFollowRepository.existsByQuestionAndUser(question, user);
+            following = questionFollowRepository.existsByQuestionAndUser(question, userRepository.getReferenceById(currentUserId));
         }
 
-        return toQuestionDetailResponse(question, following);
+        QuestionDetailResponse response = toQuestionDetailResponse(question, following);
+        response.setViewCount(question.getViewCount() + (int) viewCountBuffer.pendingQuestion(question.getId()));
+        return response;
     }
 
     @Override
     public PageResult<QuestionListItemResponse> getQuestionList(QuestionQueryRequest request) {
-        Pageable pageable = buildPageable(request);
         Specification<Question> specification = buildSpecification(request);
-        Page<Question> page = questionRepository.findAll(specification, pageable);
-        List<QuestionListItemResponse> items = page.stream()
-                .map(this::toQuestionListItemResponse)
-                .collect(Collectors.toList());
+        if (request.cursorMode()) {
+            int size = Optional.ofNullable(request.getPageSize()).orElse(20);
+            KeysetOrder order = buildKeysetOrder(request);
+            List<Long> ids = idPager.findIds(Question.class, specification.and(order.after(PageCursor.decode(request.getCursor()))), order.toSort(), size + 1);
+            KeysetSlice<Question> slice = KeysetSlice.of(loadQuestions(ids), size, order::positionOf);
+            return PageResult.ofCursor(toQuestionListItems(slice.content()), size, slice.nextCursor());
+        }
+        Pageable pageable = buildPageable(request);
+        Page<Long> page = idPager.findIds(Question.class, specification, pageable);
+        List<QuestionListItemResponse> items = toQuestionListItems(loadQuestions(page.getContent()));
         return PageResult.of(items, pageable.getPageNumber() + 1, pageable.getPageSize(), page.getTotalElements());
     }
 
+    private List<Question> loadQuestions(List<Long> ids) {
+        return IdPager.load(ids, questionRepository::findWithDetailsByIdIn, Question::getId);
+    }
+
     @Override
     @Transactional
     public void followQuestion(Long questionId) {
         Long userId = AuthContextHolder.requireUserId();
-        Question question = loadQuestion(questionId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        targetResolver.requireVisible(Constants.TYPE_QUESTION, questionId, userId);
+        Question question = questionRepository.getReferenceById(questionId);
+        User user = userRepository.getReferenceById(userId);
         if (questionFollowRepository.existsByQuestionAndUser(question, user)) {
             return;
         }
@@ -129,19 +183,20 @@ public class QuestionServiceImpl implements QuestionService {
                 .user(user)
                 .build();
         questionFollowRepository.save(follow);
-        question.increaseFollowCount();
+        targetResolver.applyDelta(Constants.TYPE_QUESTION, questionId, TargetResolver.Counter.FOLLOW, 1);
+        viewerStateResolver.evict(userId, ViewerStateResolver.Relation.FOLLOW, Constants.TYPE_QUESTION, questionId);
     }
 
     @Override
     @Transactional
     public void unfollowQuestion(Long questionId) {
         Long userId = AuthContextHolder.requireUserId();
-        Question question = loadQuestion(questionId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("用户不存在"));
+        Question question = questionRepository.getReferenceById(questionId);
+        User user = userRepository.getReferenceById(userId);
         questionFollowRepository.findByQuestionAndUser(question, user).ifPresent(follow -> {
             questionFollowRepository.delete(follow);
-            question.decreaseFollowCount();
+            targetResolver.applyDelta(Constants.TYPE_QUESTION, questionId, TargetResolver.Counter.FOLLOW, -1);
+            viewerStateResolver.evict(userId, ViewerStateResolver.Relation.FOLLOW, Constants.TYPE_QUESTION, questionId);
         });
     }
 
@@ -170,6 +225,7 @@ public class QuestionServiceImpl implements QuestionService {
         }
         answer.markBest();
         question.setBestAnswer(answer);
+        userStatsCache.evict(answer.getUser().getId());
     }
 
     private Question loadQuestion(Long id) {
@@ -209,11 +265,13 @@ public class QuestionServiceImpl implements QuestionService {
         if (normalized.isEmpty()) {
             return new HashSet<>();
         }
+        // 名称列按不区分大小写的排序规则唯一，按小写匹配，避免重复插入
         Map<String, Tag> existing = tagRepository.findByNameIn(normalized).stream()
-                .collect(Collectors.toMap(Tag::getName, tag -> tag));
+                .collect(Collectors.toMap(tag -> tag.getName().toLowerCase(Locale.ROOT), tag -> tag, (a, b) -> a));
         Set<Tag> tags = new LinkedHashSet<>();
         for (String name : normalized) {
-            tags.add(existing.getOrDefault(name, Tag.builder().name(name).build()));
+            tags.add(existing.computeIfAbsent(name.toLowerCase(Locale.ROOT),
+                    key -> tagRepository.save(Tag.builder().name(name).build())));
         }
         return tags;
     }
@@ -231,6 +289,17 @@ public class QuestionServiceImpl implements QuestionService {
         return PageRequest.of(Math.max(page, 0), size, sortOption);
     }
 
+    /**
+     * 游标分页排序，取 {@link #buildPageable} 排序的主键，排序键相同时按 id 排序
+     */
+    private KeysetOrder buildKeysetOrder(QuestionQueryRequest request) {
+        return switch (request.normalizedSort()) {
+            case "popular" -> KeysetOrder.desc("followCount");
+            case "answers" -> KeysetOrder.desc("answerCount");
+            default -> KeysetOrder.desc("createdAt");
+        };
+    }
+
     private Specification<Question> buildSpecification(QuestionQueryRequest request) {
         return (root, query, cb) -> {
             List<jakarta.persistence.criteria.Predicate> predicates = new ArrayList<>();
@@ -250,9 +319,7 @@ public class QuestionServiceImpl implements QuestionService {
             }
 
             if (request.getTagId() != null) {
-                Join<Question, Tag> tagJoin = root.join("tags", JoinType.LEFT);
-                predicates.add(cb.equal(tagJoin.get("id"), request.getTagId()));
-                query.distinct(true);
+                predicates.add(TagFilter.hasTag(root, query, cb, request.getTagId()));
             }
 
             return cb.and(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
@@ -294,22 +361,33 @@ public class QuestionServiceImpl implements QuestionService {
                 .build();
     }
 
-    private QuestionListItemResponse toQuestionListItemResponse(Question question) {
+    private List<QuestionListItemResponse> toQuestionListItems(List<Question> questions) {
+        ViewerState viewerState = viewerStateResolver.resolve(Constants.TYPE_QUESTION,
+                questions.stream().map(Question::getId).toList());
+        AuthorCards authors = authorCardCache.load(questions, question -> question.getUser().getId());
+        return questions.stream()
+                .map(question -> toQuestionListItemResponse(question, viewerState, authors))
+                .collect(Collectors.toList());
+    }
+
+    private QuestionListItemResponse toQuestionListItemResponse(Question question, ViewerState viewerState, AuthorCards authors) {
+        AuthorCard author = authors.get(question.getUser().getId());
         return QuestionListItemResponse.builder()
                 .id(question.getId())
                 .title(question.getTitle())
-                .description(question.getDescription())
+                .description(question.getExcerpt())
                 .answerCount(question.getAnswerCount())
                 .followCount(question.getFollowCount())
                 .createdAt(question.getCreatedAt())
                 .author(new QuestionListItemResponse.AuthorInfo(
-                        question.getUser().getId(),
-                        question.getUser().getNickname(),
-                        question.getUser().getAvatar()
+                        author.id(),
+                        author.nickname(),
+                        author.avatar()
                 ))
                 .tags(question.getTags().stream()
                         .map(tag -> new QuestionListItemResponse.TagInfo(tag.getId(), tag.getName()))
                         .collect(Collectors.toList()))
+                .followed(viewerState.followed(Constants.TYPE_QUESTION, question.getId()))
                 .build();
     }
 }
@@ -1,14 +1,26 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.AuthorCard;
+import com.example.back.cache.AuthorCardCache;
+import com.example.back.cache.AuthorCards;
+import com.example.back.cache.ViewerState;
+import com.example.back.cache.ViewerStateResolver;
+import com.example.back.category.CategoryTree;
+import com.example.back.common.Constants;
 import com.example.back.context.AuthContextHolder;
 import com.example.back.dto.request.SearchRequest;
 import com.example.back.dto.response.*;
 import com.example.back.entity.*;
 import com.example.back.exception.ValidationException;
 import com.example.back.repository.*;
+import com.example.back.repository.support.IdPager;
+import com.example.back.repository.support.TagFilter;
+import com.example.back.search.SearchHits;
+import com.example.back.search.SearchIndexService;
+import com.example.back.search.SearchQuery;
 import com.example.back.service.SearchService;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
+import com.example.back.storage.FileStorageService;
+import com.example.back.storage.ImageVariant;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
@@ -31,11 +43,21 @@ public class SearchServiceImpl implements SearchService {
     private static final int SUGGESTION_LIMIT = 8;
     private static final int HOT_LIMIT = 10;
     private static final int HISTORY_LIMIT = 10;
+    /**
+     * 按热度排序时，先取相关度最高的候选集，再交给数据库按浏览量排序
+     */
+    private static final int POPULAR_CANDIDATE_LIMIT = 1000;
 
-    private final ArticleRepository articleRepository;
+    private final ArticleListViewRepository articleListViewRepository;
     private final QuestionRepository questionRepository;
     private final UserRepository userRepository;
     private final SearchLogRepository searchLogRepository;
+    private final SearchIndexService searchIndexService;
+    private final ViewerStateResolver viewerStateResolver;
+    private final AuthorCardCache authorCardCache;
+    private final FileStorageService fileStorageService;
+    private final CategoryTree categoryTree;
+    private final IdPager idPager;
 
     @Override
     public SearchResponse search(SearchRequest request) {
@@ -150,6 +172,65 @@ public class SearchServiceImpl implements SearchService {
     private SearchResponse.Section<SearchResponse.ArticleItem> buildArticleSection(String keyword,
                                                                                   SearchRequest request,
                                                                                   Pageable pageable) {
+        if (!searchIndexService.isReady()) {
+            return buildArticleSectionByLike(keyword, request, pageable);
+        }
+        String sort = request.normalizedSort();
+        List<ArticleListView> articles;
+        long total;
+        if ("popular".equals(sort)) {
+            SearchHits candidates = searchIndexService.searchArticles(new SearchQuery(keyword, request.getAuthorId(),
+                    categoryFilter(request), request.getTagId(), "relevance", 0, POPULAR_CANDIDATE_LIMIT));
+            if (candidates.ids().isEmpty()) {
+                return new SearchResponse.Section<>(Collections.emptyList(), 0L);
+            }
+            Specification<Article> specification = (root, query, cb) -> root.get("id").in(candidates.ids());
+            articles = loadArticles(idPager.findIds(Article.class, specification, pageable).getContent());
+            total = Math.min(candidates.total(), POPULAR_CANDIDATE_LIMIT);
+        } else {
+            SearchHits hits = searchIndexService.searchArticles(new SearchQuery(keyword, request.getAuthorId(),
+                    categoryFilter(request), request.getTagId(), sort, (int) pageable.getOffset(), pageable.getPageSize()));
+            articles = loadArticles(hits.ids());
+            total = hits.total();
+        }
+        List<SearchResponse.ArticleItem> items = toArticleItems(articles);
+        return new SearchResponse.Section<>(items, total);
+    }
+
+    private SearchResponse.Section<SearchResponse.QuestionItem> buildQuestionSection(String keyword,
+                                                                                    SearchRequest request,
+                                                                                    Pageable pageable) {
+        if (!searchIndexService.isReady()) {
+            return buildQuestionSectionByLike(keyword, request, pageable);
+        }
+        String sort = request.normalizedSort();
+        List<Question> questions;
+        long total;
+        if ("popular".equals(sort)) {
+            SearchHits candidates = searchIndexService.searchQuestions(new SearchQuery(keyword, request.getAuthorId(),
+                    null, request.getTagId(), "relevance", 0, POPULAR_CANDIDATE_LIMIT));
+            if (candidates.ids().isEmpty()) {
+                return new SearchResponse.Section<>(Collections.emptyList(), 0L);
+            }
+            Specification<Question> specification = (root, query, cb) -> root.get("id").in(candidates.ids());
+            questions = loadQuestions(idPager.findIds(Question.class, specification, pageable).getContent());
+            total = Math.min(candidates.total(), POPULAR_CANDIDATE_LIMIT);
+        } else {
+            SearchHits hits = searchIndexService.searchQuestions(new SearchQuery(keyword, request.getAuthorId(),
+                    null, request.getTagId(), sort, (int) pageable.getOffset(), pageable.getPageSize()));
+            questions = loadQuestions(hits.ids());
+            total = hits.total();
+        }
+        List<SearchResponse.QuestionItem> items = toQuestionItems(questions);
+        return new SearchResponse.Section<>(items, total);
+    }
+
+    /**
+     * 索引构建完成前的兜底查询
+     */
+    private SearchResponse.Section<SearchResponse.ArticleItem> buildArticleSectionByLike(String keyword,
+                                                                                        SearchRequest request,
+                                                                                        Pageable pageable) {
         Specification<Article> specification = (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             String likeExpression = "%" + keyword.toLowerCase() + "%";
@@ -163,42 +244,24 @@ public class SearchServiceImpl implements SearchService {
                     cb.like(root.get("content"), likeExpression)
             ));
             if (request.getCategoryId() != null) {
-                predicates.add(cb.equal(root.get("category").get("id"), request.getCategoryId()));
+                predicates.add(root.get("category").get("id").in(categoryTree.subtreeIds(request.getCategoryId())));
             }
             if (request.getAuthorId() != null) {
                 predicates.add(cb.equal(root.get("user").get("id"), request.getAuthorId()));
             }
             if (request.getTagId() != null) {
-                Join<Article, Tag> tagJoin = root.join("tags", JoinType.LEFT);
-                predicates.add(cb.equal(tagJoin.get("id"), request.getTagId()));
-                query.distinct(true);
+                predicates.add(TagFilter.hasTag(root, query, cb, request.getTagId()));
             }
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-        Page<Article> page = articleRepository.findAll(specification, pageable);
-        List<SearchResponse.ArticleItem> items = page.stream()
-                .map(article -> new SearchResponse.ArticleItem(
-                        article.getId(),
-                        article.getTitle(),
-                        article.getSummary(),
-                        article.getCoverImage(),
-                        article.getViewCount(),
-                        article.getLikeCount(),
-                        article.getCommentCount(),
-                        article.getCreatedAt(),
-                        new SearchResponse.SimplifiedUser(
-                                article.getUser().getId(),
-                                article.getUser().getNickname(),
-                                article.getUser().getAvatar()
-                        )
-                ))
-                .collect(Collectors.toList());
+        Page<Long> page = idPager.findIds(Article.class, specification, pageable);
+        List<SearchResponse.ArticleItem> items = toArticleItems(loadArticles(page.getContent()));
         return new SearchResponse.Section<>(items, page.getTotalElements());
     }
 
-    private SearchResponse.Section<SearchResponse.QuestionItem> buildQuestionSection(String keyword,
-                                                                                    SearchRequest request,
-                                                                                    Pageable pageable) {
+    private SearchResponse.Section<SearchResponse.QuestionItem> buildQuestionSectionByLike(String keyword,
+                                                                                          SearchRequest request,
+                                                                                          Pageable pageable) {
         Specification<Question> specification = (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
             String likeExpression = "%" + keyword.toLowerCase() + "%";
@@ -211,29 +274,12 @@ public class SearchServiceImpl implements SearchService {
                 predicates.add(cb.equal(root.get("user").get("id"), request.getAuthorId()));
             }
             if (request.getTagId() != null) {
-                Join<Question, Tag> tagJoin = root.join("tags", JoinType.LEFT);
-                predicates.add(cb.equal(tagJoin.get("id"), request.getTagId()));
-                query.distinct(true);
+                predicates.add(TagFilter.hasTag(root, query, cb, request.getTagId()));
             }
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-        Page<Question> page = questionRepository.findAll(specification, pageable);
-        List<SearchResponse.QuestionItem> items = page.stream()
-                .map(question -> new SearchResponse.QuestionItem(
-                        question.getId(),
-                        question.getTitle(),
-                        question.getDescription(),
-                        question.getViewCount(),
-                        question.getAnswerCount(),
-                        question.getFollowCount(),
-                        question.getCreatedAt(),
-                        new SearchResponse.SimplifiedUser(
-                                question.getUser().getId(),
-                                question.getUser().getNickname(),
-                                question.getUser().getAvatar()
-                        )
-                ))
-                .collect(Collectors.toList());
+        Page<Long> page = idPager.findIds(Question.class, specification, pageable);
+        List<SearchResponse.QuestionItem> items = toQuestionItems(loadQuestions(page.getContent()));
         return new SearchResponse.Section<>(items, page.getTotalElements());
     }
 
@@ -247,18 +293,97 @@ public class SearchServiceImpl implements SearchService {
             );
         };
         Page<User> page = userRepository.findAll(specification, pageable);
+        ViewerState viewerState = viewerStateResolver.resolve(Constants.TYPE_USER,
+                page.stream().map(User::getId).toList());
         List<SearchResponse.UserItem> items = page.stream()
                 .map(user -> new SearchResponse.UserItem(
                         user.getId(),
                         user.getUsername(),
                         user.getNickname(),
                         user.getAvatar(),
-                        user.getBio()
+                        user.getBio(),
+                        viewerState.followed(Constants.TYPE_USER, user.getId())
                 ))
                 .collect(Collectors.toList());
         return new SearchResponse.Section<>(items, page.getTotalElements());
     }
 
+    /**
+     * 搜索结果只展示作者，不需要加载标签
+     */
+    private List<ArticleListView> loadArticles(List<Long> ids) {
+        return IdPager.load(ids, articleListViewRepository::findAllById, ArticleListView::getId);
+    }
+
+    private List<Question> loadQuestions(List<Long> ids) {
+        return IdPager.load(ids, questionRepository::findAllById, Question::getId);
+    }
+
+    private List<SearchResponse.ArticleItem> toArticleItems(List<ArticleListView> articles) {
+        ViewerState viewerState = viewerStateResolver.resolve(Constants.TYPE_ARTICLE,
+                articles.stream().map(ArticleListView::getId).toList());
+        AuthorCards authors = authorCardCache.load(articles, article -> article.getUser().getId());
+        return articles.stream()
+                .map(article -> toArticleItem(article, viewerState, authors))
+                .collect(Collectors.toList());
+    }
+
+    private List<SearchResponse.QuestionItem> toQuestionItems(List<Question> questions) {
+        ViewerState viewerState = viewerStateResolver.resolve(Constants.TYPE_QUESTION,
+                questions.stream().map(Question::getId).toList());
+        AuthorCards authors = authorCardCache.load(questions, question -> question.getUser().getId());
+        return questions.stream()
+                .map(question -> toQuestionItem(question, viewerState, authors))
+                .collect(Collectors.toList());
+    }
+
+    private SearchResponse.ArticleItem toArticleItem(ArticleListView article, ViewerState viewerState, AuthorCards authors) {
+        AuthorCard author = authors.get(article.getUser().getId());
+        return new SearchResponse.ArticleItem(
+                article.getId(),
+                article.getTitle(),
+                article.summaryOrExcerpt(),
+                fileStorageService.variantUrl(article.getCoverImage(), ImageVariant.COVER_LIST),
+                article.getViewCount(),
+                article.getLikeCount(),
+                article.getCommentCount(),
+                article.getCreatedAt(),
+                new SearchResponse.SimplifiedUser(
+                        author.id(),
+                        author.nickname(),
+                        author.avatar()
+                ),
+                viewerState.liked(Constants.TYPE_ARTICLE, article.getId()),
+                viewerState.favorited(Constants.TYPE_ARTICLE, article.getId())
+        );
+    }
+
+    private SearchResponse.QuestionItem toQuestionItem(Question question, ViewerState viewerState, AuthorCards authors) {
+        AuthorCard author = authors.get(question.getUser().getId());
+        return new SearchResponse.QuestionItem(
+                question.getId(),
+                question.getTitle(),
+                question.getExcerpt(),
+                question.getViewCount(),
+                question.getAnswerCount(),
+                question.getFollowCount(),
+                question.getCreatedAt(),
+                new SearchResponse.SimplifiedUser(
+                        author.id(),
+                        author.nickname(),
+                        author.avatar()
+                ),
+                viewerState.followed(Constants.TYPE_QUESTION, question.getId())
+        );
+    }
+
+    /**
+     * 按分类筛选时包含全部子分类
+     */
+    private Set<Long> categoryFilter(SearchRequest request) {
+        return request.getCategoryId() == null ? null : categoryTree.subtreeIds(request.getCategoryId());
+    }
+
     private void logSearch(String keyword, String type, long resultCount) {
         SearchLog.SearchLogBuilder builder = SearchLog.builder()
                 .keyword(keyword)
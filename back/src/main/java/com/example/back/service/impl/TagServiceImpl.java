@@ -0,0 +1,48 @@
+package com.example.back.service.impl;
+
+import com.example.back.dto.response.TagListResponse;
+import com.example.back.service.TagService;
+import com.example.back.tag.TagIndex;
+import com.example.back.tag.TagStat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 标签服务实现
+ */
+@Service
+@RequiredArgsConstructor
+public class TagServiceImpl implements TagService {
+
+    private static final int DEFAULT_HOT_LIMIT = 20;
+    private static final int MAX_HOT_LIMIT = 100;
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 20;
+
+    private final TagIndex tagIndex;
+
+    @Override
+    public TagListResponse getHotTags(Integer limit) {
+        return toResponse(tagIndex.hot(normalizeLimit(limit, DEFAULT_HOT_LIMIT, MAX_HOT_LIMIT)));
+    }
+
+    @Override
+    public TagListResponse suggestTags(String keyword, Integer limit) {
+        return toResponse(tagIndex.suggest(keyword, normalizeLimit(limit, DEFAULT_SUGGEST_LIMIT, MAX_SUGGEST_LIMIT)));
+    }
+
+    private int normalizeLimit(Integer limit, int defaultLimit, int maxLimit) {
+        if (limit == null || limit <= 0) {
+            return defaultLimit;
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+    private TagListResponse toResponse(List<TagStat> tags) {
+        return new TagListResponse(tags.stream()
+                .map(tag -> new TagListResponse.TagItem(tag.id(), tag.name(), tag.useCount()))
+                .toList());
+    }
+}
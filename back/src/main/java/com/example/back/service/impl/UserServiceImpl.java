@@ -1,7 +1,9 @@
 package com.example.back.service.impl;
 
+import com.example.back.cache.AuthorCardCache;
 import com.example.back.common.Constants;
 import com.example.back.context.AuthContextHolder;
+import com.example.back.context.CurrentUserResolver;
 import com.example.back.dto.request.UpdatePrivacySettingsRequest;
 import com.example.back.dto.request.UpdateProfileRequest;
 import com.example.back.dto.response.AvatarUploadResponse;
@@ -31,6 +33,8 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserPrivacySettingsRepository privacySettingsRepository;
     private final FileStorageService fileStorageService;
+    private final CurrentUserResolver currentUserResolver;
+    private final AuthorCardCache authorCardCache;
 
     @Override
     public CurrentUserResponse getCurrentUserProfile() {
@@ -54,9 +58,13 @@ public class UserServiceImpl implements UserService {
         if (request.getBio() != null) {
             user.setBio(request.getBio());
         }
-        if (request.getAvatar() != null) {
+        if (request.getAvatar() != null && !request.getAvatar().equals(user.getAvatar())) {
+            fileStorageService.retain(request.getAvatar());
+            fileStorageService.release(user.getAvatar());
             user.setAvatar(request.getAvatar());
         }
+        currentUserResolver.evict(userId);
+        authorCardCache.evict(userId);
 
         return buildCurrentUserResponse(user);
     }
@@ -117,10 +125,16 @@ public class UserServiceImpl implements UserService {
         if (file == null || file.isEmpty()) {
             throw new ValidationException("请选择需要上传的文件");
         }
-        String url = fileStorageService.storeAvatar(userId, file);
+        String url = fileStorageService.storeAvatar(file, () -> {
+            currentUserResolver.evict(userId);
+            authorCardCache.evict(userId);
+        });
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("用户不存在"));
+        fileStorageService.release(user.getAvatar());
         user.setAvatar(url);
+        currentUserResolver.evict(userId);
+        authorCardCache.evict(userId);
         return new AvatarUploadResponse(url);
     }
 
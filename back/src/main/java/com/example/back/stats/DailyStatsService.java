@@ -0,0 +1,87 @@
+package com.example.back.stats;
+
+import com.example.back.entity.UserDailyStat;
+import com.example.back.repository.UserDailyStatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户每日统计
+ * <p>
+ * 发布内容、被关注等写操作在同一事务内累加当日计数，删除时按原创建日期扣减，
+ * 趋势图只需按日期范围读取一次。首次启动时表为空则全量汇总（多个节点同时启动时各自汇总，
+ * 结果相同，重复的行覆盖写入），之后每天凌晨重新汇总最近几天以校正并发与异常造成的偏差。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyStatsService {
+
+    public static final String METRIC_ARTICLE = "article";
+    public static final String METRIC_QUESTION = "question";
+    public static final String METRIC_ANSWER = "answer";
+    public static final String METRIC_FOLLOWER = "follower";
+
+    private static final LocalDate FULL_REBUILD_FROM = LocalDate.of(1970, 1, 1);
+
+    private final UserDailyStatRepository userDailyStatRepository;
+    private final UserStatsProperties properties;
+
+    /**
+     * 累加指标，需在写操作的事务内调用
+     *
+     * @param occurredAt 内容或关注关系的创建时间，扣减时同样传创建时间
+     */
+    public void record(Long userId, String metric, LocalDateTime occurredAt, long delta) {
+        if (userId == null || occurredAt == null) {
+            return;
+        }
+        userDailyStatRepository.increment(userId, occurredAt.toLocalDate(), metric, delta);
+    }
+
+    /**
+     * 读取日期范围内的统计，按指标、日期分组，缺失的日期视为 0
+     */
+    public Map<String, Map<LocalDate, Long>> read(Long userId, LocalDate start, LocalDate end) {
+        List<UserDailyStat> rows = userDailyStatRepository.findRange(userId, start, end);
+        Map<String, Map<LocalDate, Long>> result = new HashMap<>();
+        for (UserDailyStat row : rows) {
+            result.computeIfAbsent(row.getMetric(), key -> new HashMap<>())
+                    .merge(row.getStatDate(), row.getStatValue(), Long::sum);
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (userDailyStatRepository.count() > 0) {
+            return;
+        }
+        int rows = userDailyStatRepository.rebuildFrom(FULL_REBUILD_FROM);
+        log.info("用户每日统计全量汇总完成，写入 {} 行", rows);
+    }
+
+    @Scheduled(cron = "${app.user-stats.repair-cron:0 30 3 * * *}")
+    @Transactional
+    public void repairRecent() {
+        LocalDate from = LocalDate.now().minusDays(Math.max(properties.getRepairDays(), 1) - 1L);
+        userDailyStatRepository.deleteFrom(from);
+        int rows = userDailyStatRepository.rebuildFrom(from);
+        log.info("用户每日统计校正完成，起始日期 {}，写入 {} 行", from, rows);
+    }
+}
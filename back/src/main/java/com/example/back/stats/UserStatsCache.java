@@ -0,0 +1,168 @@
+package com.example.back.stats;
+
+import com.example.back.common.Constants;
+import com.example.back.entity.Answer;
+import com.example.back.entity.ArticleListView;
+import com.example.back.entity.Question;
+import com.example.back.repository.AnswerRepository;
+import com.example.back.repository.ArticleListViewRepository;
+import com.example.back.repository.ArticleRepository;
+import com.example.back.repository.FollowRepository;
+import com.example.back.repository.QuestionRepository;
+import com.example.back.util.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 用户统计快照缓存
+ * <p>
+ * 每张表一条聚合查询得到计数与总和，连同最近内容一起缓存。用户自己的写操作（发布、删除、
+ * 被关注等）提交后失效对应快照；他人带来的浏览、点赞变化依赖过期时间刷新。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Component
+public class UserStatsCache {
+
+    private final ArticleRepository articleRepository;
+    private final ArticleListViewRepository articleListViewRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final FollowRepository followRepository;
+    private final TransactionTemplate readOnlyTemplate;
+    private final Cache<Long, UserStatsSnapshot> cache;
+
+    public UserStatsCache(ArticleRepository articleRepository,
+                          ArticleListViewRepository articleListViewRepository,
+                          QuestionRepository questionRepository,
+                          AnswerRepository answerRepository,
+                          FollowRepository followRepository,
+                          PlatformTransactionManager transactionManager,
+                          UserStatsProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.articleRepository = articleRepository;
+        this.articleListViewRepository = articleListViewRepository;
+        this.questionRepository = questionRepository;
+        this.answerRepository = answerRepository;
+        this.followRepository = followRepository;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user_stats");
+    }
+
+    public UserStatsSnapshot get(Long userId) {
+        return cache.get(userId, this::load);
+    }
+
+    /**
+     * 用户的内容或粉丝发生变化，在当前事务提交后失效快照
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> cache.invalidate(userId));
+    }
+
+    private UserStatsSnapshot load(Long userId) {
+        return readOnlyTemplate.execute(status -> {
+            Object[] articles = articleRepository.aggregateByUser(userId, Constants.STATUS_DRAFT).get(0);
+            Object[] questions = questionRepository.aggregateByUser(userId).get(0);
+            Object[] answers = answerRepository.aggregateByUser(userId).get(0);
+            long followerCount = followRepository.countByFollowing_Id(userId);
+
+            return new UserStatsSnapshot(
+                    toLong(articles[0]),
+                    toLong(articles[1]),
+                    toLong(questions[0]),
+                    toLong(answers[0]),
+                    followerCount,
+                    toLong(articles[2]),
+                    toLong(articles[3]),
+                    toLong(articles[4]),
+                    toLong(articles[5]),
+                    toLong(questions[1]),
+                    toLong(answers[1]),
+                    toLong(answers[2]),
+                    articleListViewRepository.findTop5ByUser_IdOrderByCreatedAtDesc(userId).stream()
+                            .map(this::toItem)
+                            .toList(),
+                    questionRepository.findTop5ByUser_IdOrderByCreatedAtDesc(userId).stream()
+                            .map(this::toItem)
+                            .toList(),
+                    answerRepository.findTop5ByUser_IdOrderByCreatedAtDesc(userId).stream()
+                            .map(this::toItem)
+                            .toList(),
+                    questionRepository.findTop5ByUser_IdAndAnswerCountOrderByCreatedAtAsc(userId, 0).stream()
+                            .map(this::toItem)
+                            .toList());
+        });
+    }
+
+    private UserStatsSnapshot.ContentItem toItem(ArticleListView article) {
+        return new UserStatsSnapshot.ContentItem(
+                article.getId(),
+                "article",
+                article.getTitle(),
+                resolveArticleStatus(article.getStatus()),
+                article.getViewCount(),
+                article.getLikeCount(),
+                article.getCommentCount(),
+                article.getCreatedAt());
+    }
+
+    private UserStatsSnapshot.ContentItem toItem(Question question) {
+        return new UserStatsSnapshot.ContentItem(
+                question.getId(),
+                "question",
+                question.getTitle(),
+                "published",
+                question.getViewCount(),
+                question.getAnswerCount(),
+                question.getAnswerCount(),
+                question.getCreatedAt());
+    }
+
+    private UserStatsSnapshot.ContentItem toItem(Answer answer) {
+        return new UserStatsSnapshot.ContentItem(
+                answer.getId(),
+                "answer",
+                Optional.ofNullable(answer.getQuestion())
+                        .map(Question::getTitle)
+                        .orElse("回答"),
+                answer.getIsBest() == 1 ? "best" : "published",
+                answer.getUpvoteCount(),
+                answer.getUpvoteCount(),
+                answer.getCommentCount(),
+                answer.getCreatedAt());
+    }
+
+    private String resolveArticleStatus(Integer status) {
+        if (Objects.equals(status, Constants.STATUS_DRAFT)) {
+            return "draft";
+        }
+        if (Objects.equals(status, Constants.STATUS_PRIVATE)) {
+            return "private";
+        }
+        return "published";
+    }
+
+    private long toLong(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.back.stats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 用户统计配置（快照缓存与每日统计）
+ */
+@Data
+@ConfigurationProperties(prefix = "app.user-stats")
+public class UserStatsProperties {
+
+    /**
+     * 快照有效期；他人产生的浏览、点赞等计数变化在该时间内可能不可见
+     */
+    private Duration ttl = Duration.ofSeconds(60);
+
+    /**
+     * 最多缓存的用户数
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * 每日统计定时校正时回溯的天数（含当天）
+     */
+    private int repairDays = 2;
+}
@@ -0,0 +1,59 @@
+package com.example.back.stats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 用户内容统计快照，供后台首页与内容管理页共用
+ *
+ * @param recentArticles   最近 5 篇文章
+ * @param recentQuestions  最近 5 个问题
+ * @param recentAnswers    最近 5 个回答
+ * @param pendingQuestions 最早的 5 个未获回答的问题
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record UserStatsSnapshot(long articleCount,
+                                long draftCount,
+                                long questionCount,
+                                long answerCount,
+                                long followerCount,
+                                long articleViews,
+                                long articleLikes,
+                                long articleFavorites,
+                                long articleComments,
+                                long questionViews,
+                                long answerUpvotes,
+                                long answerComments,
+                                List<ContentItem> recentArticles,
+                                List<ContentItem> recentQuestions,
+                                List<ContentItem> recentAnswers,
+                                List<ContentItem> pendingQuestions) {
+
+    public long totalViews() {
+        return articleViews + questionViews;
+    }
+
+    public long totalLikes() {
+        return articleLikes + answerUpvotes;
+    }
+
+    public long totalComments() {
+        return articleComments + answerComments;
+    }
+
+    /**
+     * 内容摘要，只保留展示字段，避免缓存托管实体
+     *
+     * @param status article 为 draft/published/private，answer 为 best/published，question 为 published
+     */
+    public record ContentItem(Long id,
+                              String type,
+                              String title,
+                              String status,
+                              Integer viewCount,
+                              Integer likeCount,
+                              Integer commentCount,
+                              LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.back.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 热点小文件内存缓存
+ * <p>
+ * 头像缩略图等小文件在每个列表页都会被请求，读取一次后按字节数计权缓存，总量有上限。
+ * 条目带文件修改时间，与当前修改时间不一致时重新读取；文件删除后由调用方先行判断不存在，不会读到旧内容。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Component
+public class FileContentCache {
+
+    private final long maxFileSize;
+    private final Cache<Path, Content> cache;
+
+    public FileContentCache(FileStorageProperties properties, MeterRegistry meterRegistry) {
+        this.maxFileSize = properties.getHotFileMaxSize();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getHotCacheMaxBytes())
+                .weigher((Path path, Content content) -> content.bytes().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "file_content");
+    }
+
+    /**
+     * 文件是否适合放入内存缓存
+     */
+    public boolean accepts(long size) {
+        return size <= maxFileSize;
+    }
+
+    /**
+     * 读取文件全部内容，修改时间变化后重新读取
+     */
+    public byte[] get(Path path, long lastModified) {
+        Content content = cache.getIfPresent(path);
+        if (content != null && content.lastModified() == lastModified) {
+            return content.bytes();
+        }
+        try {
+            content = new Content(lastModified, Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        cache.put(path, content);
+        return content.bytes();
+    }
+
+    private record Content(long lastModified, byte[] bytes) {
+    }
+}
@@ -16,13 +16,38 @@ public class FileStorageProperties {
     private String uploadDir = "uploads";
 
     /**
-     * 头像目录（相对 uploadDir）
+     * 按内容哈希寻址的文件目录（相对 uploadDir），头像与文章图片共用；
+     * 此前按用途分目录保存的文件仍可通过原地址访问
      */
-    private String avatarDir = "avatars";
+    private String objectDir = "objects";
 
     /**
-     * 文章图片目录（相对 uploadDir）
+     * 上传过程中的临时文件目录（相对 uploadDir），需与 objectDir 位于同一文件系统以便原子移动
      */
-    private String articleImageDir = "articles";
-}
+    private String tempDir = "tmp";
+
+    /**
+     * 生成图片衍生版本的线程数
+     */
+    private int variantThreads = 2;
+
+    /**
+     * 等待生成衍生版本的任务上限，超出时丢弃，列表继续使用原图
+     */
+    private int variantQueueCapacity = 200;
+
+    /**
+     * 不超过该大小（字节）的文件读取后缓存在内存中，例如头像缩略图
+     */
+    private long hotFileMaxSize = 64 * 1024L;
+
+    /**
+     * 内存中缓存的文件总大小上限（字节）
+     */
+    private long hotCacheMaxBytes = 32 * 1024 * 1024L;
 
+    /**
+     * 不小于该大小（字节）的响应交给容器以 sendfile 零拷贝发送（容器支持时）
+     */
+    private long sendfileMinSize = 48 * 1024L;
+}
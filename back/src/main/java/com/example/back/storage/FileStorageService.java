@@ -1,66 +1,310 @@
 package com.example.back.storage;
 
 import com.example.back.exception.ValidationException;
-import lombok.RequiredArgsConstructor;
+import com.example.back.repository.FileBlobRepository;
+import com.example.back.util.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
-import java.util.UUID;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * 文件存储服务
+ * <p>
+ * 上传内容边写入临时文件边计算 SHA-256，按哈希寻址保存到 {@code objectDir/哈希前两位/哈希.扩展名}：
+ * 相同内容已存在时直接丢弃临时文件并返回已有地址，否则原子移动到位。
+ * 扩展名由文件头识别，同一内容的地址固定。file_blobs 按哈希记录引用次数，
+ * 头像被替换时释放引用，引用归零的文件（连同衍生版本）在事务提交后回收。
+ * 上传先增加引用再检查文件，回收先锁定记录再删除文件，两者在同一哈希上串行，
+ * 回收与相同内容的上传并发时上传会重新写入文件。文章图片不随文章编辑或删除释放，不会被回收。
+ * 新文件提交后交给 {@link ImageVariantProcessor} 异步生成固定尺寸的衍生版本，
+ * 列表通过 {@link #variantUrl} 取缩略图地址，尚未生成时返回原图地址。
+ * 指标 file_uploads 按 result（stored/deduplicated）区分。
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class FileStorageService {
 
-    private final FileStorageProperties properties;
-
-    private static final String AVATAR_PREFIX = "avatar";
-    private static final String ARTICLE_IMAGE_PREFIX = "article";
+    private static final String URL_PREFIX = "/files/";
     private static final long AVATAR_MAX_SIZE = 2 * 1024 * 1024L;
     private static final long ARTICLE_IMAGE_MAX_SIZE = 5 * 1024 * 1024L;
+    private static final int HEADER_LENGTH = 8;
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("[0-9a-f]{64}(_[a-z0-9]+)?\\.[a-z]+");
+
+    private final FileStorageProperties properties;
+    private final FileBlobRepository fileBlobRepository;
+    private final MeterRegistry meterRegistry;
+    private final ImageVariantProcessor imageVariantProcessor;
+    private final TransactionTemplate transactionTemplate;
 
-    public String storeAvatar(Long userId, MultipartFile file) {
+    public FileStorageService(FileStorageProperties properties,
+                              FileBlobRepository fileBlobRepository,
+                              MeterRegistry meterRegistry,
+                              ImageVariantProcessor imageVariantProcessor,
+                              PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.fileBlobRepository = fileBlobRepository;
+        this.meterRegistry = meterRegistry;
+        this.imageVariantProcessor = imageVariantProcessor;
+        // 回收在提交后执行，需要独立事务
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 保存头像
+     *
+     * @param onVariantsReady 衍生版本生成后执行（例如失效缓存中的头像地址），可为 null
+     */
+    @Transactional
+    public String storeAvatar(MultipartFile file, Runnable onVariantsReady) {
         validateImage(file, AVATAR_MAX_SIZE, "png", "jpeg", "jpg");
-        return store(file, properties.getAvatarDir(), AVATAR_PREFIX + "_" + userId);
+        return store(file, ImageVariant.AVATARS, onVariantsReady, "png", "jpg");
     }
 
-    public String storeArticleImage(Long userId, MultipartFile file) {
+    @Transactional
+    public String storeArticleImage(MultipartFile file) {
         validateImage(file, ARTICLE_IMAGE_MAX_SIZE, "png", "jpeg", "jpg", "gif");
-        return store(file, properties.getArticleImageDir(), ARTICLE_IMAGE_PREFIX + "_" + userId);
+        return store(file, ImageVariant.ARTICLE_IMAGES, null, "png", "jpg", "gif");
+    }
+
+    /**
+     * 本服务保存的图片返回已生成的衍生版本地址，尚未生成或站外地址原样返回
+     */
+    public String variantUrl(String url, ImageVariant variant) {
+        if (hashOf(url) == null) {
+            return url;
+        }
+        String relative = url.substring(URL_PREFIX.length());
+        Path variantPath = variantPath(rootDir().resolve(relative).normalize(), variant);
+        if (!Files.exists(variantPath)) {
+            return url;
+        }
+        return URL_PREFIX + relative.substring(0, relative.lastIndexOf('/') + 1) + variantPath.getFileName();
+    }
+
+    /**
+     * 按 /files/ 之后的相对路径定位对外提供的文件；越出上传目录、位于临时目录或不是普通文件时返回 null
+     */
+    public Path resolvePublicFile(String relativePath) {
+        Path rootDir = rootDir();
+        Path file = rootDir.resolve(relativePath).normalize();
+        if (!file.startsWith(rootDir) || file.startsWith(rootDir.resolve(properties.getTempDir()).normalize())
+                || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * 文件名是否为内容哈希（含衍生版本），这类文件内容永不变化
+     */
+    public boolean isContentAddressed(String relativePath) {
+        return relativePath.startsWith(properties.getObjectDir() + "/")
+                && CONTENT_ADDRESSED_NAME.matcher(relativePath.substring(relativePath.lastIndexOf('/') + 1)).matches();
+    }
+
+    /**
+     * 为已上传的文件增加一次引用（例如资料中直接填写了站内图片地址），站外地址忽略
+     */
+    @Transactional
+    public void retain(String url) {
+        String hash = hashOf(url);
+        if (hash != null) {
+            fileBlobRepository.addReference(hash);
+        }
+    }
+
+    /**
+     * 释放一次引用，引用归零时在事务提交后回收文件；站外地址与旧目录中的文件忽略
+     */
+    @Transactional
+    public void release(String url) {
+        String hash = hashOf(url);
+        if (hash == null || fileBlobRepository.release(hash) == 0) {
+            return;
+        }
+        // 递减已锁定该行，读回的是本事务递减后的引用次数
+        Integer refCount = fileBlobRepository.lockRefCount(hash);
+        if (refCount == null || refCount > 0) {
+            return;
+        }
+        Path target = rootDir().resolve(url.substring(URL_PREFIX.length())).normalize();
+        TransactionHooks.afterCommit(() -> reclaim(hash, target));
     }
 
-    private String store(MultipartFile file, String dir, String prefix) {
+    /**
+     * 锁定记录后确认仍无引用，删除文件（连同衍生版本）与记录；
+     * 同一内容的上传在 {@link FileBlobRepository#retain} 上等待，提交后发现文件不存在会重新写入
+     */
+    private void reclaim(String hash, Path target) {
         try {
-            Path rootDir = Paths.get(properties.getUploadDir()).toAbsolutePath().normalize();
-            Files.createDirectories(rootDir);
+            transactionTemplate.executeWithoutResult(status -> {
+                Integer refCount = fileBlobRepository.lockRefCount(hash);
+                if (refCount == null || refCount > 0) {
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(target);
+                    for (ImageVariant variant : ImageVariant.values()) {
+                        Files.deleteIfExists(variantPath(target, variant));
+                    }
+                } catch (IOException e) {
+                    // 保留记录，文件仍可能被引用
+                    log.warn("删除未引用的文件失败: {}", target, e);
+                    return;
+                }
+                fileBlobRepository.deleteIfUnreferenced(hash);
+            });
+        } catch (RuntimeException ex) {
+            log.warn("回收未引用的文件失败: {}", target, ex);
+        }
+    }
 
-            Path targetDir = rootDir.resolve(dir).normalize();
-            Files.createDirectories(targetDir);
+    private String store(MultipartFile file, Set<ImageVariant> variants, Runnable onVariantsReady,
+                         String... allowedExtensions) {
+        Path tempFile = null;
+        try {
+            Path rootDir = rootDir();
+            Path tempDir = Files.createDirectories(rootDir.resolve(properties.getTempDir()).normalize());
+            tempFile = Files.createTempFile(tempDir, "upload-", ".part");
 
-            String extension = StringUtils.getFilenameExtension(file.getOriginalFilename());
-            String filename = prefix + "_" + DateTimeFormatter.ofPattern("yyyyMMddHHmmss").format(LocalDateTime.now())
-                    + "_" + UUID.randomUUID().toString().replace("-", "");
-            if (StringUtils.hasText(extension)) {
-                filename = filename + "." + extension;
+            MessageDigest digest = sha256();
+            byte[] header = new byte[HEADER_LENGTH];
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(tempFile)) {
+                int headerLength = in.readNBytes(header, 0, HEADER_LENGTH);
+                out.write(header, 0, headerLength);
+                in.transferTo(out);
+            }
+            String extension = detectExtension(header);
+            if (extension == null || !Arrays.asList(allowedExtensions).contains(extension)) {
+                throw new ValidationException("不支持的文件格式");
             }
 
-            Path target = targetDir.resolve(filename);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-            Path relative = rootDir.relativize(target);
-            return "/files/" + relative.toString().replace("\\", "/");
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path relative = Paths.get(properties.getObjectDir(), hash.substring(0, 2), hash + "." + extension);
+            Path target = rootDir.resolve(relative).normalize();
+            long size = Files.size(tempFile);
+            String path = relative.toString().replace("\\", "/");
+            // 先增加引用：正在回收同一内容时在此等待，回收完成后文件不存在，下面重新写入
+            fileBlobRepository.retain(hash, path, size);
+            if (Files.exists(target)) {
+                meterRegistry.counter("file_uploads", "result", "deduplicated").increment();
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                    tempFile = null;
+                } catch (FileAlreadyExistsException e) {
+                    // 并发上传了相同内容，保留先到的一份
+                }
+                meterRegistry.counter("file_uploads", "result", "stored").increment();
+            }
+            submitVariants(hash, target, variants, onVariantsReady);
+            return URL_PREFIX + path;
         } catch (IOException e) {
             throw new ValidationException("文件上传失败，请稍后再试");
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * 缺少衍生版本时在事务提交后提交生成任务，相同内容重复上传时通常已全部存在
+     */
+    private void submitVariants(String hash, Path original, Set<ImageVariant> variants, Runnable onVariantsReady) {
+        Map<ImageVariant, Path> targets = new EnumMap<>(ImageVariant.class);
+        variants.forEach(variant -> targets.put(variant, variantPath(original, variant)));
+        if (targets.values().stream().allMatch(Files::exists)) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> imageVariantProcessor.submit(hash, original, targets, onVariantsReady));
+    }
+
+    /**
+     * 衍生版本与原图同目录；GIF 只取第一帧，输出为 PNG
+     */
+    private static Path variantPath(Path original, ImageVariant variant) {
+        String filename = original.getFileName().toString();
+        int dot = filename.lastIndexOf('.');
+        String extension = filename.substring(dot + 1);
+        String variantExtension = "gif".equals(extension) ? "png" : extension;
+        return original.resolveSibling(filename.substring(0, dot) + "_" + variant.suffix() + "." + variantExtension);
+    }
+
+    /**
+     * 按文件头识别图片格式，无法识别时返回 null
+     */
+    private static String detectExtension(byte[] header) {
+        if (header[0] == (byte) 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return "png";
+        }
+        if (header[0] == (byte) 0xFF && header[1] == (byte) 0xD8 && header[2] == (byte) 0xFF) {
+            return "jpg";
+        }
+        if (header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return "gif";
+        }
+        return null;
+    }
+
+    /**
+     * 从本服务生成的地址中取出内容哈希，其他地址返回 null
+     */
+    private String hashOf(String url) {
+        if (!StringUtils.hasText(url)) {
+            return null;
+        }
+        Matcher matcher = objectUrlPattern().matcher(url);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    private Pattern objectUrlPattern() {
+        return Pattern.compile(Pattern.quote(URL_PREFIX + properties.getObjectDir() + "/")
+                + "[0-9a-f]{2}/([0-9a-f]{64})\\.[a-z]+");
+    }
+
+    private Path rootDir() {
+        return Paths.get(properties.getUploadDir()).toAbsolutePath().normalize();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除临时文件失败: {}", path, e);
         }
     }
 
@@ -79,4 +323,3 @@ public class FileStorageService {
         }
     }
 }
-
@@ -0,0 +1,51 @@
+package com.example.back.storage;
+
+import java.util.Set;
+
+/**
+ * 图片的固定尺寸衍生版本
+ * <p>
+ * 头像裁成正方形，封面按宽度等比缩放；原图不大于目标尺寸时不放大。
+ * 衍生文件与原图同目录，文件名为 {@code 哈希_后缀.扩展名}。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+public enum ImageVariant {
+
+    AVATAR_SMALL("s48", 48, true),
+    AVATAR_MEDIUM("s96", 96, true),
+    AVATAR_LARGE("s256", 256, true),
+    /**
+     * 文章列表、动态中的封面缩略图
+     */
+    COVER_LIST("w480", 480, false);
+
+    public static final Set<ImageVariant> AVATARS = Set.of(AVATAR_SMALL, AVATAR_MEDIUM, AVATAR_LARGE);
+    public static final Set<ImageVariant> ARTICLE_IMAGES = Set.of(COVER_LIST);
+
+    private final String suffix;
+    private final int size;
+    private final boolean square;
+
+    ImageVariant(String suffix, int size, boolean square) {
+        this.suffix = suffix;
+        this.size = size;
+        this.square = square;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    /**
+     * 正方形的边长，或等比缩放后的宽度
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean square() {
+        return square;
+    }
+}
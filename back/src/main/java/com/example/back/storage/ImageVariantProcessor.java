@@ -0,0 +1,315 @@
+package com.example.back.storage;
+
+import com.example.back.repository.FileBlobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 图片衍生版本生成
+ * <p>
+ * 在有界线程池中按 {@link ImageVariant} 生成缩略图：只读取图片头得到原图尺寸并写入 file_blobs，
+ * 解码时按最大目标尺寸做降采样，避免大图整幅解码；缩放结果重新编码，EXIF 等元数据随之去除，
+ * 因此 JPEG 先按 EXIF Orientation 转到显示方向再裁剪，记录的尺寸也是显示方向的尺寸。
+ * 衍生文件先写临时文件再原子移动，存在即跳过。队列已满时丢弃任务，调用方继续使用原图地址。
+ * 指标：image_variant_render（单张原图的生成耗时）、image_variant_rejected（被丢弃的任务数）、
+ * image_variant_failures，以及线程池 image_variant。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class ImageVariantProcessor {
+
+    private static final int SOI = 0xFFD8;
+    private static final int APP1 = 0xFFE1;
+    private static final int SOS = 0xFFDA;
+    private static final int EOI = 0xFFD9;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.ISO_8859_1);
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private final FileBlobRepository fileBlobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Timer renderTimer;
+    private final Counter rejected;
+    private final Counter failures;
+
+    public ImageVariantProcessor(FileBlobRepository fileBlobRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 FileStorageProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.fileBlobRepository = fileBlobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        int threads = Math.max(1, properties.getVariantThreads());
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getVariantQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.renderTimer = Timer.builder("image_variant_render").register(meterRegistry);
+        this.rejected = Counter.builder("image_variant_rejected").register(meterRegistry);
+        this.failures = Counter.builder("image_variant_failures").register(meterRegistry);
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "image_variant");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 提交生成任务
+     *
+     * @param hash       原图内容哈希，用于记录尺寸
+     * @param original   原图路径
+     * @param targets    各衍生版本的目标路径，扩展名决定输出格式
+     * @param onComplete 全部生成后执行，可为 null
+     */
+    public void submit(String hash, Path original, Map<ImageVariant, Path> targets, Runnable onComplete) {
+        try {
+            executor.execute(() -> {
+                try {
+                    renderTimer.record(() -> process(hash, original, targets));
+                    if (onComplete != null) {
+                        onComplete.run();
+                    }
+                } catch (RuntimeException ex) {
+                    failures.increment();
+                    log.warn("生成图片衍生版本失败: {}", original, ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+        }
+    }
+
+    private void process(String hash, Path original, Map<ImageVariant, Path> targets) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalStateException("无法识别的图片格式");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int orientation = "jpeg".equalsIgnoreCase(reader.getFormatName()) ? orientation(original) : 1;
+                boolean transposed = orientation >= 5;
+                int width = transposed ? reader.getHeight(0) : reader.getWidth(0);
+                int height = transposed ? reader.getWidth(0) : reader.getHeight(0);
+                transactionTemplate.executeWithoutResult(status -> fileBlobRepository.updateDimensions(hash, width, height));
+
+                Map<ImageVariant, Path> missing = targets.entrySet().stream()
+                        .filter(entry -> !Files.exists(entry.getValue()))
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                if (missing.isEmpty()) {
+                    return;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = subsampling(width, height, missing.keySet());
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage source = orient(reader.read(0, param), orientation);
+                for (Map.Entry<ImageVariant, Path> entry : missing.entrySet()) {
+                    write(resize(source, entry.getKey()), entry.getValue());
+                }
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("读取图片失败", e);
+        }
+    }
+
+    /**
+     * 扫描 JPEG 图像数据之前的标记段，从 APP1 中读取 EXIF Orientation（1-8），缺失或无法解析时返回 1
+     */
+    private static int orientation(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readUnsignedShort() != SOI) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == SOS || marker == EOI) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker == APP1) {
+                    int orientation = exifOrientation(in.readNBytes(length));
+                    if (orientation > 0) {
+                        return orientation;
+                    }
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * 在 APP1 段的 TIFF 结构中查找 IFD0 的 Orientation 项，不是 EXIF 段或没有该项时返回 0
+     */
+    private static int exifOrientation(byte[] data) {
+        if (data.length < EXIF_HEADER.length + 8
+                || !Arrays.equals(data, 0, EXIF_HEADER.length, EXIF_HEADER, 0, EXIF_HEADER.length)) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(data, EXIF_HEADER.length, data.length - EXIF_HEADER.length).slice();
+        try {
+            tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            int ifd = tiff.getInt(4);
+            int entries = Short.toUnsignedInt(tiff.getShort(ifd));
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG) {
+                    int value = Short.toUnsignedInt(tiff.getShort(entry + 8));
+                    return value >= 1 && value <= 8 ? value : 0;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // 截断或损坏的 EXIF 按无方向处理
+        }
+        return 0;
+    }
+
+    /**
+     * 按 EXIF Orientation 把解码结果转到显示方向：2/4 镜像，3 旋转 180°，6/8 旋转 90°，5/7 旋转并镜像
+     */
+    private static BufferedImage orient(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+        boolean transposed = orientation >= 5;
+        BufferedImage target = new BufferedImage(transposed ? h : w, transposed ? w : h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        g.drawImage(source, transform, null);
+        g.dispose();
+        return target;
+    }
+
+    /**
+     * 降采样倍数：解码结果仍不小于最大目标尺寸的两倍，保证缩放质量
+     */
+    private static int subsampling(int width, int height, Iterable<ImageVariant> variants) {
+        int factor = Integer.MAX_VALUE;
+        for (ImageVariant variant : variants) {
+            int side = variant.square() ? Math.min(width, height) : width;
+            factor = Math.min(factor, side / (variant.size() * 2));
+        }
+        return Math.max(1, factor);
+    }
+
+    private static BufferedImage resize(BufferedImage source, ImageVariant variant) {
+        int x = 0;
+        int y = 0;
+        int cropWidth = source.getWidth();
+        int cropHeight = source.getHeight();
+        int targetWidth;
+        int targetHeight;
+        if (variant.square()) {
+            int side = Math.min(cropWidth, cropHeight);
+            x = (cropWidth - side) / 2;
+            y = (cropHeight - side) / 2;
+            cropWidth = side;
+            cropHeight = side;
+            targetWidth = Math.min(side, variant.size());
+            targetHeight = targetWidth;
+        } else {
+            targetWidth = Math.min(cropWidth, variant.size());
+            targetHeight = Math.max(1, (int) Math.round((double) cropHeight * targetWidth / cropWidth));
+        }
+        BufferedImage current = source.getSubimage(x, y, cropWidth, cropHeight);
+        // 逐次减半再缩放到目标尺寸，双线性插值一次缩小过多会明显失真
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return target;
+    }
+
+    private static void write(BufferedImage image, Path target) throws IOException {
+        String format = StringUtils.getFilenameExtension(target.getFileName().toString());
+        BufferedImage output = image;
+        if ("jpg".equals(format)) {
+            // JPEG 不支持透明通道
+            output = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = output.createGraphics();
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+        }
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".part");
+        try {
+            if (!ImageIO.write(output, format, temp.toFile())) {
+                throw new IllegalStateException("不支持的输出格式: " + format);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.back.tag;
+
+import com.example.back.entity.Tag;
+import com.example.back.repository.TagRepository;
+import com.example.back.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 标签热度索引
+ * <p>
+ * tags.use_count 记录引用该标签的未删除文章与问题数，由 {@link #changeUsage} / {@link #removeUsage}
+ * 在内容写入的事务内按增量更新。内存中保存全部标签及其计数：热门标签取预先排好序的前若干名，
+ * 标签补全沿按小写名称建立的前缀树定位节点，每个节点保存构建时热度最高的若干候选，
+ * 取值时按当前计数重新排序，不再执行 LIKE 查询。
+ * 提交后的增量直接作用于内存计数，新建的标签在下次重建前单独保存；定时整体重建纠正偏差。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagIndex {
+
+    /**
+     * 前缀树每个节点保留的候选数，大于单次补全的最大返回数，使计数小幅变化时排序仍准确
+     */
+    private static final int NODE_CANDIDATES = 32;
+    private static final int HOT_CANDIDATES = 200;
+
+    private final TagRepository tagRepository;
+
+    private final Map<Long, Entry> created = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.tag-index.refresh-interval:10m}", initialDelayString = "${app.tag-index.refresh-interval:10m}")
+    public synchronized void refresh() {
+        List<Entry> entries = new ArrayList<>();
+        for (Object[] row : tagRepository.findNamesAndUseCounts()) {
+            entries.add(new Entry(((Number) row[0]).longValue(), (String) row[1], ((Number) row[2]).longValue()));
+        }
+        Snapshot loaded = Snapshot.of(entries);
+        snapshot = loaded;
+        created.keySet().removeIf(loaded.byId()::containsKey);
+        log.debug("标签索引已加载，标签数: {}", entries.size());
+    }
+
+    /**
+     * 使用次数最多的标签
+     */
+    public List<TagStat> hot(int limit) {
+        Snapshot current = snapshot();
+        List<Entry> candidates = new ArrayList<>(current.hot());
+        candidates.addAll(created.values());
+        return rank(candidates, limit);
+    }
+
+    /**
+     * 名称以 prefix 开头（不区分大小写）的标签，按使用次数降序
+     */
+    public List<TagStat> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return hot(limit);
+        }
+        Snapshot current = snapshot();
+        List<Entry> candidates = new ArrayList<>(current.candidates(key));
+        created.values().stream()
+                .filter(entry -> entry.key.startsWith(key))
+                .forEach(candidates::add);
+        return rank(candidates, limit);
+    }
+
+    /**
+     * 内容的标签集合变化，在当前事务内更新 use_count，提交后同步内存计数
+     *
+     * @param previousTagIds 修改前的标签 id，新建时为空
+     * @param tags           修改后的标签，需已持久化（有 id）
+     */
+    public void changeUsage(Collection<Long> previousTagIds, Collection<Tag> tags) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        Set<Long> previous = new HashSet<>(previousTagIds);
+        for (Tag tag : tags) {
+            names.put(tag.getId(), tag.getName());
+            if (!previous.remove(tag.getId())) {
+                deltas.put(tag.getId(), 1);
+            }
+        }
+        previous.forEach(id -> deltas.put(id, -1));
+        apply(deltas, names);
+    }
+
+    /**
+     * 内容删除，按出现次数减少 use_count；同一标签可出现多次（批量删除）
+     */
+    public void removeUsage(Collection<Long> tagIds) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        tagIds.forEach(id -> deltas.merge(id, -1, Integer::sum));
+        apply(deltas, Collections.emptyMap());
+    }
+
+    private void apply(Map<Long, Integer> deltas, Map<Long, String> names) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<Long>> byDelta = new HashMap<>();
+        deltas.forEach((id, delta) -> byDelta.computeIfAbsent(delta, key -> new ArrayList<>()).add(id));
+        byDelta.forEach((delta, ids) -> tagRepository.addUseCount(ids, delta));
+        TransactionHooks.afterCommit(() -> deltas.forEach((id, delta) -> adjust(id, names.get(id), delta)));
+    }
+
+    private void adjust(Long id, String name, int delta) {
+        Snapshot loaded = snapshot;
+        if (loaded == null) {
+            // 尚未加载，首次加载时读取的已是提交后的计数
+            return;
+        }
+        Entry entry = loaded.byId().get(id);
+        if (entry == null) {
+            entry = name == null ? created.get(id) : created.computeIfAbsent(id, key -> new Entry(id, name, 0));
+        }
+        if (entry != null) {
+            entry.useCount.accumulateAndGet(delta, (current, change) -> Math.max(0, current + change));
+        }
+    }
+
+    private static List<TagStat> rank(List<Entry> candidates, int limit) {
+        return candidates.stream()
+                .distinct()
+                .map(Entry::toStat)
+                .sorted(Comparator.comparingLong(TagStat::useCount).reversed().thenComparing(TagStat::name))
+                .limit(limit)
+                .toList();
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static final class Entry {
+        private final Long id;
+        private final String name;
+        private final String key;
+        private final AtomicLong useCount;
+
+        Entry(Long id, String name, long useCount) {
+            this.id = id;
+            this.name = name;
+            this.key = normalize(name);
+            this.useCount = new AtomicLong(useCount);
+        }
+
+        TagStat toStat() {
+            return new TagStat(id, name, useCount.get());
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Entry> candidates = new ArrayList<>();
+    }
+
+    /**
+     * 某一时刻的标签集合与前缀树，构建后只有计数会变化
+     */
+    private record Snapshot(Map<Long, Entry> byId, List<Entry> hot, Node root) {
+
+        static Snapshot of(List<Entry> entries) {
+            entries.sort(Comparator.comparingLong((Entry entry) -> entry.useCount.get()).reversed());
+            Map<Long, Entry> byId = new HashMap<>();
+            Node root = new Node();
+            // 按计数降序插入，每个节点先到的即为热度最高的候选
+            for (Entry entry : entries) {
+                byId.put(entry.id, entry);
+                Node node = root;
+                for (int i = 0; i < entry.key.length(); i++) {
+                    node = node.children.computeIfAbsent(entry.key.charAt(i), key -> new Node());
+                    if (node.candidates.size() < NODE_CANDIDATES) {
+                        node.candidates.add(entry);
+                    }
+                }
+            }
+            List<Entry> hot = List.copyOf(entries.subList(0, Math.min(HOT_CANDIDATES, entries.size())));
+            return new Snapshot(Map.copyOf(byId), hot, root);
+        }
+
+        List<Entry> candidates(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            return node == null ? Collections.emptyList() : node.candidates;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.back.tag;
+
+/**
+ * 标签及其使用次数，取值时刻的快照
+ *
+ * @param useCount 引用该标签的未删除文章与问题数
+ * @author Corasta Team
+ * @since 1.0
+ */
+public record TagStat(Long id, String name, long useCount) {
+}
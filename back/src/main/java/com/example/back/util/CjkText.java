@@ -0,0 +1,26 @@
+package com.example.back.util;
+
+/**
+ * 中日韩文字判断工具
+ * <p>
+ * 分词与字数统计共用：这些文字没有天然分隔，需要逐字处理。
+ *
+ * @author Corasta Team
+ * @since 1.0
+ */
+public final class CjkText {
+
+    private CjkText() {
+    }
+
+    /**
+     * 是否为汉字、平假名、片假名或谚文
+     */
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.back.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -30,6 +32,21 @@ public class JwtUtil {
     @Value("${jwt.remember-me-expiration}")
     private Long rememberMeExpiration;
 
+    /**
+     * 签名密钥与解析器只在启动时构建一次
+     */
+    private SecretKey signingKey;
+
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     /**
      * 生成Token
      */
@@ -55,14 +72,12 @@ public class JwtUtil {
         long expirationTime = rememberMe ? rememberMeExpiration : expiration;
         Date expirationDate = new Date(System.currentTimeMillis() + expirationTime);
         
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        
         return Jwts.builder()
                 .claims(claims)
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(expirationDate)
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
     }
     
@@ -73,12 +88,7 @@ public class JwtUtil {
      * @return Claims
      */
     public Claims getClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
     
     /**
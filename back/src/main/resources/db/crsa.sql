@@ -108,6 +108,9 @@ CREATE TABLE IF NOT EXISTS `articles` (
     `title` VARCHAR(100) NOT NULL COMMENT '文章标题',
     `content` LONGTEXT NOT NULL COMMENT '文章内容（Markdown）',
     `summary` VARCHAR(200) NULL COMMENT '文章摘要',
+    `excerpt` VARCHAR(200) NULL COMMENT '正文摘录（写入时生成）',
+    `word_count` INT NULL COMMENT '正文字数（写入时统计）',
+    `reading_time` INT NULL COMMENT '预计阅读时长（分钟）',
     `cover_image` VARCHAR(500) NULL COMMENT '封面图URL',
     `slug` VARCHAR(100) NULL COMMENT '自定义URL（SEO友好）',
     `category_id` BIGINT NULL COMMENT '分类ID',
@@ -134,6 +137,7 @@ CREATE TABLE IF NOT EXISTS `articles` (
     INDEX `idx_articles_deleted_at` (`deleted_at`),
     INDEX `idx_articles_user_status` (`user_id`, `status`),
     INDEX `idx_articles_category_status` (`category_id`, `status`),
+    INDEX `idx_articles_status_created` (`status`, `created_at`),
     -- slug唯一索引：NULL值不参与唯一性约束，允许多个NULL值
     UNIQUE KEY `uk_articles_slug` (`slug`),
     CONSTRAINT `fk_articles_user_id` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
@@ -159,6 +163,9 @@ CREATE TABLE IF NOT EXISTS `questions` (
     `user_id` BIGINT NOT NULL COMMENT '提问者ID',
     `title` VARCHAR(100) NOT NULL COMMENT '问题标题',
     `description` TEXT NOT NULL COMMENT '问题描述（Markdown）',
+    `excerpt` VARCHAR(200) NULL COMMENT '正文摘录（写入时生成）',
+    `word_count` INT NULL COMMENT '正文字数（写入时统计）',
+    `reading_time` INT NULL COMMENT '预计阅读时长（分钟）',
     `best_answer_id` BIGINT NULL COMMENT '最佳回答ID',
     `related_article_id` BIGINT NULL COMMENT '关联文章ID',
     `view_count` INT NOT NULL DEFAULT 0 COMMENT '查看数',
@@ -215,8 +222,12 @@ CREATE TABLE IF NOT EXISTS `answers` (
     `question_id` BIGINT NOT NULL COMMENT '问题ID',
     `user_id` BIGINT NOT NULL COMMENT '回答者ID',
     `content` TEXT NOT NULL COMMENT '回答内容（Markdown）',
+    `excerpt` VARCHAR(200) NULL COMMENT '正文摘录（写入时生成）',
+    `word_count` INT NULL COMMENT '正文字数（写入时统计）',
+    `reading_time` INT NULL COMMENT '预计阅读时长（分钟）',
     `upvote_count` INT NOT NULL DEFAULT 0 COMMENT '赞同数',
     `downvote_count` INT NOT NULL DEFAULT 0 COMMENT '反对数',
+    `like_count` INT NOT NULL DEFAULT 0 COMMENT '点赞数',
     `comment_count` INT NOT NULL DEFAULT 0 COMMENT '评论数',
     `is_best` TINYINT NOT NULL DEFAULT 0 COMMENT '是否最佳回答',
     `status` TINYINT NOT NULL DEFAULT 1 COMMENT '状态：0-已删除，1-正常',
@@ -266,6 +277,8 @@ CREATE TABLE IF NOT EXISTS `comments` (
     `target_id` BIGINT NOT NULL COMMENT '目标ID',
     `user_id` BIGINT NOT NULL COMMENT '评论者ID',
     `parent_id` BIGINT NULL COMMENT '父评论ID（二级评论）',
+    `root_id` BIGINT NULL COMMENT '所属楼层的顶级评论ID（顶级评论为空）',
+    `depth` TINYINT NOT NULL DEFAULT 0 COMMENT '嵌套深度：顶级评论为0，最大5',
     `content` VARCHAR(1000) NOT NULL COMMENT '评论内容（Markdown）',
     `like_count` INT NOT NULL DEFAULT 0 COMMENT '点赞数',
     `reply_count` INT NOT NULL DEFAULT 0 COMMENT '回复数',
@@ -276,8 +289,10 @@ CREATE TABLE IF NOT EXISTS `comments` (
     `deleted_at` DATETIME NULL COMMENT '删除时间（软删除）',
     PRIMARY KEY (`id`),
     INDEX `idx_comments_target` (`target_type`, `target_id`),
+    INDEX `idx_comments_target_created` (`target_type`, `target_id`, `created_at`),
     INDEX `idx_comments_user_id` (`user_id`),
     INDEX `idx_comments_parent_id` (`parent_id`),
+    INDEX `idx_comments_root_created` (`root_id`, `created_at`),
     INDEX `idx_comments_created_at` (`created_at`),
     INDEX `idx_comments_deleted_at` (`deleted_at`),
     CONSTRAINT `fk_comments_user_id` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
@@ -327,6 +342,7 @@ CREATE TABLE IF NOT EXISTS `favorites` (
     INDEX `idx_favorites_user_id` (`user_id`),
     INDEX `idx_favorites_folder_id` (`folder_id`),
     INDEX `idx_favorites_target` (`target_type`, `target_id`),
+    INDEX `idx_favorites_user_created` (`user_id`, `created_at`),
     CONSTRAINT `fk_favorites_user_id` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
     CONSTRAINT `fk_favorites_folder_id` FOREIGN KEY (`folder_id`) REFERENCES `favorite_folders`(`id`) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='收藏表';
@@ -359,6 +375,8 @@ CREATE TABLE IF NOT EXISTS `follows` (
     UNIQUE KEY `uk_follows_follower_following` (`follower_id`, `following_id`),
     INDEX `idx_follows_follower_id` (`follower_id`),
     INDEX `idx_follows_following_id` (`following_id`),
+    INDEX `idx_follows_follower_created` (`follower_id`, `created_at`),
+    INDEX `idx_follows_following_created` (`following_id`, `created_at`),
     CONSTRAINT `fk_follows_follower_id` FOREIGN KEY (`follower_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
     CONSTRAINT `fk_follows_following_id` FOREIGN KEY (`following_id`) REFERENCES `users`(`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='关注表';
@@ -381,10 +399,28 @@ CREATE TABLE IF NOT EXISTS `notifications` (
     INDEX `idx_notifications_is_read` (`is_read`),
     INDEX `idx_notifications_created_at` (`created_at`),
     INDEX `idx_notifications_user_read` (`user_id`, `is_read`),
+    INDEX `idx_notifications_user_created` (`user_id`, `created_at`),
     CONSTRAINT `fk_notifications_user_id` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE,
     CONSTRAINT `fk_notifications_sender_id` FOREIGN KEY (`sender_id`) REFERENCES `users`(`id`) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='通知表';
 
+-- 4.3 动态收件箱表（发布时推送给关注者，粉丝数过多的作者改为读取时拉取）
+CREATE TABLE IF NOT EXISTS `feed_inbox` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+    `user_id` BIGINT NOT NULL COMMENT '收件用户ID',
+    `content_type` VARCHAR(20) NOT NULL COMMENT '内容类型：article/question',
+    `content_id` BIGINT NOT NULL COMMENT '内容ID',
+    `author_id` BIGINT NOT NULL COMMENT '作者ID',
+    `published_at` DATETIME NOT NULL COMMENT '内容发布时间（时间线排序依据）',
+    `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_feed_inbox_user_content` (`user_id`, `content_type`, `content_id`),
+    INDEX `idx_feed_inbox_user_timeline` (`user_id`, `published_at`, `content_id`),
+    INDEX `idx_feed_inbox_user_author` (`user_id`, `author_id`),
+    INDEX `idx_feed_inbox_content` (`content_type`, `content_id`),
+    CONSTRAINT `fk_feed_inbox_user_id` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='动态收件箱表';
+
 -- =====================================================
 -- 5. 视频模块（第二阶段：待开发）
 -- =====================================================
@@ -535,6 +571,35 @@ CREATE TABLE IF NOT EXISTS `admin_operations` (
     CONSTRAINT `fk_admin_operations_admin_id` FOREIGN KEY (`admin_id`) REFERENCES `users`(`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='管理员操作日志表';
 
+-- 6.4 用户每日统计表（趋势图按日期范围读取，写路径增量维护，定时任务校正）
+CREATE TABLE IF NOT EXISTS `user_daily_stats` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+    `user_id` BIGINT NOT NULL COMMENT '用户ID',
+    `stat_date` DATE NOT NULL COMMENT '统计日期',
+    `metric` VARCHAR(20) NOT NULL COMMENT '指标：article/question/answer/follower',
+    `stat_value` BIGINT NOT NULL DEFAULT 0 COMMENT '当日数量',
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_user_daily_stats_user_date_metric` (`user_id`, `stat_date`, `metric`),
+    INDEX `idx_user_daily_stats_stat_date` (`stat_date`),
+    CONSTRAINT `fk_user_daily_stats_user_id` FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户每日统计表';
+
+-- 6.5 上传文件表（按内容哈希寻址，相同内容只保存一份，按引用次数回收）
+CREATE TABLE IF NOT EXISTS `file_blobs` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+    `hash` CHAR(64) NOT NULL COMMENT '内容SHA-256',
+    `path` VARCHAR(255) NOT NULL COMMENT '相对上传根目录的路径',
+    `size` BIGINT NOT NULL COMMENT '文件大小（字节）',
+    `width` INT DEFAULT NULL COMMENT '图片宽度（像素）',
+    `height` INT DEFAULT NULL COMMENT '图片高度（像素）',
+    `ref_count` INT NOT NULL DEFAULT 0 COMMENT '引用次数',
+    `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `updated_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_file_blobs_hash` (`hash`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='上传文件表';
+
 -- =====================================================
 -- 初始化完成
 -- =====================================================
@@ -728,7 +793,7 @@ INSERT INTO `question_tags` (`question_id`, `tag_id`) VALUES
 (3, 6);
 
 -- 9. 回答数据
-INSERT INTO `answers` (`id`, `question_id`, `user_id`, `content`, `upvote_count`, `downvote_count`, `comment_count`, `is_best`, `status`, `created_at`) VALUES
+INSERT INTO `answers` (`id`, `question_id`, `user_id`, `content`, `upvote_count`, `downvote_count`, `like_count`, `comment_count`, `is_best`, `status`, `created_at`) VALUES
 (1, 1, 2, 
 'Vue 3 相比 Vue 2 的主要改进包括：
 
@@ -741,11 +806,11 @@ Composition API 特别适合：
 - 大型组件
 - 需要逻辑复用的场景
 - TypeScript 项目', 
-45, 2, 5, 1, 1, NOW() - INTERVAL 3 DAY),
+45, 2, 2, 5, 1, 1, NOW() - INTERVAL 3 DAY),
 
 (2, 1, 3, 
 '补充一点：Vue 3 还引入了 Teleport、Suspense 等新特性，这些在 Vue 2 中是没有的。', 
-12, 0, 1, 0, 1, NOW() - INTERVAL 2 DAY),
+12, 0, 0, 1, 0, 1, NOW() - INTERVAL 2 DAY),
 
 (3, 2, 4, 
 '拍摄夜景的关键点：
@@ -754,7 +819,7 @@ Composition API 特别适合：
 2. **正确曝光**：使用手动模式，控制光圈和快门
 3. **低 ISO**：保持画面清晰
 4. **构图**：注意前景和背景的搭配', 
-28, 1, 3, 1, 1, NOW() - INTERVAL 1 DAY),
+28, 1, 0, 3, 1, 1, NOW() - INTERVAL 1 DAY),
 
 (4, 3, 5, 
 '保持生活热情的方法：
@@ -763,19 +828,19 @@ Composition API 特别适合：
 2. 定期给自己设定小目标
 3. 多和朋友交流
 4. 记录生活中的美好瞬间', 
-15, 0, 2, 0, 1, NOW() - INTERVAL 1 DAY);
+15, 0, 0, 2, 0, 1, NOW() - INTERVAL 1 DAY);
 
 -- 10. 更新问题的最佳回答
 UPDATE `questions` SET `best_answer_id` = 1 WHERE `id` = 1;
 UPDATE `questions` SET `best_answer_id` = 3 WHERE `id` = 2;
 
 -- 11. 评论数据
-INSERT INTO `comments` (`id`, `target_type`, `target_id`, `user_id`, `parent_id`, `content`, `like_count`, `reply_count`, `status`, `created_at`) VALUES
-(1, 'article', 1, 3, NULL, '写得真好，让我想起了自己的夏夜记忆', 12, 2, 1, NOW() - INTERVAL 4 DAY),
-(2, 'article', 1, 4, 1, '同感！薄荷的味道确实很特别', 5, 0, 1, NOW() - INTERVAL 3 DAY),
-(3, 'article', 2, 2, NULL, '青春的五种光，写得太美了', 18, 1, 1, NOW() - INTERVAL 2 DAY),
-(4, 'article', 3, 2, NULL, 'Composition API 确实很好用，感谢分享', 8, 0, 1, NOW() - INTERVAL 1 DAY),
-(5, 'answer', 1, 4, NULL, '总结得很全面，学到了', 6, 0, 1, NOW() - INTERVAL 2 DAY);
+INSERT INTO `comments` (`id`, `target_type`, `target_id`, `user_id`, `parent_id`, `root_id`, `depth`, `content`, `like_count`, `reply_count`, `status`, `created_at`) VALUES
+(1, 'article', 1, 3, NULL, NULL, 0, '写得真好，让我想起了自己的夏夜记忆', 12, 2, 1, NOW() - INTERVAL 4 DAY),
+(2, 'article', 1, 4, 1, 1, 1, '同感！薄荷的味道确实很特别', 5, 0, 1, NOW() - INTERVAL 3 DAY),
+(3, 'article', 2, 2, NULL, NULL, 0, '青春的五种光，写得太美了', 18, 1, 1, NOW() - INTERVAL 2 DAY),
+(4, 'article', 3, 2, NULL, NULL, 0, 'Composition API 确实很好用，感谢分享', 8, 0, 1, NOW() - INTERVAL 1 DAY),
+(5, 'answer', 1, 4, NULL, NULL, 0, '总结得很全面，学到了', 6, 0, 1, NOW() - INTERVAL 2 DAY);
 
 -- 12. 点赞数据
 INSERT INTO `likes` (`target_type`, `target_id`, `user_id`, `created_at`) VALUES
@@ -848,6 +913,27 @@ INSERT INTO `search_logs` (`user_id`, `keyword`, `result_count`, `search_type`,
 (3, 'Vue 3', 3, 'article', NOW() - INTERVAL 1 DAY),
 (4, '摄影', 4, 'all', NOW() - INTERVAL 1 DAY);
 
+-- 20. 动态收件箱数据（由关注关系推送已发布内容）
+INSERT INTO `feed_inbox` (`user_id`, `content_type`, `content_id`, `author_id`, `published_at`, `created_at`)
+SELECT f.`follower_id`, 'article', a.`id`, a.`user_id`, COALESCE(a.`published_at`, a.`created_at`), NOW()
+FROM `follows` f JOIN `articles` a ON a.`user_id` = f.`following_id`
+WHERE a.`status` = 1 AND a.`deleted_at` IS NULL;
+
+INSERT INTO `feed_inbox` (`user_id`, `content_type`, `content_id`, `author_id`, `published_at`, `created_at`)
+SELECT f.`follower_id`, 'question', q.`id`, q.`user_id`, q.`created_at`, NOW()
+FROM `follows` f JOIN `questions` q ON q.`user_id` = f.`following_id`
+WHERE q.`status` = 1 AND q.`deleted_at` IS NULL;
+
+-- 21. 用户每日统计数据（由内容与关注关系汇总）
+INSERT INTO `user_daily_stats` (`user_id`, `stat_date`, `metric`, `stat_value`)
+SELECT `user_id`, DATE(`created_at`), 'article', COUNT(*) FROM `articles` WHERE `deleted_at` IS NULL GROUP BY `user_id`, DATE(`created_at`)
+UNION ALL
+SELECT `user_id`, DATE(`created_at`), 'question', COUNT(*) FROM `questions` WHERE `deleted_at` IS NULL GROUP BY `user_id`, DATE(`created_at`)
+UNION ALL
+SELECT `user_id`, DATE(`created_at`), 'answer', COUNT(*) FROM `answers` WHERE `deleted_at` IS NULL GROUP BY `user_id`, DATE(`created_at`)
+UNION ALL
+SELECT `following_id`, DATE(`created_at`), 'follower', COUNT(*) FROM `follows` GROUP BY `following_id`, DATE(`created_at`);
+
 -- =====================================================
 -- 测试数据初始化完成
 -- =====================================================
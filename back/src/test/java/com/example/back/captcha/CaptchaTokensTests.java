@@ -0,0 +1,123 @@
+package com.example.back.captcha;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaptchaTokensTests {
+
+    private static final String JWT_SECRET = "test-jwt-secret-test-jwt-secret-test-jwt-secret";
+
+    private final CaptchaTokens tokens = tokens(Duration.ofMinutes(5), null);
+
+    @Test
+    void acceptsCorrectAnswerIgnoringCaseAndSpaces() {
+        assertThat(tokens.verify(tokens.issue("AB3D"), " ab3d ")).isTrue();
+    }
+
+    @Test
+    void rejectsWrongAnswerAndConsumesToken() {
+        String token = tokens.issue("AB3D");
+
+        assertThat(tokens.verify(token, "XXXX")).isFalse();
+        assertThat(tokens.verify(token, "AB3D")).isFalse();
+    }
+
+    @Test
+    void rejectsReplay() {
+        String token = tokens.issue("AB3D");
+
+        assertThat(tokens.verify(token, "AB3D")).isTrue();
+        assertThat(tokens.verify(token, "AB3D")).isFalse();
+    }
+
+    @Test
+    void rejectsTamperedSignatureOrPayload() {
+        String token = tokens.issue("AB3D");
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+
+        byte[] badSignature = bytes.clone();
+        badSignature[bytes.length - 1] ^= 1;
+        assertThat(tokens.verify(encode(badSignature), "AB3D")).isFalse();
+
+        // 改动过期时间
+        byte[] extended = bytes.clone();
+        extended[16] ^= 1;
+        assertThat(tokens.verify(encode(extended), "AB3D")).isFalse();
+
+        // 篡改未消耗令牌，原令牌仍可使用
+        assertThat(tokens.verify(token, "AB3D")).isTrue();
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        CaptchaTokens other = tokens(Duration.ofMinutes(5), "another-captcha-secret");
+
+        assertThat(tokens.verify(other.issue("AB3D"), "AB3D")).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        assertThat(tokens.verify("not a token", "AB3D")).isFalse();
+        assertThat(tokens.verify("AAAA", "AB3D")).isFalse();
+        assertThat(tokens.verify("", "AB3D")).isFalse();
+    }
+
+    @Test
+    void rejectsExpiredToken() throws InterruptedException {
+        CaptchaTokens shortLived = tokens(Duration.ofMillis(1), null);
+        String token = shortLived.issue("AB3D");
+
+        Thread.sleep(20);
+
+        assertThat(shortLived.verify(token, "AB3D")).isFalse();
+    }
+
+    @Test
+    void concurrentSubmissionsOfOneTokenSucceedOnce() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 50; round++) {
+                String token = tokens.issue("AB3D");
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                AtomicInteger accepted = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        barrier.await();
+                        if (tokens.verify(token, "AB3D")) {
+                            accepted.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+                assertThat(accepted.get()).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CaptchaTokens tokens(Duration ttl, String secret) {
+        CaptchaProperties properties = new CaptchaProperties();
+        properties.setTtl(ttl);
+        properties.setSecret(secret);
+        properties.setMode(CaptchaProperties.Mode.TOKEN);
+        return new CaptchaTokens(properties, JWT_SECRET);
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
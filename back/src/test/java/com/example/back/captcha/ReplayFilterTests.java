@@ -0,0 +1,113 @@
+package com.example.back.captcha;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayFilterTests {
+
+    private static final Duration PERIOD = Duration.ofMinutes(5);
+    private static final long PERIOD_NANOS = PERIOD.toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Random random = new Random(42);
+
+    @Test
+    void acceptsFirstUseAndRejectsReplay() {
+        ReplayFilter filter = new ReplayFilter(1000, PERIOD, clock::get);
+        byte[] nonce = nonce();
+
+        assertThat(filter.markUsed(nonce)).isTrue();
+        assertThat(filter.markUsed(nonce)).isFalse();
+        assertThat(filter.markUsed(nonce())).isTrue();
+    }
+
+    @Test
+    void distinctNoncesAreAccepted() {
+        ReplayFilter filter = new ReplayFilter(10000, PERIOD, clock::get);
+        for (int i = 0; i < 5000; i++) {
+            assertThat(filter.markUsed(nonce())).isTrue();
+        }
+    }
+
+    @Test
+    void rememberedThroughTheNextGeneration() {
+        ReplayFilter filter = new ReplayFilter(1000, PERIOD, clock::get);
+        byte[] nonce = nonce();
+        filter.markUsed(nonce);
+
+        clock.set(PERIOD_NANOS + 1);
+        filter.markUsed(nonce());
+
+        assertThat(filter.markUsed(nonce)).isFalse();
+    }
+
+    @Test
+    void forgottenOnceBothGenerationsRotatedOut() {
+        ReplayFilter filter = new ReplayFilter(1000, PERIOD, clock::get);
+        byte[] nonce = nonce();
+        filter.markUsed(nonce);
+
+        clock.set(PERIOD_NANOS);
+        filter.markUsed(nonce());
+        clock.set(2 * PERIOD_NANOS);
+        filter.markUsed(nonce());
+
+        assertThat(filter.markUsed(nonce)).isTrue();
+    }
+
+    @Test
+    void idleForTwoPeriodsClearsBothGenerations() {
+        ReplayFilter filter = new ReplayFilter(1000, PERIOD, clock::get);
+        byte[] nonce = nonce();
+        filter.markUsed(nonce);
+
+        clock.set(2 * PERIOD_NANOS);
+
+        assertThat(filter.markUsed(nonce)).isTrue();
+    }
+
+    @Test
+    void concurrentReplayIsAcceptedOnce() throws Exception {
+        ReplayFilter filter = new ReplayFilter(100000, PERIOD, clock::get);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                byte[] nonce = nonce();
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                AtomicInteger accepted = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        barrier.await();
+                        if (filter.markUsed(nonce)) {
+                            accepted.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+                assertThat(accepted.get()).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private byte[] nonce() {
+        byte[] nonce = new byte[16];
+        random.nextBytes(nonce);
+        return nonce;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.back.common;
+
+import com.example.back.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTests {
+
+    @Test
+    void roundTripsNumericKey() {
+        PageCursor decoded = PageCursor.decode(PageCursor.of(42, 7L).encode());
+
+        assertThat(decoded.getKey()).isEqualTo(42);
+        assertThat(decoded.getId()).isEqualTo(7);
+    }
+
+    @Test
+    void roundTripsTimeKeyAtMillisecondPrecision() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+
+        PageCursor decoded = PageCursor.decode(PageCursor.of(time, 9L).encode());
+
+        assertThat(decoded.keyAsTime()).isEqualTo(time);
+        assertThat(decoded.getId()).isEqualTo(9);
+    }
+
+    @Test
+    void encodesUrlSafely() {
+        String encoded = PageCursor.of(Long.MAX_VALUE, Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedOrTamperedCursor() {
+        assertInvalid("not a cursor!");
+        assertInvalid(encode("12345"));
+        assertInvalid(encode("abc:1"));
+        assertInvalid(encode("1:"));
+        assertInvalid(encode("1:2:3"));
+        assertInvalid(encode("99999999999999999999:1"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> PageCursor.decode(cursor))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("无效的分页游标");
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.back.config;
+
+import com.example.back.cache.AuthorCardCache;
+import com.example.back.cache.TargetResolver;
+import com.example.back.cache.ViewerStateResolver;
+import com.example.back.category.CategoryTree;
+import com.example.back.common.Constants;
+import com.example.back.context.AuthContextHolder;
+import com.example.back.context.AuthUser;
+import com.example.back.context.CurrentUserResolver;
+import com.example.back.counter.ViewCountBuffer;
+import com.example.back.dto.request.ArticleRequest;
+import com.example.back.entity.Category;
+import com.example.back.entity.Tag;
+import com.example.back.entity.User;
+import com.example.back.feed.FeedTimelineService;
+import com.example.back.repository.CategoryRepository;
+import com.example.back.repository.TagRepository;
+import com.example.back.repository.UserRepository;
+import com.example.back.repository.support.IdPager;
+import com.example.back.search.SearchIndexService;
+import com.example.back.service.ArticleService;
+import com.example.back.service.impl.ArticleServiceImpl;
+import com.example.back.stats.DailyStatsService;
+import com.example.back.stats.UserStatsCache;
+import com.example.back.storage.FileStorageService;
+import com.example.back.tag.TagIndex;
+import com.example.back.tag.TagStat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.back.config.SecondLevelCacheTests$SqlRecorder",
+        "spring.jpa.properties.hibernate.hbm2ddl.import_files=db/tags-use-count.sql"
+})
+@Import({SecondLevelCacheConfig.class, SimpleMeterRegistry.class, ArticleServiceImpl.class, TagIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTests {
+
+    @MockitoBean
+    private CurrentUserResolver currentUserResolver;
+    @MockitoBean
+    private FileStorageService fileStorageService;
+    @MockitoBean
+    private SearchIndexService searchIndexService;
+    @MockitoBean
+    private ViewCountBuffer viewCountBuffer;
+    @MockitoBean
+    private FeedTimelineService feedTimelineService;
+    @MockitoBean
+    private UserStatsCache userStatsCache;
+    @MockitoBean
+    private DailyStatsService dailyStatsService;
+    @MockitoBean
+    private ViewerStateResolver viewerStateResolver;
+    @MockitoBean
+    private AuthorCardCache authorCardCache;
+    @MockitoBean
+    private CategoryTree categoryTree;
+    @MockitoBean
+    private TargetResolver targetResolver;
+    @MockitoBean
+    private IdPager idPager;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private TagIndex tagIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        categoryId = transactionTemplate.execute(status -> {
+            tagRepository.save(Tag.builder().name("java").build());
+            tagRepository.save(Tag.builder().name("spring").build());
+            return categoryRepository.save(Category.builder().name("backend").build()).getId();
+        });
+        User author = transactionTemplate.execute(status -> userRepository.save(User.builder()
+                .username("author").password("secret").status(Constants.USER_STATUS_NORMAL).role(Constants.USER_ROLE_NORMAL)
+                .build()));
+        when(currentUserResolver.requireReference()).thenReturn(author);
+        AuthContextHolder.set(new AuthUser(author.getId(), author.getUsername(), author.getRole()));
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        AuthContextHolder.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            // 文章为软删除，测试数据直接清除
+            jdbcTemplate.update("delete from article_tags");
+            jdbcTemplate.update("delete from articles");
+            userRepository.deleteAllInBatch();
+            tagRepository.deleteAllInBatch();
+            categoryRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void repeatedArticleCreationDoesNotRequeryCategoryAndTags() {
+        articleService.createArticle(articleRequest());
+        assertThat(SqlRecorder.STATEMENTS).anyMatch(sql -> sql.contains(" from categories "));
+        assertThat(SqlRecorder.STATEMENTS).anyMatch(sql -> sql.contains(" from tags "));
+
+        SqlRecorder.STATEMENTS.clear();
+        for (int i = 0; i < 3; i++) {
+            articleService.createArticle(articleRequest());
+        }
+
+        // 每次仍按增量更新使用次数，但不使缓存的标签失效
+        assertThat(SqlRecorder.STATEMENTS).anyMatch(sql -> sql.startsWith("update tags"));
+        assertThat(SqlRecorder.STATEMENTS).noneMatch(sql -> sql.contains(" from categories "));
+        assertThat(SqlRecorder.STATEMENTS).noneMatch(sql -> sql.contains(" from tags "));
+        assertThat(hits("hibernate_category")).isGreaterThanOrEqualTo(3);
+        assertThat(hits("hibernate_default_query_results_region")).isGreaterThanOrEqualTo(3);
+        assertThat(tagIndex.hot(10)).extracting(TagStat::name, TagStat::useCount)
+                .containsExactlyInAnyOrder(tuple("java", 4L), tuple("spring", 4L));
+    }
+
+    @Test
+    void newTagInvalidatesCachedQuery() {
+        resolveForArticle(List.of("java", "kotlin"));
+        transactionTemplate.executeWithoutResult(status -> tagRepository.save(Tag.builder().name("kotlin").build()));
+
+        SqlRecorder.STATEMENTS.clear();
+        List<Tag> tags = resolveForArticle(List.of("java", "kotlin"));
+
+        assertThat(tags).extracting(Tag::getName).containsExactlyInAnyOrder("java", "kotlin");
+        assertThat(SqlRecorder.STATEMENTS).anyMatch(sql -> sql.contains(" from tags "));
+    }
+
+    private ArticleRequest articleRequest() {
+        ArticleRequest request = new ArticleRequest();
+        request.setTitle("title");
+        request.setContent("content");
+        request.setStatus(Constants.STATUS_PUBLISHED);
+        request.setCategoryId(categoryId);
+        request.setTags(List.of("java", "spring"));
+        return request;
+    }
+
+    /**
+     * 与发布文章时相同的读取：按 id 取分类，按名称取标签，每次一个新的事务
+     */
+    private List<Tag> resolveForArticle(List<String> tagNames) {
+        return transactionTemplate.execute(status -> {
+            assertThat(categoryRepository.findById(categoryId)).isPresent();
+            return tagRepository.findByNameIn(tagNames);
+        });
+    }
+
+    private double hits(String cacheName) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cacheName)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.back.controller;
+
+import com.example.back.repository.FileBlobRepository;
+import com.example.back.storage.FileContentCache;
+import com.example.back.storage.FileStorageProperties;
+import com.example.back.storage.FileStorageService;
+import com.example.back.storage.ImageVariantProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class FileControllerTests {
+
+    private static final int SIZE = 1000;
+
+    @TempDir
+    Path workDir;
+
+    private byte[] content;
+    private FileController controller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path uploadDir = workDir.resolve("uploads");
+        content = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            content[i] = (byte) i;
+        }
+        Files.createDirectories(uploadDir.resolve("avatars"));
+        Files.write(uploadDir.resolve("avatars/a.bin"), content);
+        Files.createDirectories(uploadDir.resolve("tmp"));
+        Files.write(uploadDir.resolve("tmp/upload-1.part"), content);
+        Files.writeString(workDir.resolve("secret.txt"), "secret");
+
+        FileStorageProperties properties = new FileStorageProperties();
+        properties.setUploadDir(uploadDir.toString());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FileStorageService fileStorageService = new FileStorageService(properties, mock(FileBlobRepository.class),
+                meterRegistry, mock(ImageVariantProcessor.class), mock(PlatformTransactionManager.class));
+        controller = new FileController(fileStorageService, new FileContentCache(properties, meterRegistry), properties);
+    }
+
+    @Test
+    void openEndedRangeReturnsWholeFileAsPartialContent() throws IOException {
+        MockHttpServletResponse response = get("/files/avatars/a.bin", "bytes=0-");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-999/1000");
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void suffixRangeReturnsLastBytes() throws IOException {
+        MockHttpServletResponse response = get("/files/avatars/a.bin", "bytes=-500");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 500-999/1000");
+        assertThat(response.getContentLengthLong()).isEqualTo(500);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 500, SIZE));
+    }
+
+    @Test
+    void rangeBeyondEndIsNotSatisfiable() throws IOException {
+        MockHttpServletResponse response = get("/files/avatars/a.bin", "bytes=1000-1999");
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */1000");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void multipleRangesFallBackToWholeFile() throws IOException {
+        MockHttpServletResponse response = get("/files/avatars/a.bin", "bytes=0-9,20-29");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void malformedRangesFallBackToWholeFile() throws IOException {
+        for (String range : new String[]{"bytes=abc-def", "bytes=100", "bytes=9-3", "items=0-9"}) {
+            MockHttpServletResponse response = get("/files/avatars/a.bin", range);
+
+            assertThat(response.getStatus()).as(range).isEqualTo(200);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).as(range).isNull();
+            assertThat(response.getContentAsByteArray()).as(range).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void pathsOutsideUploadDirAreNotFound() throws IOException {
+        for (String uri : new String[]{"/files/../secret.txt", "/files/%2e%2e/secret.txt",
+                "/files/avatars/../../secret.txt", "/files/tmp/upload-1.part", "/files"}) {
+            MockHttpServletResponse response = get(uri, null);
+
+            assertThat(response.getStatus()).as(uri).isEqualTo(404);
+            assertThat(response.getContentAsByteArray()).as(uri).isEmpty();
+        }
+    }
+
+    private MockHttpServletResponse get(String uri, String range) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.back.counter;
+
+import com.example.back.repository.ArticleRepository;
+import com.example.back.repository.QuestionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ViewCountBufferTests {
+
+    @Test
+    void incrementsRacingWithIdleRemovalAreNotLost() throws InterruptedException {
+        AtomicLong written = new AtomicLong();
+        ArticleRepository articleRepository = mock(ArticleRepository.class);
+        when(articleRepository.increaseViewCount(any(), anyInt())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            int delta = invocation.getArgument(1);
+            written.addAndGet((long) ids.size() * delta);
+            return ids.size();
+        });
+        ViewCountBuffer buffer = new ViewCountBuffer(articleRepository, mock(QuestionRepository.class),
+                mock(PlatformTransactionManager.class, Mockito.RETURNS_MOCKS), new ViewCounterProperties(),
+                new SimpleMeterRegistry());
+
+        // 刷盘线程持续运行，少量ID频繁被读到零并移出缓冲区
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (running.get()) {
+                buffer.flush();
+            }
+        });
+        flusher.start();
+        int threads = 8;
+        int perThread = 300_000;
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    buffer.incrementArticle((long) (i % 3));
+                    if (i % 1000 == 0) {
+                        Thread.yield();
+                    }
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        running.set(false);
+        flusher.join();
+        buffer.flush();
+
+        assertThat(written.get()).isEqualTo((long) threads * perThread);
+        assertThat(buffer.pendingArticle(0L)).isZero();
+    }
+}
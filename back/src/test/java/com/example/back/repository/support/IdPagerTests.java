@@ -0,0 +1,115 @@
+package com.example.back.repository.support;
+
+import com.example.back.entity.Article;
+import com.example.back.entity.ArticleListView;
+import com.example.back.entity.Tag;
+import com.example.back.entity.User;
+import com.example.back.repository.ArticleListViewRepository;
+import org.hibernate.Hibernate;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.back.repository.support.IdPagerTests$SqlRecorder")
+@Import(IdPager.class)
+class IdPagerTests {
+
+    @Autowired
+    private IdPager idPager;
+
+    @Autowired
+    private ArticleListViewRepository articleListViewRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Tag java;
+
+    @BeforeEach
+    void setUp() {
+        User author = entityManager.persist(User.builder()
+                .username("author")
+                .password("secret")
+                .status(1)
+                .role(0)
+                .build());
+        java = entityManager.persist(Tag.builder().name("java").build());
+        Tag spring = entityManager.persist(Tag.builder().name("spring").build());
+        for (int i = 0; i < 5; i++) {
+            Article article = Article.builder()
+                    .user(author)
+                    .title("article " + i)
+                    .content("content")
+                    .status(1)
+                    .build();
+            article.getTags().add(java);
+            article.getTags().add(spring);
+            entityManager.persist(article);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    void pagesTaggedArticlesInSql() {
+        Specification<Article> tagged = (root, query, cb) -> TagFilter.hasTag(root, query, cb, java.getId());
+
+        Page<Long> page = idPager.findIds(Article.class, tagged, PageRequest.of(1, 2, Sort.by(Sort.Order.desc("id"))));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(SqlRecorder.STATEMENTS.get(0)).satisfiesAnyOf(
+                sql -> assertThat(sql).contains(" limit "),
+                sql -> assertThat(sql).contains(" fetch first "));
+
+        List<ArticleListView> articles = IdPager.load(page.getContent(), articleListViewRepository::findWithDetailsByIdIn, ArticleListView::getId);
+        assertThat(articles).extracting(ArticleListView::getId).containsExactlyElementsOf(page.getContent());
+        assertThat(SqlRecorder.STATEMENTS)
+                .filteredOn(sql -> sql.contains(" from articles "))
+                .noneMatch(sql -> sql.contains(".content"))
+                .noneMatch(sql -> sql.contains(" users "));
+        assertThat(articles).allSatisfy(article -> {
+            assertThat(Hibernate.isInitialized(article.getTags())).isTrue();
+            assertThat(article.getTags()).hasSize(2);
+            assertThat(Hibernate.isInitialized(article.getUser())).isFalse();
+            assertThat(article.getUser().getId()).isNotNull();
+        });
+    }
+
+    @Test
+    void keysetIdsAreLimited() {
+        List<Long> ids = idPager.findIds(Article.class, null, Sort.by(Sort.Order.asc("id")), 3);
+
+        assertThat(ids).hasSize(3).isSorted();
+        assertThat(SqlRecorder.STATEMENTS).hasSize(1);
+        assertThat(SqlRecorder.STATEMENTS.get(0)).satisfiesAnyOf(
+                sql -> assertThat(sql).contains(" limit "),
+                sql -> assertThat(sql).contains(" fetch first "));
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+            return sql;
+        }
+    }
+}
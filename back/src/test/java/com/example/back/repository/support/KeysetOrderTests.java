@@ -0,0 +1,112 @@
+package com.example.back.repository.support;
+
+import com.example.back.common.PageCursor;
+import com.example.back.entity.Article;
+import com.example.back.entity.User;
+import com.example.back.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(IdPager.class)
+class KeysetOrderTests {
+
+    private static final int[] LIKE_COUNTS = {5, 5, 3, 9, 5, 3, 5};
+
+    @Autowired
+    private IdPager idPager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<Article> articles = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User author = entityManager.persist(User.builder()
+                .username("author")
+                .password("secret")
+                .status(1)
+                .role(0)
+                .build());
+        for (int likeCount : LIKE_COUNTS) {
+            articles.add(entityManager.persist(Article.builder()
+                    .user(author)
+                    .title("article")
+                    .content("content")
+                    .status(1)
+                    .likeCount(likeCount)
+                    .build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void descendingPagesBreakTiesById() {
+        List<Long> expected = articles.stream()
+                .sorted(Comparator.comparing(Article::getLikeCount).thenComparing(Article::getId).reversed())
+                .map(Article::getId)
+                .toList();
+
+        assertThat(pageThrough(KeysetOrder.desc("likeCount"), 2)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void ascendingPagesBreakTiesById() {
+        List<Long> expected = articles.stream()
+                .sorted(Comparator.comparing(Article::getLikeCount).thenComparing(Article::getId))
+                .map(Article::getId)
+                .toList();
+
+        assertThat(pageThrough(KeysetOrder.asc("likeCount"), 3)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void positionOfUsesSortKeyAndId() {
+        Article article = articles.get(3);
+
+        PageCursor cursor = KeysetOrder.desc("likeCount").positionOf(article);
+
+        assertThat(cursor.getKey()).isEqualTo(9);
+        assertThat(cursor.getId()).isEqualTo(article.getId());
+    }
+
+    @Test
+    void rejectsKeyOutOfIntegerRange() {
+        PageCursor cursor = new PageCursor(Integer.MAX_VALUE + 1L, 1L);
+
+        assertThatThrownBy(() -> idPager.findIds(Article.class, KeysetOrder.desc("likeCount").<Article>after(cursor),
+                KeysetOrder.desc("likeCount").toSort(), 2))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("无效的分页游标");
+    }
+
+    /**
+     * 逐页读取全部 id，每页的游标取自上一页最后一条记录并经过编码、解码
+     */
+    private List<Long> pageThrough(KeysetOrder order, int size) {
+        List<Long> visited = new ArrayList<>();
+        PageCursor cursor = null;
+        while (true) {
+            List<Long> page = idPager.findIds(Article.class, order.<Article>after(cursor), order.toSort(), size);
+            visited.addAll(page);
+            if (page.size() < size) {
+                return visited;
+            }
+            Article last = entityManager.find(Article.class, page.get(page.size() - 1));
+            cursor = PageCursor.decode(order.positionOf(last).encode());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.back.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(document(1L, 10L, 100L, Set.of(7L), 1, "Spring 缓存实践", "介绍二级缓存的配置"));
+        index.put(document(2L, 10L, 200L, Set.of(8L), 2, "数据库索引", "查询慢时先检查索引，也提到了缓存"));
+        index.put(document(3L, 20L, 100L, Set.of(7L, 8L), 3, "缓存穿透与缓存雪崩", "缓存失效的几种处理方式"));
+        index.put(document(4L, 20L, 200L, Set.of(), 4, "消息队列", "削峰填谷"));
+    }
+
+    @Test
+    void ranksByRelevanceWithTitleWeight() {
+        SearchHits hits = index.search(query("缓存", null, null, null, "relevance", 0, 10));
+
+        assertThat(hits.ids()).containsExactly(3L, 1L, 2L);
+        assertThat(hits.total()).isEqualTo(3);
+    }
+
+    @Test
+    void sortsByCreationTimeForLatest() {
+        SearchHits hits = index.search(query("缓存", null, null, null, "latest", 0, 10));
+
+        assertThat(hits.ids()).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void requiresEveryQueryTerm() {
+        assertThat(index.search(query("spring 缓存", null, null, null, "relevance", 0, 10)).ids())
+                .containsExactly(1L);
+        assertThat(index.search(query("kafka", null, null, null, "relevance", 0, 10)).ids()).isEmpty();
+    }
+
+    @Test
+    void pagesWithOffsetAndLimitButCountsAllMatches() {
+        SearchHits hits = index.search(query("缓存", null, null, null, "relevance", 1, 1));
+
+        assertThat(hits.ids()).containsExactly(1L);
+        assertThat(hits.total()).isEqualTo(3);
+    }
+
+    @Test
+    void filtersByAuthorCategoryAndTag() {
+        assertThat(index.search(query("缓存", 10L, null, null, "latest", 0, 10)).ids()).containsExactly(2L, 1L);
+        assertThat(index.search(query("缓存", null, Set.of(100L), null, "latest", 0, 10)).ids()).containsExactly(3L, 1L);
+        assertThat(index.search(query("缓存", null, null, 8L, "latest", 0, 10)).ids()).containsExactly(3L, 2L);
+        assertThat(index.search(query("缓存", 20L, Set.of(200L), null, "latest", 0, 10)).ids()).isEmpty();
+    }
+
+    @Test
+    void reindexingReplacesPreviousTerms() {
+        index.put(document(3L, 20L, 100L, Set.of(7L, 8L), 3, "分布式锁", "基于数据库实现"));
+
+        assertThat(index.search(query("缓存", null, null, null, "relevance", 0, 10)).ids()).containsExactly(1L, 2L);
+        assertThat(index.search(query("分布式", null, null, null, "relevance", 0, 10)).ids()).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void removedDocumentsNoLongerMatch() {
+        index.remove(1L);
+        index.remove(99L);
+
+        assertThat(index.search(query("缓存", null, null, null, "relevance", 0, 10)).ids()).containsExactly(3L, 2L);
+        assertThat(index.search(query("spring", null, null, null, "relevance", 0, 10)).total()).isZero();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private static SearchDocument document(Long id, Long authorId, Long categoryId, Set<Long> tagIds,
+                                           int day, String title, String body) {
+        return new SearchDocument(id, authorId, categoryId, tagIds, BASE.plusDays(day), title, body);
+    }
+
+    private static SearchQuery query(String keyword, Long authorId, Set<Long> categoryIds, Long tagId,
+                                     String sort, int offset, int limit) {
+        return new SearchQuery(keyword, authorId, categoryIds, tagId, sort, offset, limit);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.back.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextTokenizerTests {
+
+    @Test
+    void splitsLatinWordsAndNormalizesWidthAndCase() {
+        assertThat(TextTokenizer.tokenize("Spring Boot 3.5，ＪＰＡ"))
+                .containsExactly("spring", "boot", "3", "5", "jpa");
+    }
+
+    @Test
+    void indexesCjkCharactersAndBigrams() {
+        assertThat(TextTokenizer.tokenize("缓存命中"))
+                .containsExactly("缓", "存", "命", "中", "缓存", "存命", "命中");
+        assertThat(TextTokenizer.tokenize("Redis缓存"))
+                .containsExactly("redis", "缓", "存", "缓存");
+    }
+
+    @Test
+    void queriesCjkByBigramsAndSingleCharacterAlone() {
+        assertThat(TextTokenizer.queryTerms("缓存命中")).containsExactly("缓存", "存命", "命中");
+        assertThat(TextTokenizer.queryTerms("缓")).containsExactly("缓");
+    }
+
+    @Test
+    void deduplicatesQueryTerms() {
+        assertThat(TextTokenizer.queryTerms("Java java 缓存 缓存")).containsExactly("java", "缓存");
+    }
+
+    @Test
+    void dropsStopWords() {
+        assertThat(TextTokenizer.tokenize("The cache is on the disk")).containsExactly("cache", "disk");
+        assertThat(TextTokenizer.queryTerms("the of")).isEmpty();
+    }
+
+    @Test
+    void ignoresEmptyInput() {
+        assertThat(TextTokenizer.tokenize(null)).isEmpty();
+        assertThat(TextTokenizer.queryTerms("  ，。 ")).isEmpty();
+    }
+}
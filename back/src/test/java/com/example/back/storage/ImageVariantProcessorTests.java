@@ -0,0 +1,149 @@
+package com.example.back.storage;
+
+import com.example.back.repository.FileBlobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ImageVariantProcessorTests {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 200;
+    /**
+     * 解码后的 JPEG 颜色有偏差，各通道允许的误差
+     */
+    private static final int TOLERANCE = 48;
+
+    @TempDir
+    Path workDir;
+
+    private FileBlobRepository fileBlobRepository;
+    private ImageVariantProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        fileBlobRepository = mock(FileBlobRepository.class);
+        processor = new ImageVariantProcessor(fileBlobRepository,
+                mock(PlatformTransactionManager.class, Mockito.RETURNS_MOCKS), new FileStorageProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    @Test
+    void orientation3RotatesHalfTurn() throws Exception {
+        BufferedImage output = render(3);
+
+        assertThat(output.getWidth()).isEqualTo(WIDTH);
+        assertThat(output.getHeight()).isEqualTo(HEIGHT);
+        verify(fileBlobRepository).updateDimensions("h3", WIDTH, HEIGHT);
+        assertCorners(output, Color.GREEN, Color.GREEN, Color.BLUE, Color.RED);
+    }
+
+    @Test
+    void orientation6RotatesClockwise() throws Exception {
+        BufferedImage output = render(6);
+
+        assertThat(output.getWidth()).isEqualTo(HEIGHT);
+        assertThat(output.getHeight()).isEqualTo(WIDTH);
+        verify(fileBlobRepository).updateDimensions("h6", HEIGHT, WIDTH);
+        assertCorners(output, Color.GREEN, Color.RED, Color.GREEN, Color.BLUE);
+    }
+
+    @Test
+    void orientation8RotatesCounterClockwise() throws Exception {
+        BufferedImage output = render(8);
+
+        assertThat(output.getWidth()).isEqualTo(HEIGHT);
+        assertThat(output.getHeight()).isEqualTo(WIDTH);
+        verify(fileBlobRepository).updateDimensions("h8", HEIGHT, WIDTH);
+        assertCorners(output, Color.BLUE, Color.GREEN, Color.RED, Color.GREEN);
+    }
+
+    /**
+     * 原图左上红、右上蓝、下半绿，带指定 EXIF Orientation；生成不缩放的 w480 版本后读回
+     */
+    private BufferedImage render(int orientation) throws Exception {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, WIDTH / 2, HEIGHT / 2);
+        g.setColor(Color.BLUE);
+        g.fillRect(WIDTH / 2, 0, WIDTH / 2, HEIGHT / 2);
+        g.setColor(Color.GREEN);
+        g.fillRect(0, HEIGHT / 2, WIDTH, HEIGHT / 2);
+        g.dispose();
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", jpeg);
+
+        Path original = workDir.resolve("original-" + orientation + ".jpg");
+        Files.write(original, withOrientation(jpeg.toByteArray(), orientation));
+        Path target = workDir.resolve("w480-" + orientation + ".png");
+        CountDownLatch done = new CountDownLatch(1);
+        processor.submit("h" + orientation, original, Map.of(ImageVariant.COVER_LIST, target), done::countDown);
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        return ImageIO.read(target.toFile());
+    }
+
+    /**
+     * 在 SOI 之后插入只含 Orientation 一项的 APP1（大端 TIFF）
+     */
+    private static byte[] withOrientation(byte[] jpeg, int orientation) throws IOException {
+        byte[] exif = {
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1,
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+                0, 0, 0, 0
+        };
+        int length = exif.length + 2;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.write(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) (length >> 8), (byte) length});
+        out.write(exif);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+
+    private static void assertCorners(BufferedImage image, Color topLeft, Color topRight,
+                                      Color bottomLeft, Color bottomRight) {
+        int right = image.getWidth() - 6;
+        int bottom = image.getHeight() - 6;
+        assertColor(image, 5, 5, topLeft);
+        assertColor(image, right, 5, topRight);
+        assertColor(image, 5, bottom, bottomLeft);
+        assertColor(image, right, bottom, bottomRight);
+    }
+
+    private static void assertColor(BufferedImage image, int x, int y, Color expected) {
+        Color actual = new Color(image.getRGB(x, y));
+        String position = "(" + x + ", " + y + ") = " + Integer.toHexString(actual.getRGB());
+        assertThat(actual.getRed()).as(position).isCloseTo(expected.getRed(), within(TOLERANCE));
+        assertThat(actual.getGreen()).as(position).isCloseTo(expected.getGreen(), within(TOLERANCE));
+        assertThat(actual.getBlue()).as(position).isCloseTo(expected.getBlue(), within(TOLERANCE));
+    }
+}
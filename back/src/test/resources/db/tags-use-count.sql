@@ -0,0 +1,2 @@
+-- tags.use_count 不映射到实体（见 Tag），测试库按 crsa.sql 补上该列
+alter table tags add column use_count int default 0 not null;